@@ -159,6 +159,25 @@ public class AnomalyItem {
         return relativeError[index];
     }
 
+    /**
+     * Sets the results of a previous processing.
+     *
+     * @param status
+     * @param absoluteError
+     * @param relativeError
+     */
+    public void restore(Status status, Double[] absoluteError, Double[] relativeError) {
+        synchronized (id_) {
+            if (status_ == Status.Pending) {
+                return;
+            }
+            status_ = Status.Pending;
+        }
+        this.absoluteError = absoluteError;
+        this.relativeError = relativeError;
+        status_ = status;
+    }
+
     public void process(CheckLast check) {
         synchronized (id_) {
             if (status_ == Status.Pending) {
@@ -0,0 +1,401 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.anomalydetection;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import ec.tss.Ts;
+import ec.tss.TsMoniker;
+import ec.tstoolkit.Parameter;
+import ec.tstoolkit.ParameterType;
+import ec.tstoolkit.modelling.DefaultTransformationType;
+import ec.tstoolkit.modelling.arima.PreprocessingModel;
+import ec.tstoolkit.modelling.arima.tramo.ArimaSpec;
+import ec.tstoolkit.modelling.arima.tramo.TramoSpecification;
+import ec.tstoolkit.sarima.SarimaModel;
+import ec.tstoolkit.sarima.SarimaSpecification;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Results of the previous Check Last runs, used to warm-start the next ones.
+ * <p>
+ * For each series, identified by {@link #keyOf(Ts)}, the store keeps a
+ * fingerprint of its data, the specification and the number of checked
+ * observations, the errors and a compact form of the estimated model
+ * (transformation, orders and coefficients of the ARIMA model). A series whose
+ * data and settings did not change gets its previous errors back without any
+ * estimation; the other ones can start from their previous model instead of an
+ * automatic identification. The store is kept in a binary file.
+ */
+public final class CheckLastWarmStart {
+
+    /**
+     * How the previous models are reused.
+     */
+    public enum Mode {
+
+        /**
+         * Every series is estimated from scratch.
+         */
+        None,
+        /**
+         * The previous model is kept and its coefficients are re-estimated.
+         */
+        FreeParameters,
+        /**
+         * The previous model is kept with its coefficients.
+         */
+        FixedParameters
+    }
+
+    private static final int MAGIC = 0x4A44434C; // JDCL
+    private static final byte VERSION = 2;
+
+    private final File file;
+    private final Map<String, Entry> entries;
+    private boolean loaded;
+
+    public CheckLastWarmStart(@Nonnull File file) {
+        this.file = file;
+        this.entries = new ConcurrentHashMap<>();
+        this.loaded = false;
+    }
+
+    @Nullable
+    public Entry get(@Nonnull String key) {
+        return entries.get(key);
+    }
+
+    public void put(@Nonnull String key, @Nonnull Entry entry) {
+        entries.put(key, entry);
+    }
+
+    /**
+     * Reads the file of the store the first time it is called. A missing or
+     * invalid file gives an empty store.
+     */
+    public synchronized void loadIfNeeded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!file.exists()) {
+            return;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readByte() != VERSION) {
+                return;
+            }
+            int n = input.readInt();
+            for (int i = 0; i < n; ++i) {
+                String name = input.readUTF();
+                entries.putIfAbsent(name, Entry.read(input));
+            }
+        } catch (IOException | RuntimeException ex) {
+            entries.clear();
+        }
+    }
+
+    public synchronized void save() throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+        Map<String, Entry> snapshot = new HashMap<>(entries);
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            output.writeInt(MAGIC);
+            output.writeByte(VERSION);
+            output.writeInt(snapshot.size());
+            for (Map.Entry<String, Entry> o : snapshot.entrySet()) {
+                output.writeUTF(o.getKey());
+                o.getValue().write(output);
+            }
+        }
+    }
+
+    /**
+     * Gets the key of a series in the store: its moniker if it comes from a
+     * provider, its name otherwise. Since the name doesn't identify a series,
+     * the entry of an anonymous series must only be reused if its data are
+     * unchanged.
+     *
+     * @param ts
+     * @return
+     */
+    @Nonnull
+    public static String keyOf(@Nonnull Ts ts) {
+        TsMoniker moniker = ts.getMoniker();
+        return moniker.isAnonymous()
+                ? "name:" + ts.getName()
+                : "moniker:" + moniker.getSource() + "\t" + moniker.getId();
+    }
+
+    /**
+     * Computes a fingerprint of the data of a series (domain and values).
+     *
+     * @param data
+     * @return
+     */
+    public static long fingerprint(@Nonnull TsData data) {
+        Hasher hasher = Hashing.murmur3_128().newHasher()
+                .putInt(data.getFrequency().intValue())
+                .putInt(data.getStart().getYear())
+                .putInt(data.getStart().getPosition())
+                .putInt(data.getLength());
+        for (int i = 0; i < data.getLength(); ++i) {
+            hasher.putDouble(data.get(i));
+        }
+        return hasher.hash().asLong();
+    }
+
+    /**
+     * Result of the last run on a series.
+     */
+    public static final class Entry {
+
+        private final long fingerprint;
+        private final String spec;
+        private final int backCount;
+        private final AnomalyItem.Status status;
+        private final double[] absoluteError, relativeError;
+        private final long nanos;
+        // compact model; orders is null if there is no model
+        private final int[] orders;
+        private final boolean log;
+        private final double[] phi, theta, bphi, btheta;
+
+        private Entry(long fingerprint, String spec, int backCount, AnomalyItem.Status status, double[] absoluteError, double[] relativeError, long nanos,
+                int[] orders, boolean log, double[] phi, double[] theta, double[] bphi, double[] btheta) {
+            this.fingerprint = fingerprint;
+            this.spec = spec;
+            this.backCount = backCount;
+            this.status = status;
+            this.absoluteError = absoluteError;
+            this.relativeError = relativeError;
+            this.nanos = nanos;
+            this.orders = orders;
+            this.log = log;
+            this.phi = phi;
+            this.theta = theta;
+            this.bphi = bphi;
+            this.btheta = btheta;
+        }
+
+        /**
+         * Creates the entry of a processed item.
+         *
+         * @param item
+         * @param spec the name of the specification
+         * @param fingerprint the fingerprint of the data of the item
+         * @param model the estimated model, if any
+         * @param nanos the time needed to estimate the item from scratch
+         * @return
+         */
+        @Nonnull
+        public static Entry of(@Nonnull AnomalyItem item, @Nonnull String spec, long fingerprint, @Nullable PreprocessingModel model, long nanos) {
+            int[] orders = null;
+            boolean log = false;
+            double[] phi = null, theta = null, bphi = null, btheta = null;
+            if (model != null) {
+                SarimaModel arima = model.estimation.getArima();
+                SarimaSpecification s = arima.getSpecification();
+                orders = new int[]{s.getP(), s.getD(), s.getQ(), s.getBP(), s.getBD(), s.getBQ()};
+                log = model.isMultiplicative();
+                phi = new double[s.getP()];
+                for (int i = 0; i < phi.length; ++i) {
+                    phi[i] = arima.phi(i + 1);
+                }
+                theta = new double[s.getQ()];
+                for (int i = 0; i < theta.length; ++i) {
+                    theta[i] = arima.th(i + 1);
+                }
+                bphi = new double[s.getBP()];
+                for (int i = 0; i < bphi.length; ++i) {
+                    bphi[i] = arima.bphi(i + 1);
+                }
+                btheta = new double[s.getBQ()];
+                for (int i = 0; i < btheta.length; ++i) {
+                    btheta[i] = arima.bth(i + 1);
+                }
+            }
+            return new Entry(fingerprint, spec, item.getBackCount(), item.getStatus(),
+                    toArray(item.getAbsoluteError()), toArray(item.getRelativeError()), nanos,
+                    orders, log, phi, theta, bphi, btheta);
+        }
+
+        /**
+         * Gets the time that was needed to estimate the series from scratch.
+         *
+         * @return
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Checks if the results of this entry are still valid.
+         *
+         * @param fingerprint
+         * @param spec
+         * @param backCount
+         * @return
+         */
+        public boolean matches(long fingerprint, @Nonnull String spec, int backCount) {
+            return this.fingerprint == fingerprint && matches(spec, backCount);
+        }
+
+        private boolean matches(String spec, int backCount) {
+            return this.spec.equals(spec) && this.backCount == backCount;
+        }
+
+        /**
+         * Gives the previous results back to an item.
+         *
+         * @param item
+         */
+        public void restore(@Nonnull AnomalyItem item) {
+            item.restore(status, toObjects(absoluteError), toObjects(relativeError));
+        }
+
+        /**
+         * Creates a specification that starts from the model of this entry.
+         *
+         * @param base the current specification
+         * @param name the name of the current specification
+         * @param mode
+         * @return null if the model can't be reused
+         */
+        @Nullable
+        public TramoSpecification toSpecification(@Nonnull TramoSpecification base, @Nonnull String name, @Nonnull Mode mode) {
+            if (mode == Mode.None || orders == null || !spec.equals(name)) {
+                return null;
+            }
+            TramoSpecification result = base.clone();
+            result.getTransform().setFunction(log ? DefaultTransformationType.Log : DefaultTransformationType.None);
+            result.getAutoModel().setEnabled(false);
+            ArimaSpec arima = result.getArima();
+            arima.setP(orders[0]);
+            arima.setD(orders[1]);
+            arima.setQ(orders[2]);
+            arima.setBP(orders[3]);
+            arima.setBD(orders[4]);
+            arima.setBQ(orders[5]);
+            if (mode == Mode.FixedParameters) {
+                arima.setPhi(toParameters(phi));
+                arima.setTheta(toParameters(theta));
+                arima.setBPhi(toParameters(bphi));
+                arima.setBTheta(toParameters(btheta));
+            }
+            return result;
+        }
+
+        //<editor-fold defaultstate="collapsed" desc="Implementation">
+        private void write(DataOutputStream output) throws IOException {
+            output.writeLong(fingerprint);
+            output.writeUTF(spec);
+            output.writeInt(backCount);
+            output.writeByte(status.ordinal());
+            writeDoubles(output, absoluteError);
+            writeDoubles(output, relativeError);
+            output.writeLong(nanos);
+            output.writeBoolean(orders != null);
+            if (orders != null) {
+                for (int o : orders) {
+                    output.writeByte(o);
+                }
+                output.writeBoolean(log);
+                writeDoubles(output, phi);
+                writeDoubles(output, theta);
+                writeDoubles(output, bphi);
+                writeDoubles(output, btheta);
+            }
+        }
+
+        private static Entry read(DataInputStream input) throws IOException {
+            long fingerprint = input.readLong();
+            String spec = input.readUTF();
+            int backCount = input.readInt();
+            AnomalyItem.Status status = AnomalyItem.Status.values()[input.readByte()];
+            double[] absoluteError = readDoubles(input);
+            double[] relativeError = readDoubles(input);
+            long nanos = input.readLong();
+            if (!input.readBoolean()) {
+                return new Entry(fingerprint, spec, backCount, status, absoluteError, relativeError, nanos, null, false, null, null, null, null);
+            }
+            int[] orders = new int[6];
+            for (int i = 0; i < orders.length; ++i) {
+                orders[i] = input.readByte();
+            }
+            boolean log = input.readBoolean();
+            return new Entry(fingerprint, spec, backCount, status, absoluteError, relativeError, nanos,
+                    orders, log, readDoubles(input), readDoubles(input), readDoubles(input), readDoubles(input));
+        }
+
+        private static void writeDoubles(DataOutputStream output, double[] values) throws IOException {
+            output.writeInt(values.length);
+            for (double o : values) {
+                output.writeDouble(o);
+            }
+        }
+
+        private static double[] readDoubles(DataInputStream input) throws IOException {
+            double[] result = new double[input.readInt()];
+            for (int i = 0; i < result.length; ++i) {
+                result[i] = input.readDouble();
+            }
+            return result;
+        }
+
+        private static double[] toArray(Double[] values) {
+            double[] result = new double[values.length];
+            for (int i = 0; i < result.length; ++i) {
+                result[i] = values[i] != null ? values[i] : Double.NaN;
+            }
+            return result;
+        }
+
+        private static Double[] toObjects(double[] values) {
+            Double[] result = new Double[values.length];
+            for (int i = 0; i < result.length; ++i) {
+                result[i] = Double.isNaN(values[i]) ? null : values[i];
+            }
+            return result;
+        }
+
+        private static Parameter[] toParameters(double[] values) {
+            Parameter[] result = new Parameter[values.length];
+            for (int i = 0; i < result.length; ++i) {
+                result[i] = new Parameter(values[i], ParameterType.Fixed);
+            }
+            return result;
+        }
+        //</editor-fold>
+    }
+}
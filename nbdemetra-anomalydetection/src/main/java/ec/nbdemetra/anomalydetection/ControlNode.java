@@ -150,6 +150,8 @@ public class ControlNode {
             "controlNode.CheckLast.displayName=Check Last",
             "controlNode.CheckLast.name=Number Last Check",
             "controlNode.CheckLast.desc=Number of observations in the end of time series that will be forecasted and compared with the actual values.",
+            "controlNode.CheckLast.warmStart.name=Warm start",
+            "controlNode.CheckLast.warmStart.desc=Reuse of the models of the previous run: the series whose data did not change are not processed again and the other ones start from their previous model, with free or fixed parameters.",
             "controlNode.CheckLast.Specification.displayName=Specification",
             "controlNode.CheckLast.Specification.name=Default Specification",
             "controlNode.CheckLast.Specification.desc=Specification used in the checking procedure",
@@ -166,6 +168,7 @@ public class ControlNode {
 
             b.reset(Bundle.controlNode_CheckLast_displayName());
             b.withInt().select(ui, "getLastChecks", "setLastChecks").display(Bundle.controlNode_CheckLast_name()).description(Bundle.controlNode_CheckLast_desc()).add();
+            b.withEnum(CheckLastWarmStart.Mode.class).select(ui, "getWarmStart", "setWarmStart").display(Bundle.controlNode_CheckLast_warmStart_name()).description(Bundle.controlNode_CheckLast_warmStart_desc()).add();
             result.put(b.build());
 
             try {
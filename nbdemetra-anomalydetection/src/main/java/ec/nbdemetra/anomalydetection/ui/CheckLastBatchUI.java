@@ -17,12 +17,12 @@
 package ec.nbdemetra.anomalydetection.ui;
 
 import com.google.common.base.Stopwatch;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import ec.nbdemetra.anomalydetection.AnomalyItem;
+import ec.nbdemetra.anomalydetection.CheckLastWarmStart;
 import ec.nbdemetra.anomalydetection.ControlNode;
 import ec.nbdemetra.anomalydetection.report.CheckLastReportAction;
+import ec.nbdemetra.core.BatchExecutor;
 import ec.nbdemetra.ui.ActiveViewManager;
-import ec.nbdemetra.ui.DemetraUI;
 import ec.nbdemetra.ui.DemetraUiIcon;
 import ec.nbdemetra.ui.IActiveView;
 import ec.nbdemetra.ui.NbComponents;
@@ -35,6 +35,7 @@ import ec.tss.TsCollection;
 import ec.tss.TsFactory;
 import ec.tstoolkit.modelling.arima.CheckLast;
 import ec.tstoolkit.modelling.arima.tramo.TramoSpecification;
+import ec.tstoolkit.timeseries.simplets.TsData;
 import ec.ui.chart.JTsChart;
 import ec.ui.interfaces.ITsCollectionView;
 import java.awt.BorderLayout;
@@ -42,11 +43,13 @@ import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.event.ActionEvent;
 import java.beans.PropertyVetoException;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.swing.AbstractAction;
 import static javax.swing.Action.NAME;
 import javax.swing.Box;
@@ -73,6 +76,7 @@ import org.openide.awt.ActionReference;
 import org.openide.awt.DropDownButtonFactory;
 import org.openide.explorer.ExplorerManager;
 import org.openide.explorer.ExplorerUtils;
+import org.openide.modules.Places;
 import org.openide.nodes.Node;
 import org.openide.util.Exceptions;
 import org.openide.util.ImageUtilities;
@@ -125,6 +129,8 @@ public class CheckLastBatchUI extends TopComponent implements ExplorerManager.Pr
     private ProgressHandle progressHandle;
     private SwingWorker<Void, AnomalyItem> worker;
     private boolean active;
+    // shared by the windows since they use the same file
+    private static final CheckLastWarmStart WARM_START = new CheckLastWarmStart(Places.getCacheSubfile("checklast/models.dat"));
     // Properties
     private Node n;
     private final ExplorerManager mgr = new ExplorerManager();
@@ -404,36 +410,46 @@ public class CheckLastBatchUI extends TopComponent implements ExplorerManager.Pr
     private class SwingWorkerImpl extends SwingWorker<Void, AnomalyItem> {
 
         private int progressCount = 0;
+        // items restored from the previous run, items started from a previous model
+        private final AtomicInteger reused = new AtomicInteger();
+        private final AtomicInteger warmStarted = new AtomicInteger();
+        private final AtomicLong savedNanos = new AtomicLong();
 
         @Override
         protected Void doInBackground() throws Exception {
+            WARM_START.loadIfNeeded();
             List<Callable<Void>> tasks = createTasks();
             if (tasks == null) {
                 return null;
             }
 
-            DemetraUI config = DemetraUI.getDefault();
-            int nThread = config.getBatchPoolSize().intValue();
-            int priority = config.getBatchPriority().intValue();
-
-            ExecutorService executorService = Executors.newFixedThreadPool(nThread, new ThreadFactoryBuilder().setDaemon(true).setPriority(priority).build());
+            BatchExecutor executor = BatchExecutor.getDefault();
             Stopwatch stopwatch = Stopwatch.createStarted();
             try {
-                executorService.invokeAll(tasks);
+                executor.invokeAll(tasks);
             } catch (InterruptedException ex) {
                 LOGGER.info("Check Last interrupted while processing items");
             }
 
+            try {
+                WARM_START.save();
+            } catch (IOException ex) {
+                LOGGER.warn("Cannot save the Check Last models", ex);
+            }
+
             if (tasks.size() > 0) {
-                NotifyUtil.show("Check Last done !", "Processed " + tasks.size() + " items in " + stopwatch.stop().toString(), MessageType.SUCCESS, null, null, null);
+                String message = "Processed " + tasks.size() + " items in " + stopwatch.stop().toString();
+                if (reused.get() > 0 || warmStarted.get() > 0) {
+                    message += " (" + reused.get() + " unchanged, " + warmStarted.get() + " warm-started, "
+                            + TimeUnit.NANOSECONDS.toMillis(savedNanos.get()) + " ms saved)";
+                }
+                NotifyUtil.show("Check Last done !", message, MessageType.SUCCESS, null, null, null);
                 if (!active) {
                     requestAttention(false);
                 }
             }
 
-            LOGGER.info("Task: {} items in {} by {} executors with priority {}", new Object[]{tasks.size(), stopwatch.stop().toString(), nThread, priority});
-
-            executorService.shutdown();
+            LOGGER.info("Task: {} items in {} by {} executors with priority {}", new Object[]{tasks.size(), stopwatch.stop().toString(), executor.getParallelism(), executor.getPriority()});
 
             return null;
         }
@@ -441,6 +457,10 @@ public class CheckLastBatchUI extends TopComponent implements ExplorerManager.Pr
         List<Callable<Void>> createTasks() {
             if (list.getItems() != null && list.getItems().size() > 0) {
                 List<Callable<Void>> result = new ArrayList(list.getItems().size());
+                TramoSpecification spec = list.getSpec();
+                String specName = spec.toLongString();
+                int backCount = list.getLastChecks();
+                CheckLastWarmStart.Mode mode = list.getWarmStart();
                 for (final AnomalyItem o : list.getItems()) {
                     if (o.getTsData() != null) {
                         if (!o.isProcessed()) {
@@ -448,9 +468,7 @@ public class CheckLastBatchUI extends TopComponent implements ExplorerManager.Pr
                                 if (isCancelled()) {
                                     return null;
                                 }
-                                CheckLast c = new CheckLast(list.getSpec().build());
-                                c.setBackCount(list.getLastChecks());
-                                o.process(c);
+                                check(o, spec, specName, backCount, mode);
                                 publish(o);
                                 list.put(o.getTs().getName(), o);
                                 return null;
@@ -464,6 +482,35 @@ public class CheckLastBatchUI extends TopComponent implements ExplorerManager.Pr
             }
         }
 
+        private void check(AnomalyItem o, TramoSpecification spec, String specName, int backCount, CheckLastWarmStart.Mode mode) {
+            String key = CheckLastWarmStart.keyOf(o.getTs());
+            TsData data = o.getTsData();
+            long fingerprint = CheckLastWarmStart.fingerprint(data);
+            CheckLastWarmStart.Entry previous = mode != CheckLastWarmStart.Mode.None ? WARM_START.get(key) : null;
+            if (previous != null && previous.matches(fingerprint, specName, backCount)) {
+                previous.restore(o);
+                reused.incrementAndGet();
+                savedNanos.addAndGet(previous.getNanos());
+                return;
+            }
+            // the model of an anonymous series may belong to another one with the same name
+            TramoSpecification warmSpec = previous != null && !o.getTs().getMoniker().isAnonymous() ? previous.toSpecification(spec, specName, mode) : null;
+            CheckLast c = new CheckLast((warmSpec != null ? warmSpec : spec).build());
+            c.setBackCount(backCount);
+            long start = System.nanoTime();
+            o.process(c);
+            long nanos = System.nanoTime() - start;
+            if (warmSpec != null) {
+                warmStarted.incrementAndGet();
+                savedNanos.addAndGet(Math.max(0, previous.getNanos() - nanos));
+                // the reference stays the time of an estimation from scratch
+                nanos = previous.getNanos();
+            }
+            if (o.isProcessed() || o.isInvalid()) {
+                WARM_START.put(key, CheckLastWarmStart.Entry.of(o, specName, fingerprint, c.getEstimatedModel(), nanos));
+            }
+        }
+
         @Override
         protected void process(List<AnomalyItem> chunks) {
             list.fireTableDataChanged();
@@ -567,11 +614,20 @@ public class CheckLastBatchUI extends TopComponent implements ExplorerManager.Pr
         // http://wiki.apidesign.org/wiki/PropertyFiles
         p.setProperty("version", "1.0");
         ToolsPersistence.writeTsCollection(list, p);
+        p.setProperty("warmStart", list.getWarmStart().name());
     }
 
     void readProperties(java.util.Properties p) {
         String version = p.getProperty("version");
         ToolsPersistence.readTsCollection(list, p);
+        String mode = p.getProperty("warmStart");
+        if (mode != null) {
+            try {
+                list.setWarmStart(CheckLastWarmStart.Mode.valueOf(mode));
+            } catch (IllegalArgumentException ex) {
+                LOGGER.warn("Invalid warm start mode '{}'", mode);
+            }
+        }
     }
     // </editor-fold>
 }
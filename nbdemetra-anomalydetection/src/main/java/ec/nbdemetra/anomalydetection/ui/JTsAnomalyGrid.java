@@ -16,6 +16,9 @@
  */
 package ec.nbdemetra.anomalydetection.ui;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import ec.nbdemetra.core.BatchExecutor;
 import ec.nbdemetra.ui.properties.l2fprod.ColorChooser;
 import ec.tss.Ts;
 import ec.tss.TsCollection;
@@ -37,7 +40,12 @@ import java.awt.BorderLayout;
 import java.awt.Component;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.swing.JComponent;
@@ -52,6 +60,8 @@ import static javax.swing.SwingWorker.StateValue.STARTED;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.TableCellRenderer;
 import org.netbeans.api.progress.ProgressHandle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * A grid component used to display outliers found in time series. The outliers
@@ -61,6 +71,8 @@ import org.netbeans.api.progress.ProgressHandle;
  */
 public class JTsAnomalyGrid extends JComponent {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(JTsAnomalyGrid.class);
+
     public static final String SPEC_CHANGE_PROPERTY = "Spec Change";
     public static final String CRITICAL_VALUE_PROPERTY = "Critical Value Change";
     public static final String COLLECTION_PROPERTY = "Collection Change";
@@ -69,10 +81,16 @@ public class JTsAnomalyGrid extends JComponent {
     public static final String TRANSFORMATION_PROPERTY = "Transformation Change";
     public static final String HOVERED_OBS_PROPERTY = JTsGrid.HOVERED_OBS_PROPERTY;
 
+    // maximum number of models kept for the selection
+    private static final int MODEL_CACHE_SIZE = 50;
+    // minimum delay between two refreshes of the grid during a calculation
+    private static final long PUBLISH_INTERVAL = TimeUnit.MILLISECONDS.toNanos(200);
+
     private final JTsGrid grid;
-    private List<OutlierEstimation[]> outliers;
+    private volatile List<OutlierEstimation[]> outliers;
     private IPreprocessor preprocessor;
-    private PreprocessingModel model;
+    // models estimated with the current preprocessor
+    private Cache<Ts, PreprocessingModel> models;
     private DefaultTransformationType transformation;
     private TsCollection tsCollection;
     private TramoSpecification defaultSpec = TramoSpecification.TRfull.clone();
@@ -127,6 +145,7 @@ public class JTsAnomalyGrid extends JComponent {
         add(grid, BorderLayout.CENTER);
 
         preprocessor = spec.build();
+        models = newModelCache();
         transformation = DefaultTransformationType.None;
     }
     // </editor-fold>
@@ -160,7 +179,15 @@ public class JTsAnomalyGrid extends JComponent {
 
     public PreprocessingModel getModelOfSelection() {
         if (getSelection().length > 0) {
-            return preprocessor.process(getSelection()[0].getTsData(), null);
+            Ts ts = getSelection()[0];
+            PreprocessingModel result = models.getIfPresent(ts);
+            if (result == null) {
+                result = preprocessor.process(ts.getTsData(), null);
+                if (result != null) {
+                    models.put(ts, result);
+                }
+            }
+            return result;
         } else {
             return null;
         }
@@ -265,7 +292,7 @@ public class JTsAnomalyGrid extends JComponent {
 
     // <editor-fold defaultstate="collapsed" desc="Event Handlers">
     private void refreshOutliersDisplayed() {
-        outliers.clear();
+        outliers = new ArrayList<>();
         grid.setSelection(null);
         OutlierType[] types = spec.getOutliers().getTypes();
         spec.getOutliers().clearTypes();
@@ -284,6 +311,7 @@ public class JTsAnomalyGrid extends JComponent {
         spec.getOutliers().setCriticalValue(defaultCritical ? 0.0 : criticalValue);
         spec.getTransform().setFunction(transformation);
         preprocessor = spec.build();
+        models = newModelCache();
         firePropertyChange(TYPES_PROPERTY, types, spec.getOutliers().getTypes());
     }
 
@@ -325,9 +353,23 @@ public class JTsAnomalyGrid extends JComponent {
         start(false);
     }
 
-    private class SwingWorkerImpl extends SwingWorker<Void, Ts> {
+    private static Cache<Ts, PreprocessingModel> newModelCache() {
+        return CacheBuilder.newBuilder()
+                .weakKeys()
+                .maximumSize(MODEL_CACHE_SIZE)
+                .build();
+    }
 
-        private int progressCount = 0;
+    /**
+     * Computes the outliers of the series of the collection in parallel on the
+     * batch executor. The grid is refreshed at most every
+     * {@link #PUBLISH_INTERVAL} nanoseconds with the number of series done.
+     */
+    private class SwingWorkerImpl extends SwingWorker<Void, Integer> {
+
+        private final TsCollection col = tsCollection;
+        private final IPreprocessor processor = preprocessor;
+        private final Cache<Ts, PreprocessingModel> cache = models;
 
         @Override
         protected void done() {
@@ -337,44 +379,63 @@ public class JTsAnomalyGrid extends JComponent {
 
         @Override
         protected Void doInBackground() throws Exception {
-            outliers.clear();
+            int n = col.getCount();
+            List<OutlierEstimation[]> result = Arrays.asList(new OutlierEstimation[n][]);
+            outliers = result;
             grid.repaint();
-            outliers = new ArrayList<>();
-
-            for (int i = 0; i < tsCollection.getCount(); i++) {
-                if (isCancelled()) {
-                    progressHandle.finish();
-                    return null;
-                }
-                if (tsCollection.get(i).getTsData().getLength() == 0) {
-                    outliers.add(i, null);
-                } else {
-                    OutlierEstimation[] o;
-                    model = preprocessor.process(tsCollection.get(i).getTsData(), null);
-                    if (model != null) {
-                        o = model.outliersEstimation(true, false);
-                    } else {
-                        o = null;
-                    }
 
-                    if (o != null && o.length > 0) {
-                        outliers.add(i, o);
-                    } else {
-                        outliers.add(i, null);
+            CompletionService<OutlierEstimation[]> service = new ExecutorCompletionService<>(BatchExecutor.getDefault());
+            List<Future<OutlierEstimation[]>> futures = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                Ts ts = col.get(i);
+                int index = i;
+                futures.add(service.submit(() -> {
+                    OutlierEstimation[] o = findOutliers(ts);
+                    result.set(index, o);
+                    return o;
+                }));
+            }
+            try {
+                long last = System.nanoTime();
+                for (int i = 1; i <= n; i++) {
+                    service.take();
+                    long now = System.nanoTime();
+                    if (i == n || now - last >= PUBLISH_INTERVAL) {
+                        publish(i);
+                        last = now;
                     }
                 }
-                publish(tsCollection.get(i));
-
+            } finally {
+                futures.forEach(o -> o.cancel(true));
             }
             return null;
         }
 
+        private OutlierEstimation[] findOutliers(Ts ts) {
+            if (ts.getTsData().getLength() == 0) {
+                return null;
+            }
+            PreprocessingModel model;
+            try {
+                model = processor.process(ts.getTsData(), null);
+            } catch (RuntimeException ex) {
+                LOGGER.warn("Cannot find the outliers of '{}'", ts.getName(), ex);
+                return null;
+            }
+            if (model == null) {
+                return null;
+            }
+            cache.put(ts, model);
+            OutlierEstimation[] o = model.outliersEstimation(true, false);
+            return o != null && o.length > 0 ? o : null;
+        }
+
         @Override
-        protected void process(List<Ts> chunks) {
+        protected void process(List<Integer> chunks) {
             grid.fireTableDataChanged();
-            progressCount += chunks.size();
-            if (progressHandle != null && !chunks.isEmpty()) {
-                progressHandle.progress(100 * progressCount / tsCollection.getCount());
+            int progressCount = chunks.get(chunks.size() - 1);
+            if (progressHandle != null) {
+                progressHandle.progress(100 * progressCount / col.getCount());
             }
         }
     }
@@ -17,6 +17,7 @@
 package ec.nbdemetra.anomalydetection.ui;
 
 import ec.nbdemetra.anomalydetection.AnomalyItem;
+import ec.nbdemetra.anomalydetection.CheckLastWarmStart;
 import ec.nbdemetra.ui.DemetraUiIcon;
 import ec.nbdemetra.ui.MonikerUI;
 import ec.nbdemetra.ui.NbComponents;
@@ -83,6 +84,7 @@ public class JTsCheckLastList extends ATsList {
     public static final String COLOR_VALUES = "colorValues";
     public static final String NB_CHECK_LAST = "nbCheckLast";
     public static final String SPEC_CHANGE = "specChange";
+    public static final String WARM_START = "warmStart";
     private boolean interactive_ = true;
     private final XTable table;
     private Map<String, AnomalyItem> map;
@@ -93,6 +95,7 @@ public class JTsCheckLastList extends ATsList {
     private int lastChecks = 1;
     private double orangeCells = 4.0;
     private double redCells = 5.0;
+    private CheckLastWarmStart.Mode warmStart = CheckLastWarmStart.Mode.None;
     private Comparator<Double> compDouble;
     private Comparator<Ts> compTs;
     private CheckLast checkLast;
@@ -220,6 +223,16 @@ public class JTsCheckLastList extends ATsList {
         selectionListener.setEnabled(true);
     }
 
+    public CheckLastWarmStart.Mode getWarmStart() {
+        return warmStart;
+    }
+
+    public void setWarmStart(CheckLastWarmStart.Mode warmStart) {
+        CheckLastWarmStart.Mode old = this.warmStart;
+        this.warmStart = warmStart;
+        firePropertyChange(WARM_START, old, this.warmStart);
+    }
+
     public void fireTableStructureChanged() {
         model.fireTableStructureChanged();
         setColumnsWidths();
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.anomalydetection;
+
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CheckLastWarmStartTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static AnomalyItem item(int backCount) {
+        Double[] absoluteError = new Double[backCount];
+        Double[] relativeError = new Double[backCount];
+        for (int i = 0; i < backCount; ++i) {
+            absoluteError[i] = i % 10 == 0 ? null : i * 1.5;
+            relativeError[i] = -i / 3.0;
+        }
+        AnomalyItem result = new AnomalyItem();
+        result.setBackCount(backCount);
+        result.restore(AnomalyItem.Status.Processed, absoluteError, relativeError);
+        return result;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        File file = new File(folder.getRoot(), "models.dat");
+        long fingerprint = CheckLastWarmStart.fingerprint(new TsData(TsFrequency.Monthly, 2000, 0, new double[]{1, 2, 3}, false));
+
+        CheckLastWarmStart store = new CheckLastWarmStart(file);
+        store.loadIfNeeded();
+        for (int backCount : new int[]{1, 127, 128, 300}) {
+            store.put("key" + backCount, CheckLastWarmStart.Entry.of(item(backCount), "RSA5", fingerprint, null, 42));
+        }
+        store.save();
+
+        CheckLastWarmStart result = new CheckLastWarmStart(file);
+        result.loadIfNeeded();
+        for (int backCount : new int[]{1, 127, 128, 300}) {
+            CheckLastWarmStart.Entry entry = result.get("key" + backCount);
+            Assert.assertNotNull(entry);
+            Assert.assertTrue(entry.matches(fingerprint, "RSA5", backCount));
+            Assert.assertFalse(entry.matches(fingerprint + 1, "RSA5", backCount));
+            Assert.assertEquals(42, entry.getNanos());
+
+            AnomalyItem expected = item(backCount);
+            AnomalyItem restored = new AnomalyItem();
+            restored.setBackCount(backCount);
+            entry.restore(restored);
+            Assert.assertEquals(AnomalyItem.Status.Processed, restored.getStatus());
+            Assert.assertArrayEquals(expected.getAbsoluteError(), restored.getAbsoluteError());
+            Assert.assertArrayEquals(expected.getRelativeError(), restored.getRelativeError());
+        }
+    }
+
+    @Test
+    public void testOtherVersion() throws IOException {
+        File file = new File(folder.getRoot(), "models.dat");
+        try (DataOutputStream output = new DataOutputStream(new FileOutputStream(file))) {
+            output.writeInt(0x4A44434C);
+            output.writeByte(1);
+            output.writeInt(1);
+        }
+
+        CheckLastWarmStart result = new CheckLastWarmStart(file);
+        result.loadIfNeeded();
+        Assert.assertNull(result.get("key"));
+    }
+}
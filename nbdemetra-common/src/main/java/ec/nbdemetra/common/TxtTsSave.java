@@ -16,7 +16,6 @@
  */
 package ec.nbdemetra.common;
 
-import com.google.common.io.Files;
 import ec.nbdemetra.ui.Config;
 import ec.nbdemetra.ui.DemetraUiIcon;
 import ec.nbdemetra.ui.properties.PropertySheetDialogBuilder;
@@ -33,8 +32,9 @@ import ec.tss.tsproviders.common.txt.TxtFileFilter;
 import ec.util.various.swing.OnAnyThread;
 import java.awt.Image;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
 import java.util.Arrays;
 import javax.swing.filechooser.FileFilter;
 import org.netbeans.api.progress.ProgressHandle;
@@ -118,10 +118,11 @@ public final class TxtTsSave implements ITsSave {
                 .put("vertical", options.vertical)
                 .build();
         handler.setConfig(config);
-        String stringContent = handler.tsCollectionToString(content);
 
         ph.progress("Writing file");
-        Files.write(stringContent, file, StandardCharsets.UTF_8);
+        try (OutputStream stream = new FileOutputStream(file)) {
+            handler.exportTsCollection(content, stream);
+        }
         return file;
     }
 
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.core;
+
+import ec.tstoolkit.utilities.ThreadPoolSize;
+import ec.tstoolkit.utilities.ThreadPriority;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import org.openide.util.Lookup;
+import org.openide.util.lookup.ServiceProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Application-wide executor used by batch processings (SA, check last,
+ * surfaces, ...). It is backed by a work-stealing pool that is created once
+ * and only replaced when its size or priority changes. Tasks that are already
+ * running on a replaced pool are allowed to complete.
+ */
+@GlobalService
+@ServiceProvider(service = BatchExecutor.class)
+public class BatchExecutor implements Executor {
+
+    @Nonnull
+    public static BatchExecutor getDefault() {
+        return Lookup.getDefault().lookup(BatchExecutor.class);
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchExecutor.class);
+
+    private final AtomicInteger poolCount;
+    private final AtomicInteger activeTasks;
+    private final AtomicLong submittedTasks;
+    private final AtomicLong completedTasks;
+    private ThreadPoolSize poolSize;
+    private ThreadPriority priority;
+    private volatile ForkJoinPool pool;
+
+    public BatchExecutor() {
+        this.poolCount = new AtomicInteger();
+        this.activeTasks = new AtomicInteger();
+        this.submittedTasks = new AtomicLong();
+        this.completedTasks = new AtomicLong();
+        this.poolSize = ThreadPoolSize.ALL_BUT_ONE;
+        this.priority = ThreadPriority.NORMAL;
+        this.pool = null;
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Configuration">
+    @Nonnull
+    public synchronized ThreadPoolSize getPoolSize() {
+        return poolSize;
+    }
+
+    public synchronized void setPoolSize(@Nonnull ThreadPoolSize poolSize) {
+        if (this.poolSize != poolSize) {
+            this.poolSize = poolSize;
+            resetPool();
+        }
+    }
+
+    @Nonnull
+    public synchronized ThreadPriority getPriority() {
+        return priority;
+    }
+
+    public synchronized void setPriority(@Nonnull ThreadPriority priority) {
+        if (this.priority != priority) {
+            this.priority = priority;
+            resetPool();
+        }
+    }
+
+    private void resetPool() {
+        ForkJoinPool old = pool;
+        pool = null;
+        if (old != null) {
+            old.shutdown();
+        }
+    }
+
+    @Nonnull
+    private ForkJoinPool getPool() {
+        ForkJoinPool result = pool;
+        if (result == null) {
+            synchronized (this) {
+                result = pool;
+                if (result == null) {
+                    result = createPool(poolSize.intValue(), priority.intValue());
+                    pool = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private ForkJoinPool createPool(int parallelism, int threadPriority) {
+        int id = poolCount.incrementAndGet();
+        AtomicInteger threadCount = new AtomicInteger();
+        ClassLoader loader = Lookup.getDefault().lookup(ClassLoader.class);
+        LOGGER.info("Creating batch pool #{} with {} threads and priority {}", id, parallelism, threadPriority);
+        return new ForkJoinPool(Math.max(1, parallelism), o -> {
+            ForkJoinWorkerThread result = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(o);
+            result.setName("Batch-" + id + "-" + threadCount.incrementAndGet());
+            result.setDaemon(true);
+            result.setPriority(threadPriority);
+            if (loader != null) {
+                result.setContextClassLoader(loader);
+            }
+            return result;
+        }, (t, ex) -> LOGGER.warn("Uncaught exception in " + t.getName(), ex), true);
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Submission">
+    @Override
+    public void execute(@Nonnull Runnable command) {
+        submittedTasks.incrementAndGet();
+        Runnable task = () -> {
+            activeTasks.incrementAndGet();
+            try {
+                command.run();
+            } finally {
+                activeTasks.decrementAndGet();
+                completedTasks.incrementAndGet();
+            }
+        };
+        try {
+            getPool().execute(task);
+        } catch (RejectedExecutionException ex) {
+            // the pool has been replaced in the meantime
+            getPool().execute(task);
+        }
+    }
+
+    @Nonnull
+    public <T> Future<T> submit(@Nonnull Callable<T> task) {
+        submittedTasks.incrementAndGet();
+        Callable<T> wrapper = () -> {
+            activeTasks.incrementAndGet();
+            try {
+                return task.call();
+            } finally {
+                activeTasks.decrementAndGet();
+                completedTasks.incrementAndGet();
+            }
+        };
+        try {
+            return getPool().submit(wrapper);
+        } catch (RejectedExecutionException ex) {
+            // the pool has been replaced in the meantime
+            return getPool().submit(wrapper);
+        }
+    }
+
+    /**
+     * Submits all the tasks and waits for their completion. Contrary to
+     * {@link ForkJoinPool#invokeAll(java.util.Collection)}, this method reacts
+     * to the interruption of the calling thread by cancelling the remaining
+     * tasks.
+     *
+     * @param <T>
+     * @param tasks
+     * @return the futures of the tasks, in the same order
+     * @throws InterruptedException if the calling thread has been interrupted
+     */
+    @Nonnull
+    public <T> List<Future<T>> invokeAll(@Nonnull Collection<? extends Callable<T>> tasks) throws InterruptedException {
+        List<Future<T>> result = new ArrayList<>(tasks.size());
+        try {
+            for (Callable<T> o : tasks) {
+                result.add(submit(o));
+            }
+            for (Future<T> o : result) {
+                try {
+                    o.get();
+                } catch (ExecutionException | CancellationException ex) {
+                    // reported by the future itself
+                }
+            }
+        } catch (InterruptedException ex) {
+            result.forEach(o -> o.cancel(true));
+            throw ex;
+        }
+        return result;
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Metrics">
+    /**
+     * Gets the number of threads currently allowed to run tasks.
+     *
+     * @return
+     */
+    public int getParallelism() {
+        return getPool().getParallelism();
+    }
+
+    /**
+     * Gets an estimate of the number of tasks waiting to be run.
+     *
+     * @return
+     */
+    public long getQueuedTaskCount() {
+        ForkJoinPool result = pool;
+        return result != null ? result.getQueuedSubmissionCount() + result.getQueuedTaskCount() : 0;
+    }
+
+    /**
+     * Gets the number of tasks currently running.
+     *
+     * @return
+     */
+    public int getActiveTaskCount() {
+        return activeTasks.get();
+    }
+
+    public long getSubmittedTaskCount() {
+        return submittedTasks.get();
+    }
+
+    public long getCompletedTaskCount() {
+        return completedTasks.get();
+    }
+
+    @Override
+    public String toString() {
+        return "BatchExecutor[parallelism=" + getParallelism()
+                + ", active=" + getActiveTaskCount()
+                + ", queued=" + getQueuedTaskCount()
+                + ", completed=" + getCompletedTaskCount() + "]";
+    }
+    //</editor-fold>
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.core;
+
+import ec.tss.xml.information.XmlInformationSet;
+import ec.tstoolkit.information.Information;
+import ec.tstoolkit.information.InformationSet;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.xml.bind.JAXBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xerial.snappy.Snappy;
+
+/**
+ * Binary encoding of an {@link InformationSet}, used as an alternative to the
+ * JAXB XML format of the workspaces.
+ * <p>
+ * The stream starts with a magic number and a version, followed by the items
+ * of the set. Each item is written as its name, a type tag and a
+ * length-prefixed value. Strings, numbers, arrays, time series data and
+ * subsets are encoded natively; double arrays are compressed with Snappy when
+ * it is available. Any other value is encoded as a small XML information set,
+ * so that everything that can be written in XML can also be written in this
+ * format.
+ */
+public final class BinaryInformationSet {
+
+    private BinaryInformationSet() {
+        // static class
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinaryInformationSet.class);
+
+    private static final int MAGIC = 0x4A444953; // JDIS
+    private static final byte VERSION = 1;
+
+    private static final byte NULL = 0, STRING = 1, BOOLEAN = 2, INTEGER = 3, LONG = 4, DOUBLE = 5,
+            DOUBLES = 6, INTS = 7, STRINGS = 8, TSDATA = 9, SET = 10, XML = 11;
+
+    private static final byte RAW = 0, SNAPPY = 1;
+
+    private static final String XML_ITEM = "value";
+
+    private static volatile boolean snappyAvailable = true;
+
+    /**
+     * Checks if a stream starts with the magic number of this format. The
+     * stream must support marks.
+     *
+     * @param stream
+     * @return
+     * @throws IOException
+     */
+    public static boolean isBinary(@Nonnull InputStream stream) throws IOException {
+        stream.mark(4);
+        try {
+            byte[] header = new byte[4];
+            int n = 0;
+            while (n < 4) {
+                int count = stream.read(header, n, 4 - n);
+                if (count < 0) {
+                    return false;
+                }
+                n += count;
+            }
+            return ByteBuffer.wrap(header).getInt() == MAGIC;
+        } finally {
+            stream.reset();
+        }
+    }
+
+    public static void write(@Nonnull InformationSet info, @Nonnull OutputStream stream) throws IOException {
+        DataOutputStream output = new DataOutputStream(stream);
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+        writeSet(output, info);
+        output.flush();
+    }
+
+    @Nonnull
+    public static InformationSet read(@Nonnull InputStream stream) throws IOException {
+        DataInputStream input = new DataInputStream(stream);
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Not a binary information set");
+        }
+        byte version = input.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version " + version);
+        }
+        return readSet(input);
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Writing">
+    private static void writeSet(DataOutputStream output, InformationSet info) throws IOException {
+        List<Information<Object>> items = info.select(Object.class);
+        output.writeInt(items.size());
+        for (Information<Object> o : items) {
+            output.writeUTF(o.name);
+            writeValue(output, o.value);
+        }
+    }
+
+    private static void writeValue(DataOutputStream output, Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(NULL);
+        } else if (value instanceof String) {
+            output.writeByte(STRING);
+            writeString(output, (String) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(INTEGER);
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(LONG);
+            output.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            output.writeByte(DOUBLE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof double[]) {
+            output.writeByte(DOUBLES);
+            writeDoubles(output, (double[]) value);
+        } else if (value instanceof int[]) {
+            output.writeByte(INTS);
+            int[] array = (int[]) value;
+            output.writeInt(array.length);
+            for (int o : array) {
+                output.writeInt(o);
+            }
+        } else if (value instanceof String[]) {
+            output.writeByte(STRINGS);
+            String[] array = (String[]) value;
+            output.writeInt(array.length);
+            for (String o : array) {
+                output.writeBoolean(o != null);
+                if (o != null) {
+                    writeString(output, o);
+                }
+            }
+        } else if (value instanceof TsData) {
+            output.writeByte(TSDATA);
+            TsData data = (TsData) value;
+            output.writeInt(data.getFrequency().intValue());
+            output.writeInt(data.getStart().getYear());
+            output.writeInt(data.getStart().getPosition());
+            double[] values = new double[data.getLength()];
+            for (int i = 0; i < values.length; ++i) {
+                values[i] = data.get(i);
+            }
+            writeDoubles(output, values);
+        } else if (value instanceof InformationSet) {
+            output.writeByte(SET);
+            writeSet(output, (InformationSet) value);
+        } else {
+            output.writeByte(XML);
+            writeBytes(output, toXml(value));
+        }
+    }
+
+    // writeUTF is limited to 64k
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        writeBytes(output, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeBytes(DataOutputStream output, byte[] bytes) throws IOException {
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static void writeDoubles(DataOutputStream output, double[] values) throws IOException {
+        if (snappyAvailable) {
+            try {
+                byte[] bytes = Snappy.compress(values);
+                output.writeByte(SNAPPY);
+                output.writeInt(values.length);
+                writeBytes(output, bytes);
+                return;
+            } catch (IOException | LinkageError ex) {
+                LOGGER.warn("Snappy not available; double arrays won't be compressed", ex);
+                snappyAvailable = false;
+            }
+        }
+        output.writeByte(RAW);
+        output.writeInt(values.length);
+        for (double o : values) {
+            output.writeDouble(o);
+        }
+    }
+
+    private static byte[] toXml(Object value) throws IOException {
+        InformationSet tmp = new InformationSet();
+        tmp.set(XML_ITEM, value);
+        XmlInformationSet xml = new XmlInformationSet();
+        xml.copy(tmp);
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try {
+            JaxbRegistry.getDefault().marshal(xml, result);
+        } catch (JAXBException ex) {
+            throw new IOException(ex);
+        }
+        return result.toByteArray();
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Reading">
+    private static InformationSet readSet(DataInputStream input) throws IOException {
+        InformationSet result = new InformationSet();
+        int n = input.readInt();
+        for (int i = 0; i < n; ++i) {
+            String name = input.readUTF();
+            Object value = readValue(input);
+            if (value != null) {
+                result.set(name, value);
+            }
+        }
+        return result;
+    }
+
+    private static Object readValue(DataInputStream input) throws IOException {
+        byte tag = input.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString(input);
+            case BOOLEAN:
+                return input.readBoolean();
+            case INTEGER:
+                return input.readInt();
+            case LONG:
+                return input.readLong();
+            case DOUBLE:
+                return input.readDouble();
+            case DOUBLES:
+                return readDoubles(input);
+            case INTS: {
+                int[] result = new int[input.readInt()];
+                for (int i = 0; i < result.length; ++i) {
+                    result[i] = input.readInt();
+                }
+                return result;
+            }
+            case STRINGS: {
+                String[] result = new String[input.readInt()];
+                for (int i = 0; i < result.length; ++i) {
+                    result[i] = input.readBoolean() ? readString(input) : null;
+                }
+                return result;
+            }
+            case TSDATA: {
+                int freq = input.readInt();
+                int year = input.readInt();
+                int position = input.readInt();
+                double[] values = readDoubles(input);
+                return new TsData(TsFrequency.valueOf(freq), year, position, values, false);
+            }
+            case SET:
+                return readSet(input);
+            case XML:
+                return fromXml(readBytes(input));
+            default:
+                throw new IOException("Invalid tag " + tag);
+        }
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        return new String(readBytes(input), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(DataInputStream input) throws IOException {
+        byte[] result = new byte[input.readInt()];
+        input.readFully(result);
+        return result;
+    }
+
+    private static double[] readDoubles(DataInputStream input) throws IOException {
+        byte encoding = input.readByte();
+        int length = input.readInt();
+        switch (encoding) {
+            case SNAPPY:
+                double[] result = Snappy.uncompressDoubleArray(readBytes(input));
+                if (result.length != length) {
+                    throw new IOException("Invalid array length");
+                }
+                return result;
+            case RAW:
+                double[] values = new double[length];
+                for (int i = 0; i < length; ++i) {
+                    values[i] = input.readDouble();
+                }
+                return values;
+            default:
+                throw new IOException("Invalid encoding " + encoding);
+        }
+    }
+
+    private static Object fromXml(byte[] bytes) throws IOException {
+        try {
+            XmlInformationSet xml = JaxbRegistry.getDefault().unmarshal(XmlInformationSet.class, new ByteArrayInputStream(bytes));
+            return xml.create().get(XML_ITEM, Object.class);
+        } catch (JAXBException ex) {
+            throw new IOException(ex);
+        }
+    }
+    //</editor-fold>
+}
@@ -54,13 +54,7 @@ import org.slf4j.LoggerFactory;
 public final class Installer extends ModuleInstall {
 
     final static Logger LOGGER = LoggerFactory.getLogger(Installer.class);
-    final InstallerStep step = InstallerStep.all(
-            new AppVersionStep(),
-            new ByteArrayConverterStep(),
-            new ProvidersStep(),
-            new SaFactoriesStep(),
-            new SaDiagnosticsStep(),
-            new SaOutputStep());
+    final InstallerStep step = createStep();
 
     final TsVariableStep tsvars = new TsVariableStep();
 
@@ -76,6 +70,21 @@ public final class Installer extends ModuleInstall {
         TsFactory.instance.dispose();
     }
 
+    private static InstallerStep createStep() {
+        // the sa factories, diagnostics and outputs are registered in the same manager
+        InstallerStep saFactories = new SaFactoriesStep();
+        InstallerStep saDiagnostics = new SaDiagnosticsStep();
+        InstallerStep saOutput = new SaOutputStep();
+        return StartupOrchestrator.builder("nbdemetra-core")
+                .step(new AppVersionStep())
+                .step(new ByteArrayConverterStep())
+                .step(new ProvidersStep())
+                .step(saFactories)
+                .step(saDiagnostics, saFactories)
+                .step(saOutput, saDiagnostics)
+                .build();
+    }
+
     private static final class AppVersionStep extends InstallerStep {
 
         @Override
@@ -0,0 +1,306 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.core;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared registry of JAXB contexts used by the repositories and the data
+ * transfer.
+ * <p>
+ * A context is created once per bound class and is kept for the lifetime of
+ * the application. Since marshallers and unmarshallers are not thread-safe,
+ * they are borrowed from a small pool per class and given back after use. The
+ * number of operations and the time spent are recorded per class.
+ *
+ * @since 2.2.0
+ */
+public final class JaxbRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JaxbRegistry.class);
+    private static final JaxbRegistry INSTANCE = new JaxbRegistry();
+
+    @Nonnull
+    public static JaxbRegistry getDefault() {
+        return INSTANCE;
+    }
+
+    private final ConcurrentMap<Class<?>, Entry> entries;
+    private final int maxPoolSize;
+
+    private JaxbRegistry() {
+        this.entries = new ConcurrentHashMap<>();
+        this.maxPoolSize = Math.max(2, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Gets the context of a bound class, creating it if needed.
+     *
+     * @param type
+     * @return a non-null context
+     * @throws JAXBException if the context cannot be created
+     */
+    @Nonnull
+    public JAXBContext getContext(@Nonnull Class<?> type) throws JAXBException {
+        return getEntry(type).context;
+    }
+
+    @Nonnull
+    public <X> X unmarshal(@Nonnull Class<X> type, @Nonnull File file) throws JAXBException {
+        return type.cast(unmarshal(type, o -> o.unmarshal(file)));
+    }
+
+    @Nonnull
+    public <X> X unmarshal(@Nonnull Class<X> type, @Nonnull InputStream stream) throws JAXBException {
+        return type.cast(unmarshal(type, o -> o.unmarshal(stream)));
+    }
+
+    @Nonnull
+    public <X> X unmarshal(@Nonnull Class<X> type, @Nonnull Reader reader) throws JAXBException {
+        return type.cast(unmarshal(type, o -> o.unmarshal(reader)));
+    }
+
+    /**
+     * Reads an object from the current element of a StAX cursor.
+     *
+     * @param <X>
+     * @param type
+     * @param reader
+     * @return
+     * @throws JAXBException
+     */
+    @Nonnull
+    public <X> X unmarshal(@Nonnull Class<X> type, @Nonnull XMLEventReader reader) throws JAXBException {
+        return type.cast(unmarshal(type, o -> o.unmarshal(reader)));
+    }
+
+    /**
+     * Writes an object as formatted XML, using the context of its class.
+     *
+     * @param value
+     * @param writer
+     * @throws JAXBException
+     */
+    public void marshal(@Nonnull Object value, @Nonnull Writer writer) throws JAXBException {
+        marshal(value, o -> o.marshal(value, writer));
+    }
+
+    public void marshal(@Nonnull Object value, @Nonnull OutputStream stream) throws JAXBException {
+        marshal(value, o -> o.marshal(value, stream));
+    }
+
+    /**
+     * Writes an object as events of a StAX writer. The events are not
+     * formatted.
+     *
+     * @param value
+     * @param writer
+     * @throws JAXBException
+     */
+    public void marshal(@Nonnull Object value, @Nonnull XMLEventWriter writer) throws JAXBException {
+        marshal(value, o -> o.marshal(value, writer));
+    }
+
+    /**
+     * Gets the statistics of every class used so far, sorted by the total time
+     * spent.
+     *
+     * @return a non-null list
+     */
+    @Nonnull
+    public List<Statistics> getStatistics() {
+        List<Statistics> result = new ArrayList<>(entries.size());
+        entries.values().forEach(o -> result.add(o.toStatistics()));
+        result.sort(Comparator.comparingLong(Statistics::getTotalNanos).reversed());
+        return result;
+    }
+
+    /**
+     * Logs the statistics of every class used so far at debug level.
+     */
+    public void logStatistics() {
+        if (LOGGER.isDebugEnabled()) {
+            getStatistics().forEach(o -> LOGGER.debug("{}", o));
+        }
+    }
+
+    private void marshal(Object value, MarshalFunc func) throws JAXBException {
+        Entry entry = getEntry(value.getClass());
+        long start = System.nanoTime();
+        Marshaller marshaller = entry.marshallers.poll();
+        if (marshaller == null) {
+            marshaller = entry.context.createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+        }
+        func.apply(marshaller);
+        // a marshaller that failed is dropped instead of being reused
+        if (entry.marshallers.size() < maxPoolSize) {
+            entry.marshallers.offer(marshaller);
+        }
+        entry.saveCount.increment();
+        entry.saveNanos.add(System.nanoTime() - start);
+    }
+
+    private Object unmarshal(Class<?> type, UnmarshalFunc func) throws JAXBException {
+        Entry entry = getEntry(type);
+        long start = System.nanoTime();
+        Unmarshaller unmarshaller = entry.unmarshallers.poll();
+        if (unmarshaller == null) {
+            unmarshaller = entry.context.createUnmarshaller();
+        }
+        Object result = func.apply(unmarshaller);
+        // an unmarshaller that failed is dropped instead of being reused
+        if (entry.unmarshallers.size() < maxPoolSize) {
+            entry.unmarshallers.offer(unmarshaller);
+        }
+        entry.loadCount.increment();
+        entry.loadNanos.add(System.nanoTime() - start);
+        return result;
+    }
+
+    private Entry getEntry(Class<?> type) throws JAXBException {
+        Entry result = entries.get(type);
+        if (result == null) {
+            long start = System.nanoTime();
+            JAXBContext context = JAXBContext.newInstance(type);
+            long nanos = System.nanoTime() - start;
+            Entry tmp = new Entry(type, context, nanos);
+            result = entries.putIfAbsent(type, tmp);
+            if (result == null) {
+                LOGGER.debug("Created JAXB context of {} in {}ms", type.getName(), TimeUnit.NANOSECONDS.toMillis(nanos));
+                result = tmp;
+            }
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface MarshalFunc {
+
+        void apply(Marshaller marshaller) throws JAXBException;
+    }
+
+    @FunctionalInterface
+    private interface UnmarshalFunc {
+
+        Object apply(Unmarshaller unmarshaller) throws JAXBException;
+    }
+
+    private static final class Entry {
+
+        final Class<?> type;
+        final JAXBContext context;
+        final long creationNanos;
+        final Queue<Marshaller> marshallers = new ConcurrentLinkedQueue<>();
+        final Queue<Unmarshaller> unmarshallers = new ConcurrentLinkedQueue<>();
+        final LongAdder loadCount = new LongAdder();
+        final LongAdder loadNanos = new LongAdder();
+        final LongAdder saveCount = new LongAdder();
+        final LongAdder saveNanos = new LongAdder();
+
+        Entry(Class<?> type, JAXBContext context, long creationNanos) {
+            this.type = type;
+            this.context = context;
+            this.creationNanos = creationNanos;
+        }
+
+        Statistics toStatistics() {
+            return new Statistics(type, creationNanos, loadCount.sum(), loadNanos.sum(), saveCount.sum(), saveNanos.sum());
+        }
+    }
+
+    /**
+     * Snapshot of the operations done with the context of a class.
+     */
+    public static final class Statistics {
+
+        private final Class<?> type;
+        private final long creationNanos;
+        private final long loadCount;
+        private final long loadNanos;
+        private final long saveCount;
+        private final long saveNanos;
+
+        private Statistics(Class<?> type, long creationNanos, long loadCount, long loadNanos, long saveCount, long saveNanos) {
+            this.type = type;
+            this.creationNanos = creationNanos;
+            this.loadCount = loadCount;
+            this.loadNanos = loadNanos;
+            this.saveCount = saveCount;
+            this.saveNanos = saveNanos;
+        }
+
+        @Nonnull
+        public Class<?> getType() {
+            return type;
+        }
+
+        public long getCreationNanos() {
+            return creationNanos;
+        }
+
+        public long getLoadCount() {
+            return loadCount;
+        }
+
+        public long getLoadNanos() {
+            return loadNanos;
+        }
+
+        public long getSaveCount() {
+            return saveCount;
+        }
+
+        public long getSaveNanos() {
+            return saveNanos;
+        }
+
+        public long getTotalNanos() {
+            return creationNanos + loadNanos + saveNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: context %dms, %d loads in %dms, %d saves in %dms",
+                    type.getSimpleName(), TimeUnit.NANOSECONDS.toMillis(creationNanos),
+                    loadCount, TimeUnit.NANOSECONDS.toMillis(loadNanos),
+                    saveCount, TimeUnit.NANOSECONDS.toMillis(saveNanos));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.core;
+
+import java.util.concurrent.CompletableFuture;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Reopening of the data sources opened during the previous session. The code
+ * that reads series from these data sources can wait for it without depending
+ * on the module that reopens them.
+ *
+ * @since 2.2.0
+ */
+@ThreadSafe
+public final class ReopenedDataSources {
+
+    private static final ReopenedDataSources INSTANCE = new ReopenedDataSources();
+
+    @Nonnull
+    public static ReopenedDataSources getDefault() {
+        return INSTANCE;
+    }
+
+    private volatile CompletableFuture<Void> reopened;
+
+    private ReopenedDataSources() {
+        this.reopened = CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Declares that the data sources are being reopened. The returned future
+     * must be completed once they are.
+     *
+     * @return a non-null future
+     */
+    @Nonnull
+    public CompletableFuture<Void> start() {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        reopened = result;
+        return result;
+    }
+
+    /**
+     * Gets a future that is completed once the data sources have been
+     * reopened. It is already completed if nothing is being reopened.
+     *
+     * @return a non-null future
+     */
+    @Nonnull
+    public CompletableFuture<Void> whenReopened() {
+        return reopened;
+    }
+}
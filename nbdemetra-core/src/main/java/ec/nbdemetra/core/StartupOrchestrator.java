@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.core;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import javax.annotation.Nonnull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An installer step that restores its steps in parallel while respecting their
+ * dependencies.
+ * <p>
+ * A step is restored as soon as all its dependencies are restored; the
+ * independent steps are restored concurrently. The method {@link #restore()}
+ * returns once every step has been restored. A step that fails is logged and
+ * doesn't prevent the other steps from being restored. The steps are closed
+ * sequentially, in the reverse order of their declaration.
+ * <p>
+ * The duration of each step is recorded in the {@link StartupProfile}.
+ *
+ * @since 2.2.0
+ */
+public final class StartupOrchestrator extends InstallerStep {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupOrchestrator.class);
+
+    @Nonnull
+    public static Builder builder(@Nonnull String module) {
+        return new Builder(module);
+    }
+
+    private final String module;
+    private final ImmutableList<Node> nodes;
+
+    private StartupOrchestrator(String module, ImmutableList<Node> nodes) {
+        this.module = module;
+        this.nodes = nodes;
+    }
+
+    @Override
+    public void restore() {
+        long start = System.nanoTime();
+        int nThreads = Math.min(nodes.size(), Runtime.getRuntime().availableProcessors());
+        if (nThreads <= 1) {
+            nodes.forEach(this::restore);
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(nThreads, newThreadFactory());
+            try {
+                Map<Node, CompletableFuture<Void>> futures = new IdentityHashMap<>();
+                for (Node o : nodes) {
+                    CompletableFuture<?>[] dependencies = o.dependencies.stream().map(futures::get).toArray(CompletableFuture<?>[]::new);
+                    futures.put(o, CompletableFuture.allOf(dependencies).thenRunAsync(() -> restore(o), executor));
+                }
+                CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[futures.size()])).join();
+            } finally {
+                executor.shutdown();
+            }
+        }
+        StartupProfile.getDefault().record(module, "(total)", start, System.nanoTime());
+    }
+
+    @Override
+    public void close() {
+        for (Node o : nodes.reverse()) {
+            o.step.close();
+        }
+    }
+
+    private void restore(Node node) {
+        long start = System.nanoTime();
+        try {
+            node.step.restore();
+        } catch (RuntimeException ex) {
+            LOGGER.error("While restoring " + node.name, ex);
+        }
+        StartupProfile.getDefault().record(module, node.name, start, System.nanoTime());
+    }
+
+    private ThreadFactory newThreadFactory() {
+        // the lookups and the JAXB contexts rely on the class loader of the caller
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        ThreadFactory factory = new ThreadFactoryBuilder().setDaemon(true).setNameFormat(module + "-startup-%d").build();
+        return o -> {
+            Thread result = factory.newThread(o);
+            result.setContextClassLoader(classLoader);
+            return result;
+        };
+    }
+
+    public static final class Builder {
+
+        private final String module;
+        private final Map<InstallerStep, Node> nodes;
+
+        private Builder(String module) {
+            this.module = module;
+            this.nodes = new IdentityHashMap<>();
+        }
+
+        /**
+         * Adds a step that is restored after its dependencies.
+         *
+         * @param step
+         * @param dependencies steps that have already been added to this
+         * builder
+         * @return this builder
+         * @throws IllegalArgumentException if the step has already been added
+         * or if a dependency has not been added yet
+         */
+        @Nonnull
+        public Builder step(@Nonnull InstallerStep step, @Nonnull InstallerStep... dependencies) throws IllegalArgumentException {
+            if (nodes.containsKey(step)) {
+                throw new IllegalArgumentException("Step already added: " + getName(step));
+            }
+            List<Node> list = new ArrayList<>(dependencies.length);
+            for (InstallerStep o : dependencies) {
+                Node node = nodes.get(o);
+                if (node == null) {
+                    throw new IllegalArgumentException("Unknown dependency: " + getName(o));
+                }
+                list.add(node);
+            }
+            nodes.put(step, new Node(step, getName(step), nodes.size(), list));
+            return this;
+        }
+
+        @Nonnull
+        public StartupOrchestrator build() {
+            List<Node> list = new ArrayList<>(nodes.values());
+            list.sort((l, r) -> Integer.compare(l.index, r.index));
+            return new StartupOrchestrator(module, ImmutableList.copyOf(list));
+        }
+
+        private static String getName(InstallerStep step) {
+            String result = step.getClass().getSimpleName();
+            return result.isEmpty() ? step.getClass().getName() : result;
+        }
+    }
+
+    private static final class Node {
+
+        private final InstallerStep step;
+        private final String name;
+        private final int index;
+        private final List<Node> dependencies;
+
+        private Node(InstallerStep step, String name, int index, List<Node> dependencies) {
+            this.step = step;
+            this.name = name;
+            this.index = index;
+            this.dependencies = dependencies;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Durations of the steps done at startup, including the ones that are deferred
+ * after the main window is shown.
+ *
+ * @since 2.2.0
+ */
+@ThreadSafe
+public final class StartupProfile {
+
+    private static final StartupProfile INSTANCE = new StartupProfile();
+
+    @Nonnull
+    public static StartupProfile getDefault() {
+        return INSTANCE;
+    }
+
+    private final long origin;
+    private final List<Entry> entries;
+
+    private StartupProfile() {
+        this.origin = System.nanoTime();
+        this.entries = new ArrayList<>();
+    }
+
+    /**
+     * Records a step that started and ended at the specified times, as given
+     * by {@link System#nanoTime()}.
+     *
+     * @param module
+     * @param step
+     * @param startNanos
+     * @param endNanos
+     */
+    public void record(@Nonnull String module, @Nonnull String step, long startNanos, long endNanos) {
+        Entry entry = new Entry(module, step, Thread.currentThread().getName(),
+                TimeUnit.NANOSECONDS.toMillis(startNanos - origin),
+                TimeUnit.NANOSECONDS.toMillis(endNanos - startNanos));
+        synchronized (entries) {
+            entries.add(entry);
+        }
+    }
+
+    /**
+     * Gets a snapshot of the recorded steps, in the order of their completion.
+     *
+     * @return a non-null list
+     */
+    @Nonnull
+    public List<Entry> getEntries() {
+        synchronized (entries) {
+            return new ArrayList<>(entries);
+        }
+    }
+
+    public static final class Entry {
+
+        private final String module;
+        private final String step;
+        private final String thread;
+        private final long start;
+        private final long duration;
+
+        private Entry(String module, String step, String thread, long start, long duration) {
+            this.module = module;
+            this.step = step;
+            this.thread = thread;
+            this.start = start;
+            this.duration = duration;
+        }
+
+        @Nonnull
+        public String getModule() {
+            return module;
+        }
+
+        @Nonnull
+        public String getStep() {
+            return step;
+        }
+
+        @Nonnull
+        public String getThread() {
+            return thread;
+        }
+
+        /**
+         * Gets the start of the step in milliseconds, relative to the first
+         * use of the profile.
+         *
+         * @return
+         */
+        public long getStart() {
+            return start;
+        }
+
+        /**
+         * Gets the duration of the step in milliseconds.
+         *
+         * @return
+         */
+        public long getDuration() {
+            return duration;
+        }
+
+        @Override
+        public String toString() {
+            return module + "/" + step + " [" + thread + "] +" + start + "ms " + duration + "ms";
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.core;
+
+import ec.tstoolkit.utilities.ThreadPoolSize;
+import ec.tstoolkit.utilities.ThreadPriority;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BatchExecutorTest {
+
+    @Test
+    public void testInvokeAll() throws Exception {
+        BatchExecutor executor = new BatchExecutor();
+
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            tasks.add(() -> value * value);
+        }
+
+        List<Future<Integer>> result = executor.invokeAll(tasks);
+        Assert.assertEquals(100, result.size());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(result.get(i).isDone());
+            Assert.assertEquals(i * i, result.get(i).get().intValue());
+        }
+        Assert.assertEquals(100, executor.getSubmittedTaskCount());
+        Assert.assertEquals(100, executor.getCompletedTaskCount());
+        Assert.assertEquals(0, executor.getActiveTaskCount());
+    }
+
+    @Test
+    public void testResize() throws Exception {
+        BatchExecutor executor = new BatchExecutor();
+
+        for (ThreadPoolSize o : ThreadPoolSize.values()) {
+            executor.setPoolSize(o);
+            Assert.assertEquals(o, executor.getPoolSize());
+            Assert.assertEquals(Math.max(1, o.intValue()), executor.getParallelism());
+        }
+
+        for (ThreadPriority o : ThreadPriority.values()) {
+            executor.setPriority(o);
+            Assert.assertEquals(o, executor.getPriority());
+            Assert.assertEquals(o.intValue(), executor.submit(() -> Thread.currentThread().getPriority()).get().intValue());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.core;
+
+import com.google.common.base.Strings;
+import ec.tstoolkit.Parameter;
+import ec.tstoolkit.ParameterType;
+import ec.tstoolkit.information.InformationSet;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BinaryInformationSetTest {
+
+    private static InformationSet roundTrip(InformationSet info) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BinaryInformationSet.write(info, output);
+        return BinaryInformationSet.read(new ByteArrayInputStream(output.toByteArray()));
+    }
+
+    @Test
+    public void testNativeValues() throws IOException {
+        String longText = Strings.repeat("été ", 20000);
+        double[] doubles = {0.0, 1.1, Double.NaN, Double.MAX_VALUE, Double.MIN_VALUE,
+            Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY};
+        TsData data = new TsData(TsFrequency.Monthly, 2000, 3, new double[]{1, Double.NaN, 3.5, -4}, false);
+
+        InformationSet info = new InformationSet();
+        info.set("string", "hello");
+        info.set("longString", longText);
+        info.set("boolean", true);
+        info.set("integer", -42);
+        info.set("long", Long.MAX_VALUE);
+        info.set("double", Math.PI);
+        info.set("doubles", doubles);
+        info.set("emptyDoubles", new double[0]);
+        info.set("ints", new int[]{1, -2, Integer.MAX_VALUE});
+        info.set("strings", new String[]{"a", null, ""});
+        info.set("data", data);
+        InformationSet subset = info.subSet("subset");
+        subset.set("value", 1.5);
+        subset.subSet("nested").set("name", "x");
+
+        InformationSet result = roundTrip(info);
+
+        Assert.assertEquals("hello", result.get("string", String.class));
+        Assert.assertEquals(longText, result.get("longString", String.class));
+        Assert.assertEquals(Boolean.TRUE, result.get("boolean", Boolean.class));
+        Assert.assertEquals(Integer.valueOf(-42), result.get("integer", Integer.class));
+        Assert.assertEquals(Long.valueOf(Long.MAX_VALUE), result.get("long", Long.class));
+        Assert.assertEquals(Math.PI, result.get("double", Double.class), 0);
+        Assert.assertArrayEquals(doubles, result.get("doubles", double[].class), 0);
+        Assert.assertArrayEquals(new double[0], result.get("emptyDoubles", double[].class), 0);
+        Assert.assertArrayEquals(new int[]{1, -2, Integer.MAX_VALUE}, result.get("ints", int[].class));
+        Assert.assertArrayEquals(new String[]{"a", null, ""}, result.get("strings", String[].class));
+        Assert.assertEquals(data, result.get("data", TsData.class));
+        Assert.assertEquals(1.5, result.getSubSet("subset").get("value", Double.class), 0);
+        Assert.assertEquals("x", result.getSubSet("subset").getSubSet("nested").get("name", String.class));
+    }
+
+    @Test
+    public void testXmlValues() throws IOException {
+        Parameter[] parameters = {new Parameter(.5, ParameterType.Fixed), new Parameter(-.2, ParameterType.Estimated)};
+
+        InformationSet info = new InformationSet();
+        info.set("parameters", parameters);
+
+        Assert.assertArrayEquals(parameters, roundTrip(info).get("parameters", Parameter[].class));
+    }
+
+    @Test
+    public void testIsBinary() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BinaryInformationSet.write(new InformationSet(), output);
+
+        BufferedInputStream binary = new BufferedInputStream(new ByteArrayInputStream(output.toByteArray()));
+        Assert.assertTrue(BinaryInformationSet.isBinary(binary));
+        Assert.assertTrue(roundTrip(new InformationSet()).isEmpty());
+        Assert.assertTrue(BinaryInformationSet.read(binary).isEmpty());
+
+        Assert.assertFalse(BinaryInformationSet.isBinary(new BufferedInputStream(new ByteArrayInputStream("<?xml".getBytes()))));
+        Assert.assertFalse(BinaryInformationSet.isBinary(new BufferedInputStream(new ByteArrayInputStream(new byte[2]))));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StartupOrchestratorTest {
+
+    private static final class Step extends InstallerStep {
+
+        private final String name;
+        private final AtomicInteger clock;
+        private final List<String> closed;
+        private final boolean failing;
+        private volatile int start = -1;
+        private volatile int end = -1;
+
+        private Step(String name, AtomicInteger clock, List<String> closed, boolean failing) {
+            this.name = name;
+            this.clock = clock;
+            this.closed = closed;
+            this.failing = failing;
+        }
+
+        @Override
+        public void restore() {
+            start = clock.incrementAndGet();
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            end = clock.incrementAndGet();
+            if (failing) {
+                throw new IllegalStateException(name);
+            }
+        }
+
+        @Override
+        public void close() {
+            synchronized (closed) {
+                closed.add(name);
+            }
+        }
+
+        private void assertRestoredAfter(Step... dependencies) {
+            Assert.assertTrue(name + " not restored", end > 0);
+            for (Step o : dependencies) {
+                Assert.assertTrue(name + " started before the end of " + o.name, o.end < start);
+            }
+        }
+    }
+
+    @Test
+    public void testDependencies() {
+        AtomicInteger clock = new AtomicInteger();
+        List<String> closed = new ArrayList<>();
+        Step a = new Step("a", clock, closed, false);
+        Step b = new Step("b", clock, closed, false);
+        Step c = new Step("c", clock, closed, false);
+        Step d = new Step("d", clock, closed, false);
+        Step e = new Step("e", clock, closed, false);
+        Step f = new Step("f", clock, closed, false);
+
+        StartupOrchestrator orchestrator = StartupOrchestrator.builder("test")
+                .step(a)
+                .step(b, a)
+                .step(c, a)
+                .step(d, b, c)
+                .step(e)
+                .step(f, e, a)
+                .build();
+        orchestrator.restore();
+
+        a.assertRestoredAfter();
+        b.assertRestoredAfter(a);
+        c.assertRestoredAfter(a);
+        d.assertRestoredAfter(b, c);
+        e.assertRestoredAfter();
+        f.assertRestoredAfter(e, a);
+
+        orchestrator.close();
+        Assert.assertEquals(Arrays.asList("f", "e", "d", "c", "b", "a"), closed);
+    }
+
+    @Test
+    public void testFailingStep() {
+        AtomicInteger clock = new AtomicInteger();
+        List<String> closed = new ArrayList<>();
+        Step a = new Step("a", clock, closed, true);
+        Step b = new Step("b", clock, closed, false);
+        Step c = new Step("c", clock, closed, false);
+
+        StartupOrchestrator.builder("test")
+                .step(a)
+                .step(b, a)
+                .step(c)
+                .build()
+                .restore();
+
+        b.assertRestoredAfter(a);
+        c.assertRestoredAfter();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownDependency() {
+        AtomicInteger clock = new AtomicInteger();
+        List<String> closed = new ArrayList<>();
+        StartupOrchestrator.builder("test")
+                .step(new Step("a", clock, closed, false), new Step("b", clock, closed, false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateStep() {
+        Step a = new Step("a", new AtomicInteger(), new ArrayList<>(), false);
+        StartupOrchestrator.builder("test").step(a).step(a);
+    }
+}
@@ -21,6 +21,7 @@ import ec.nbdemetra.db.DbProviderBuddy;
 import ec.tss.tsproviders.jdbc.ConnectionSupplier;
 import ec.tss.tsproviders.jdbc.JdbcBean;
 import ec.tstoolkit.utilities.GuavaCaches;
+import ec.util.completion.AutoCompletionIndex;
 import ec.util.completion.AutoCompletionSource;
 import static ec.util.completion.AutoCompletionSource.Behavior.ASYNC;
 import static ec.util.completion.AutoCompletionSource.Behavior.NONE;
@@ -36,8 +37,6 @@ import java.sql.Statement;
 import java.time.Duration;
 import java.util.Comparator;
 import java.util.List;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.swing.ListCellRenderer;
 
@@ -49,6 +48,9 @@ import javax.swing.ListCellRenderer;
  */
 public abstract class JdbcProviderBuddy<BEAN extends JdbcBean> extends DbProviderBuddy<BEAN> {
 
+    // a database can have tens of thousands of tables or columns
+    private static final int MAX_COMPLETIONS = 1000;
+
     protected final ConnectionSupplier supplier;
 
     public JdbcProviderBuddy(@Nonnull ConnectionSupplier supplier) {
@@ -60,7 +62,8 @@ public abstract class JdbcProviderBuddy<BEAN extends JdbcBean> extends DbProvide
         return ExtAutoCompletionSource
                 .builder(o -> getJdbcTables(supplier, bean))
                 .behavior(o -> !Strings.isNullOrEmpty(bean.getDbName()) ? ASYNC : NONE)
-                .postProcessor(JdbcProviderBuddy::getJdbcTables)
+                .postProcessor(AutoCompletionIndex.postProcessor(Comparator.naturalOrder(), MAX_COMPLETIONS,
+                        JdbcTable::getName, JdbcTable::getSchema, JdbcTable::getCatalog, JdbcTable::getRemarks))
                 .valueToString(JdbcTable::getName)
                 .cache(GuavaCaches.ttlCacheAsMap(Duration.ofMinutes(1)), o -> bean.getDbName(), SYNC)
                 .build();
@@ -76,7 +79,8 @@ public abstract class JdbcProviderBuddy<BEAN extends JdbcBean> extends DbProvide
         return ExtAutoCompletionSource
                 .builder(o -> getJdbcColumns(supplier, bean))
                 .behavior(o -> !Strings.isNullOrEmpty(bean.getDbName()) && !Strings.isNullOrEmpty(bean.getTableName()) ? ASYNC : NONE)
-                .postProcessor(JdbcProviderBuddy::getJdbcColumns)
+                .postProcessor(AutoCompletionIndex.postProcessor(Comparator.comparing(JdbcColumn::getName), MAX_COMPLETIONS,
+                        JdbcColumn::getName, JdbcColumn::getLabel, JdbcColumn::getTypeName))
                 .valueToString(JdbcColumn::getName)
                 .cache(GuavaCaches.ttlCacheAsMap(Duration.ofMinutes(1)), o -> bean.getDbName() + "/" + bean.getTableName(), SYNC)
                 .build();
@@ -104,21 +108,5 @@ public abstract class JdbcProviderBuddy<BEAN extends JdbcBean> extends DbProvide
             }
         }
     }
-
-    private static List<JdbcTable> getJdbcTables(List<JdbcTable> values, String term) {
-        Predicate<String> filter = ExtAutoCompletionSource.basicFilter(term);
-        return values.stream()
-                .filter(o -> filter.test(o.getName()) || filter.test(o.getSchema()) || filter.test(o.getCatalog()) || filter.test(o.getRemarks()))
-                .sorted()
-                .collect(Collectors.toList());
-    }
-
-    private static List<JdbcColumn> getJdbcColumns(List<JdbcColumn> values, String term) {
-        Predicate<String> filter = ExtAutoCompletionSource.basicFilter(term);
-        return values.stream()
-                .filter(o -> filter.test(o.getName()) || filter.test(o.getLabel()) || filter.test(o.getTypeName()))
-                .sorted(Comparator.comparing(JdbcColumn::getName))
-                .collect(Collectors.toList());
-    }
     //</editor-fold>
 }
@@ -32,9 +32,12 @@ import ec.tss.tsproviders.jdbc.JdbcBean;
 import ec.tss.tsproviders.jdbc.jndi.JndiJdbcProvider;
 import ec.tss.tsproviders.utils.Formatters;
 import ec.tss.tsproviders.utils.Parsers;
+import ec.tstoolkit.utilities.GuavaCaches;
 import static ec.util.chart.impl.TangoColorScheme.DARK_ORANGE;
 import static ec.util.chart.impl.TangoColorScheme.DARK_SCARLET_RED;
 import static ec.util.chart.swing.SwingColorSchemeSupport.rgbToColor;
+import static ec.util.completion.AutoCompletionSource.Behavior.SYNC;
+import ec.util.completion.AutoCompletionIndex;
 import ec.util.completion.AutoCompletionSource;
 import ec.util.completion.ExtAutoCompletionSource;
 import ec.util.jdbc.ForwardingConnection;
@@ -44,6 +47,7 @@ import java.awt.Image;
 import java.lang.reflect.InvocationTargetException;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
@@ -51,8 +55,6 @@ import java.util.Properties;
 import java.util.concurrent.Callable;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.RunnableFuture;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.swing.Action;
 import javax.swing.JCheckBox;
@@ -188,8 +190,10 @@ public class JndiJdbcProviderBuddy extends JdbcProviderBuddy<JdbcBean> implement
         return ExtAutoCompletionSource
                 .builder(JndiJdbcProviderBuddy::getDatabaseConnections)
                 .behavior(AutoCompletionSource.Behavior.ASYNC)
-                .postProcessor(JndiJdbcProviderBuddy::getDatabaseConnections)
+                .postProcessor(AutoCompletionIndex.postProcessor(Comparator.comparing(DatabaseConnection::getDisplayName), Integer.MAX_VALUE,
+                        DatabaseConnection::getName, DatabaseConnection::getDisplayName))
                 .valueToString(DatabaseConnection::getDisplayName)
+                .cache(GuavaCaches.ttlCacheAsMap(Duration.ofSeconds(10)), o -> "", SYNC)
                 .build();
     }
 
@@ -197,14 +201,6 @@ public class JndiJdbcProviderBuddy extends JdbcProviderBuddy<JdbcBean> implement
         return Arrays.asList(ConnectionManager.getDefault().getConnections());
     }
 
-    private static List<DatabaseConnection> getDatabaseConnections(List<DatabaseConnection> values, String term) {
-        Predicate<String> filter = ExtAutoCompletionSource.basicFilter(term);
-        return values.stream()
-                .filter(o -> filter.test(o.getName()) || filter.test(o.getDisplayName()))
-                .sorted(Comparator.comparing(DatabaseConnection::getDisplayName))
-                .collect(Collectors.toList());
-    }
-
     @NbBundle.Messages({
         "# {0} - dbName",
         "dbexplorer.missingConnection=Cannot find connection named ''{0}''",
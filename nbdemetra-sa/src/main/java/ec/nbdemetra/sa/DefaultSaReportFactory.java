@@ -4,6 +4,8 @@
  */
 package ec.nbdemetra.sa;
 
+import com.google.common.base.Throwables;
+import ec.nbdemetra.core.BatchExecutor;
 import ec.nbdemetra.ui.NbComponents;
 import ec.nbdemetra.ui.mru.SourceId;
 import ec.nbdemetra.ws.WorkspaceFactory;
@@ -21,15 +23,23 @@ import ec.tstoolkit.utilities.Paths;
 import java.awt.Dimension;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.text.DecimalFormat;
+import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import javax.annotation.Nullable;
 import javax.swing.JTextPane;
 import org.openide.DialogDescriptor;
 import org.openide.DialogDisplayer;
@@ -51,7 +61,6 @@ public class DefaultSaReportFactory implements ISaReportFactory {
     private static final DecimalFormat pc2 = new DecimalFormat();
     private static final DecimalFormat d2 = new DecimalFormat();
     private final FileChooserBuilder fileChooserBuilder;
-    private int nseries = 0;
 
     static {
         pc2.setMultiplier(100);
@@ -77,8 +86,17 @@ public class DefaultSaReportFactory implements ISaReportFactory {
 
     @Override
     public boolean createReport(SaProcessing processing) {
+        return createReport(processing, o -> null);
+    }
+
+    @Override
+    public boolean createReport(SaProcessing processing, SaResultsRetention retention) {
+        return createReport(processing, retention::getSummary);
+    }
+
+    private boolean createReport(SaProcessing processing, Function<SaItem, SaItemSummary> summaries) {
         StringWriter out = new StringWriter();
-        if (createReport(out, processing)) {
+        if (createReport(out, processing, summaries)) {
             final JTextPane panel = new JTextPane();
             panel.setPreferredSize(new Dimension(300, 400));
             final DialogDescriptor dd = new DialogDescriptor(NbComponents.newJScrollPane(panel), "Report");
@@ -105,13 +123,17 @@ public class DefaultSaReportFactory implements ISaReportFactory {
         return false;
     }
 
-    public synchronized boolean createReport(Writer out, SaProcessing processing) {
-        nseries = 0;
+    public boolean createReport(Writer out, SaProcessing processing) {
+        return createReport(out, processing, o -> null);
+    }
+
+    private synchronized boolean createReport(Writer out, SaProcessing processing, Function<SaItem, SaItemSummary> summaries) {
         try {
+            Summary summary = summarize(processing, summaries);
             writeHeader(out);
-            writeProcessingHeader(out, processing);
+            writeProcessingHeader(out, processing, summary);
             out.write(NL2);
-            writeSummary(out, processing);
+            writeSummary(out, summary);
             //out.write(NL2);
             //writeDetails(out, processing);
 
@@ -127,12 +149,197 @@ public class DefaultSaReportFactory implements ISaReportFactory {
         }
     }
 
+    //<editor-fold defaultstate="collapsed" desc="Summary">
+    private static final int CHUNK_SIZE = 64;
+
+    /**
+     * Collects the information of the report in a single pass over the items.
+     * Chunks of items are summarized in parallel and the partial summaries are
+     * merged. The items whose complete results have not been retained are
+     * described by their summary instead of being processed again.
+     */
+    private static Summary summarize(SaProcessing processing, Function<SaItem, SaItemSummary> summaries) throws IOException {
+        SaItem[] items = processing.toArray();
+        List<Callable<Summary>> tasks = new ArrayList<>();
+        for (int i = 0; i < items.length; i += CHUNK_SIZE) {
+            int from = i, to = Math.min(items.length, i + CHUNK_SIZE);
+            tasks.add(() -> {
+                Summary result = new Summary();
+                for (int j = from; j < to; ++j) {
+                    result.add(ItemRecord.of(items[j], summaries.apply(items[j])));
+                }
+                return result;
+            });
+        }
+        Summary result = new Summary();
+        try {
+            for (Future<Summary> o : BatchExecutor.getDefault().invokeAll(tasks)) {
+                result.merge(o.get());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException ex) {
+            throw Throwables.propagate(ex.getCause());
+        }
+        return result;
+    }
+
+    /**
+     * The information of an item that is used in the report.
+     */
+    private static final class ItemRecord {
+
+        private String spec;
+        private EstimationPolicyType policy;
+        private boolean processed, sa, adjust, log, easter, seasonality;
+        private int ntd, nout, nao, nls, ntc, nso;
+        private String arima;
+        private ProcQuality quality;
+        private DecompositionMode mode;
+
+        private static ItemRecord of(SaItem item, @Nullable SaItemSummary summary) {
+            ItemRecord result = new ItemRecord();
+            result.spec = item.getDomainSpecification().toLongString();
+            result.policy = item.getEstimationPolicy();
+            if (!item.isProcessed() && summary != null) {
+                // the complete results have been released
+                if (summary.getStatus() == SaItem.Status.Unprocessed) {
+                    return result;
+                }
+                result.sa = summary.getStatus() == SaItem.Status.Valid;
+                result.quality = summary.getQuality();
+                return fill(result, summary::getData);
+            }
+            CompositeResults rslt = item.process();
+            if (rslt == null) {
+                return result;
+            }
+            result.sa = rslt.getData("sa", TsData.class) != null;
+            //ProcQuality q = rslt.getData("diagnostics.quality", ProcQuality.class);
+            result.quality = item.getQuality();
+            return fill(result, rslt::getData);
+        }
+
+        private static ItemRecord fill(ItemRecord result, Data rslt) {
+            result.processed = true;
+            result.adjust = isTrue(rslt.getData("adjust", Boolean.class));
+            result.log = isTrue(rslt.getData("log", Boolean.class));
+            result.ntd = valueOf(rslt.getData("regression.ntd", Integer.class));
+            result.easter = rslt.getData("regression.easter", RegressionItem.class) != null;
+            result.nout = valueOf(rslt.getData("regression.nout", Integer.class));
+            result.nao = valueOf(rslt.getData("regression.noutao", Integer.class));
+            result.nls = valueOf(rslt.getData("regression.noutls", Integer.class));
+            result.ntc = valueOf(rslt.getData("regression.nouttc", Integer.class));
+            result.nso = valueOf(rslt.getData("regression.noutso", Integer.class));
+            SarimaModel m = rslt.getData("arima", SarimaModel.class);
+            result.arima = m != null ? m.getSpecification().toString() : null;
+            result.seasonality = isTrue(rslt.getData("decomposition.seasonality", Boolean.class));
+            result.mode = rslt.getData("decomposition.mode", DecompositionMode.class);
+            return result;
+        }
+
+        // the results of an item or its summary
+        private interface Data {
+
+            <T> T getData(String id, Class<T> type);
+        }
+
+        private static boolean isTrue(Boolean value) {
+            return value != null && value;
+        }
+
+        private static int valueOf(Integer value) {
+            return value != null ? value : 0;
+        }
+    }
+
+    /**
+     * Mergeable counters of the report.
+     */
+    private static final class Summary {
+
+        private int size, nseries, nadj, nlog, neaster, nseas;
+        private int ntot, nao, nls, ntc, nso;
+        private int nmodels, nqualities;
+        private final HashMap<String, Integer> specs = new HashMap<>();
+        private final EnumMap<EstimationPolicyType, Integer> policies = new EnumMap<>(EstimationPolicyType.class);
+        private final SortedMap<Integer, Integer> ntd = new TreeMap<>();
+        private final SortedMap<String, Integer> models = new TreeMap<>();
+        private final EnumMap<ProcQuality, Integer> qualities = new EnumMap<>(ProcQuality.class);
+        private final EnumMap<DecompositionMode, Integer> modes = new EnumMap<>(DecompositionMode.class);
+
+        private void add(ItemRecord item) {
+            ++size;
+            specs.merge(item.spec, 1, Integer::sum);
+            policies.merge(item.policy, 1, Integer::sum);
+            if (!item.processed) {
+                return;
+            }
+            if (item.sa) {
+                ++nseries;
+            }
+            if (item.adjust) {
+                ++nadj;
+            }
+            if (item.log) {
+                ++nlog;
+            }
+            ntd.merge(item.ntd, 1, Integer::sum);
+            if (item.easter) {
+                ++neaster;
+            }
+            ntot += item.nout;
+            nao += item.nao;
+            nls += item.nls;
+            ntc += item.ntc;
+            nso += item.nso;
+            if (item.arima != null) {
+                ++nmodels;
+                models.merge(item.arima, 1, Integer::sum);
+            }
+            if (item.quality != null) {
+                ++nqualities;
+                qualities.merge(item.quality, 1, Integer::sum);
+            }
+            if (item.seasonality) {
+                ++nseas;
+            }
+            if (item.mode != null) {
+                modes.merge(item.mode, 1, Integer::sum);
+            }
+        }
+
+        private void merge(Summary other) {
+            size += other.size;
+            nseries += other.nseries;
+            nadj += other.nadj;
+            nlog += other.nlog;
+            neaster += other.neaster;
+            nseas += other.nseas;
+            ntot += other.ntot;
+            nao += other.nao;
+            nls += other.nls;
+            ntc += other.ntc;
+            nso += other.nso;
+            nmodels += other.nmodels;
+            nqualities += other.nqualities;
+            other.specs.forEach((k, v) -> specs.merge(k, v, Integer::sum));
+            other.policies.forEach((k, v) -> policies.merge(k, v, Integer::sum));
+            other.ntd.forEach((k, v) -> ntd.merge(k, v, Integer::sum));
+            other.models.forEach((k, v) -> models.merge(k, v, Integer::sum));
+            other.qualities.forEach((k, v) -> qualities.merge(k, v, Integer::sum));
+            other.modes.forEach((k, v) -> modes.merge(k, v, Integer::sum));
+        }
+    }
+    //</editor-fold>
+
     private void writeHeader(Writer out) throws IOException {
         out.write("Software\t");
         out.write("JDemetra+" + NL2);
     }
 
-    private void writeProcessingHeader(Writer out, SaProcessing processing) throws IOException {
+    private void writeProcessingHeader(Writer out, SaProcessing processing, Summary summary) throws IOException {
         out.write("JDemetra+ specific information\t");
         out.write(NL);
 
@@ -158,63 +365,39 @@ public class DefaultSaReportFactory implements ISaReportFactory {
             }
         }
 
-        for (SaItem item : processing) {
-            CompositeResults rslt = item.process();
-            if (rslt == null) {
-                continue;
-            }
-            if (rslt.getData("sa", TsData.class) != null) {
-                ++nseries;
-            }
-        }
-
         out.write(NL);
         out.write("Number of series\t");
-        out.write(Integer.toString(processing.size()) + NL);
+        out.write(Integer.toString(summary.size) + NL);
         out.write("Number of successful estimations\t");
-        out.write(Integer.toString(nseries) + NL2);
-        writeMethods(out, processing);
+        out.write(Integer.toString(summary.nseries) + NL2);
+        writeMethods(out, summary);
     }
 
-    private void writeSummary(Writer out, SaProcessing processing) throws IOException {
+    private void writeSummary(Writer out, Summary summary) throws IOException {
         out.write("Summary");
         out.write(NL2);
-        writeTransformation(out, processing);
-        writeCalendar(out, processing);
-        writeEaster(out, processing);
-        writeOutliers(out, processing);
-        writeArima(out, processing);
-        writeDecomposition(out, processing);
-        writeDiagnostics(out, processing);
+        writeTransformation(out, summary);
+        writeCalendar(out, summary);
+        writeEaster(out, summary);
+        writeOutliers(out, summary);
+        writeArima(out, summary);
+        writeDecomposition(out, summary);
+        writeDiagnostics(out, summary);
     }
 
-    private void writeTransformation(Writer out, SaProcessing processing) throws IOException {
-        int nadj = 0, nlog = 0;
-        for (SaItem item : processing) {
-            CompositeResults rslt = item.process();
-            if (rslt == null) {
-                continue;
-            }
-            Boolean badj = rslt.getData("adjust", Boolean.class);
-            if (badj != null && badj) {
-                ++nadj;
-            }
-            Boolean blog = rslt.getData("log", Boolean.class);
-            if (blog != null && blog) {
-                ++nlog;
-            }
-        }
+    private void writeTransformation(Writer out, Summary summary) throws IOException {
+        int nadj = summary.nadj, nlog = summary.nlog;
         if (nlog == 0 && nadj == 0) {
             return;
         }
         out.write("Transformation" + NL);
 
         if (nlog > 0) {
-            out.write("Log\t" + pc2.format(nlog / ((double) nseries)));
+            out.write("Log\t" + pc2.format(nlog / ((double) summary.nseries)));
             out.write(NL);
         }
         if (nadj > 0) {
-            out.write("Adjust\t" + pc2.format(nadj / ((double) nseries)));
+            out.write("Adjust\t" + pc2.format(nadj / ((double) summary.nseries)));
             out.write(NL);
         }
         out.write(NL);
@@ -225,88 +408,33 @@ public class DefaultSaReportFactory implements ISaReportFactory {
         out.write(NL2);
     }
 
-    private void writeCalendar(Writer out, SaProcessing processing) throws IOException {
-        SortedMap<Integer, Integer> ntd = new TreeMap<>();
-        for (SaItem item : processing) {
-            CompositeResults rslt = item.process();
-            if (rslt == null) {
-                continue;
-            }
-            Integer n = rslt.getData("regression.ntd", Integer.class);
-            if (n == null) {
-                n = 0;
-            }
-            Integer c = ntd.get(n);
-            if (c == null) {
-                ntd.put(n, 1);
-            } else {
-                ntd.put(n, c + 1);
-            }
-        }
+    private void writeCalendar(Writer out, Summary summary) throws IOException {
         out.write("Trading days" + NL);
-        for (Entry<Integer, Integer> entry : ntd.entrySet()) {
+        for (Entry<Integer, Integer> entry : summary.ntd.entrySet()) {
             int n = entry.getKey();
             if (n <= 1) {
                 out.write(n + " var\t");
             } else {
                 out.write(n + " vars\t");
             }
-            out.write(pc2.format(entry.getValue() / ((double) nseries)));
+            out.write(pc2.format(entry.getValue() / ((double) summary.nseries)));
             out.write(NL);
         }
         out.write(NL);
     }
 
-    private void writeEaster(Writer out, SaProcessing processing) throws IOException {
-        int neaster = 0;
-        for (SaItem item : processing) {
-            CompositeResults rslt = item.process();
-            if (rslt == null) {
-                continue;
-            }
-
-            RegressionItem easter = rslt.getData("regression.easter", RegressionItem.class);
-            if (easter != null) {
-                ++neaster;
-            }
-        }
+    private void writeEaster(Writer out, Summary summary) throws IOException {
         out.write("Easter\t");
-        out.write(pc2.format(neaster / ((double) nseries)));
+        out.write(pc2.format(summary.neaster / ((double) summary.nseries)));
         out.write(NL2);
     }
 
-    private void writeOutliers(Writer out, SaProcessing processing) throws IOException {
-        int ntot = 0, nao = 0, nls = 0, ntc = 0, nso = 0;
-        for (SaItem item : processing) {
-            CompositeResults rslt = item.process();
-            if (rslt == null) {
-                continue;
-            }
-            Integer n = rslt.getData("regression.nout", Integer.class);
-            if (n != null) {
-                ntot += n;
-            }
-            n = rslt.getData("regression.noutao", Integer.class);
-            if (n != null) {
-                nao += n;
-            }
-            n = rslt.getData("regression.noutls", Integer.class);
-            if (n != null) {
-                nls += n;
-            }
-            n = rslt.getData("regression.nouttc", Integer.class);
-            if (n != null) {
-                ntc += n;
-            }
-            n = rslt.getData("regression.noutso", Integer.class);
-            if (n != null) {
-                nso += n;
-            }
-        }
+    private void writeOutliers(Writer out, Summary summary) throws IOException {
+        int ntot = summary.ntot, nao = summary.nao, nls = summary.nls, ntc = summary.ntc, nso = summary.nso;
         if (ntot == 0) {
             return;
         }
-        double dsize = nseries;
+        double dsize = summary.nseries;
         double dtot = ntot;
         out.write("Outliers" + NL);
         out.write("Average number by series" + NL);
@@ -359,31 +487,13 @@ public class DefaultSaReportFactory implements ISaReportFactory {
         out.write(NL);
     }
 
-    private void writeArima(Writer out, SaProcessing processing) throws IOException {
-        SortedMap<String, Integer> nmodel = new TreeMap<>();
-        double size = 0;
-        for (SaItem item : processing) {
-            CompositeResults rslt = item.process();
-            if (rslt == null) {
-                continue;
-            }
-            SarimaModel m = rslt.getData("arima", SarimaModel.class);
-            if (m != null) {
-                ++size;
-                String n = m.getSpecification().toString();
-                Integer c = nmodel.get(n);
-                if (c == null) {
-                    nmodel.put(n, 1);
-                } else {
-                    nmodel.put(n, c + 1);
-                }
-            }
-        }
+    private void writeArima(Writer out, Summary summary) throws IOException {
+        double size = summary.nmodels;
         if (size == 0) {
             return;
         }
         out.write("Arima model" + NL);
-        for (Entry<String, Integer> entry : nmodel.entrySet()) {
+        for (Entry<String, Integer> entry : summary.models.entrySet()) {
             out.write(entry.getKey());
             out.write('\t');
             out.write(pc2.format(entry.getValue() / size));
@@ -392,27 +502,8 @@ public class DefaultSaReportFactory implements ISaReportFactory {
         out.write(NL);
     }
 
-    private void writeDiagnostics(Writer out, SaProcessing processing) throws IOException {
-
-        EnumMap<ProcQuality, Integer> qmap = new EnumMap<>(ProcQuality.class);
-        double size = 0;
-        for (SaItem item : processing) {
-            CompositeResults rslt = item.process();
-            if (rslt == null) {
-                continue;
-            }
-            //ProcQuality q = rslt.getData("diagnostics.quality", ProcQuality.class);
-            ProcQuality q = item.getQuality();
-            if (q != null) {
-                ++size;
-                Integer c = qmap.get(q);
-                if (c == null) {
-                    qmap.put(q, 1);
-                } else {
-                    qmap.put(q, c + 1);
-                }
-            }
-        }
+    private void writeDiagnostics(Writer out, Summary summary) throws IOException {
+        double size = summary.nqualities;
         if (size == 0) {
             return;
         }
@@ -421,40 +512,18 @@ public class DefaultSaReportFactory implements ISaReportFactory {
         for (ProcQuality q : ProcQuality.values()) {
             out.write(q.name());
             out.write('\t');
-            Integer n = qmap.get(q);
+            Integer n = summary.qualities.get(q);
             out.write(pc2.format((n != null ? n : 0) / size));
             out.write(NL);
         }
         out.write(NL);
     }
 
-    private void writeDecomposition(Writer out, SaProcessing processing) throws IOException {
-        int nseas = 0;
-        EnumMap<DecompositionMode, Integer> mmap = new EnumMap<>(DecompositionMode.class);
-        for (SaItem item : processing) {
-            CompositeResults rslt = item.process();
-            if (rslt == null) {
-                continue;
-            }
-            Boolean bseas = rslt.getData("decomposition.seasonality", Boolean.class);
-            if (bseas != null && bseas) {
-                ++nseas;
-            }
-
-            DecompositionMode mode = rslt.getData("decomposition.mode", DecompositionMode.class);
-            if (mode != null) {
-                Integer c = mmap.get(mode);
-                if (c == null) {
-                    mmap.put(mode, 1);
-                } else {
-                    mmap.put(mode, c + 1);
-                }
-            }
-        }
-
+    private void writeDecomposition(Writer out, Summary summary) throws IOException {
+        double nseries = summary.nseries;
         out.write("Decomposition" + NL);
 
-        out.write("Seas. present\t" + pc2.format(nseas / ((double) nseries)));
+        out.write("Seas. present\t" + pc2.format(summary.nseas / nseries));
         out.write(NL);
         out.write("Mode");
         out.write(NL);
@@ -462,33 +531,23 @@ public class DefaultSaReportFactory implements ISaReportFactory {
         for (DecompositionMode m : DecompositionMode.values()) {
             out.write(m.name());
             out.write('\t');
-            Integer n = mmap.get(m);
-            out.write(pc2.format((n != null ? n : 0) / ((double) nseries)));
+            Integer n = summary.modes.get(m);
+            out.write(pc2.format((n != null ? n : 0) / nseries));
             out.write(NL);
         }
 
         out.write(NL);
     }
 
-    private void writeMethods(Writer out, SaProcessing processing) throws IOException {
-        writeSpecs(out, processing);
-        writePolicy(out, processing);
+    private void writeMethods(Writer out, Summary summary) throws IOException {
+        writeSpecs(out, summary);
+        writePolicy(out, summary);
     }
 
-    private void writeSpecs(Writer out, SaProcessing processing) throws IOException {
-        HashMap<String, Integer> mmap = new HashMap<>();
-        for (SaItem item : processing) {
-            String m = item.getDomainSpecification().toLongString();
-            Integer c = mmap.get(m);
-            if (c == null) {
-                mmap.put(m, 1);
-            } else {
-                mmap.put(m, c + 1);
-            }
-        }
-        double sz = processing.size();
+    private void writeSpecs(Writer out, Summary summary) throws IOException {
+        double sz = summary.size;
         out.write("Specification" + NL);
-        for (Map.Entry<String, Integer> spec : mmap.entrySet()) {
+        for (Map.Entry<String, Integer> spec : summary.specs.entrySet()) {
             out.write(spec.getKey());
             out.write('\t');
             out.write(pc2.format(spec.getValue() / sz));
@@ -497,21 +556,11 @@ public class DefaultSaReportFactory implements ISaReportFactory {
         out.write(NL);
     }
 
-    private void writePolicy(Writer out, SaProcessing processing) throws IOException {
-        EnumMap<EstimationPolicyType, Integer> mmap = new EnumMap<>(EstimationPolicyType.class);
-        for (SaItem item : processing) {
-            EstimationPolicyType policy = item.getEstimationPolicy();
-            Integer c = mmap.get(policy);
-            if (c == null) {
-                mmap.put(policy, 1);
-            } else {
-                mmap.put(policy, c + 1);
-            }
-        }
-        double sz = processing.size();
+    private void writePolicy(Writer out, Summary summary) throws IOException {
+        double sz = summary.size;
         out.write("Estimation policy" + NL);
         for (EstimationPolicyType m : EstimationPolicyType.values()) {
-            Integer n = mmap.get(m);
+            Integer n = summary.policies.get(m);
             if (n != null) {
                 out.write(m.name());
                 out.write('\t');
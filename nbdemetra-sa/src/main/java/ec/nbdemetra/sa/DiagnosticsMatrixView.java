@@ -16,7 +16,7 @@
  */
 package ec.nbdemetra.sa;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import ec.nbdemetra.core.BatchExecutor;
 import ec.nbdemetra.ui.DemetraUI;
 import ec.satoolkit.algorithm.implementation.X13ProcessingFactory;
 import ec.satoolkit.x11.Mstatistics;
@@ -39,8 +39,6 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import javax.swing.JLabel;
 import javax.swing.JMenu;
 import javax.swing.JPanel;
@@ -91,11 +89,7 @@ public class DiagnosticsMatrixView extends JPanel {
             @Override
             protected Object doInBackground() throws Exception {
                 List<Callable<Void>> tasks = updateMatrix();
-                int nThread = demetraUI.getBatchPoolSize().intValue();
-                int priority = demetraUI.getBatchPriority().intValue();
-
-                ExecutorService executorService = Executors.newFixedThreadPool(nThread, new ThreadFactoryBuilder().setDaemon(true).setPriority(priority).build());
-                return executorService.invokeAll(tasks);
+                return BatchExecutor.getDefault().invokeAll(tasks);
             }
         };
 
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.sa;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+import ec.nbdemetra.core.BatchExecutor;
+import ec.tss.Ts;
+import ec.tss.TsCollection;
+import ec.tss.TsInformationType;
+import ec.tss.TsStatus;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Components of a direct-indirect seasonal adjustment and their total.
+ * <p>
+ * The components are loaded concurrently on the {@link BatchExecutor} and
+ * the total is computed by a tree reduction: the series are summed by groups
+ * in parallel, then the partial sums are summed the same way until a single
+ * one remains.
+ */
+final class DirectIndirectInput {
+
+    // number of series summed by a single task
+    private static final int GROUP_SIZE = 16;
+
+    private final TsCollection components;
+    private final TsData total;
+
+    private DirectIndirectInput(TsCollection components, TsData total) {
+        this.components = components;
+        this.total = total;
+    }
+
+    @Nonnull
+    TsCollection getComponents() {
+        return components;
+    }
+
+    @Nullable
+    TsData getTotal() {
+        return total;
+    }
+
+    /**
+     * Loads the data of the components and computes their total.
+     *
+     * @param components
+     * @param progress called on the current thread with the number of series
+     * loaded so far
+     * @return
+     * @throws InterruptedException if the current thread has been interrupted
+     */
+    @Nonnull
+    static DirectIndirectInput load(@Nonnull TsCollection components, @Nonnull IntConsumer progress) throws InterruptedException {
+        BatchExecutor executor = BatchExecutor.getDefault();
+        CompletionService<TsData> service = new ExecutorCompletionService<>(executor);
+        List<Future<TsData>> futures = new ArrayList<>();
+        try {
+            for (Ts s : components) {
+                futures.add(service.submit(() -> {
+                    if (s.hasData() == TsStatus.Undefined) {
+                        s.load(TsInformationType.Data);
+                    }
+                    return s.getTsData();
+                }));
+            }
+            for (int i = 0; i < futures.size(); ++i) {
+                getAll(Collections.singletonList(service.take()));
+                progress.accept(i + 1);
+            }
+        } finally {
+            futures.forEach(o -> o.cancel(true));
+        }
+        return new DirectIndirectInput(components, sum(executor, getAll(futures)));
+    }
+
+    @Nullable
+    static TsData sum(@Nonnull BatchExecutor executor, @Nonnull List<TsData> data) throws InterruptedException {
+        List<TsData> level = data;
+        while (level.size() > 1) {
+            List<Callable<TsData>> tasks = new ArrayList<>();
+            for (List<TsData> group : Lists.partition(level, GROUP_SIZE)) {
+                tasks.add(() -> {
+                    TsData result = null;
+                    for (TsData o : group) {
+                        result = TsData.add(result, o);
+                    }
+                    return result;
+                });
+            }
+            level = getAll(executor.invokeAll(tasks));
+        }
+        return level.isEmpty() ? null : level.get(0);
+    }
+
+    private static <T> List<T> getAll(List<Future<T>> futures) throws InterruptedException {
+        List<T> result = new ArrayList<>(futures.size());
+        for (Future<T> o : futures) {
+            try {
+                result.add(o.get());
+            } catch (ExecutionException ex) {
+                throw Throwables.propagate(ex.getCause());
+            } catch (CancellationException ex) {
+                throw new InterruptedException();
+            }
+        }
+        return result;
+    }
+}
@@ -15,12 +15,10 @@ import ec.satoolkit.ISaSpecification;
 import ec.satoolkit.benchmarking.MultiSaBenchmarkingSpec;
 import ec.satoolkit.tramoseats.TramoSeatsSpecification;
 import ec.tss.Ts;
+import ec.tss.TsCollection;
 import ec.tss.TsFactory;
-import ec.tss.TsInformationType;
-import ec.tss.TsStatus;
 import ec.tss.sa.composite.MultiSaDocument;
 import ec.tss.sa.composite.MultiSaSpecification;
-import ec.tstoolkit.timeseries.simplets.TsData;
 import ec.ui.chart.JTsChart;
 import ec.ui.list.JTsList;
 import ec.ui.view.AbstractDocumentViewer;
@@ -31,6 +29,11 @@ import java.awt.event.ActionEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.ThreadFactory;
 import javax.swing.AbstractAction;
 import javax.swing.Box;
@@ -40,7 +43,7 @@ import javax.swing.JMenu;
 import javax.swing.JSplitPane;
 import javax.swing.JToolBar;
 import javax.swing.SwingUtilities;
-import javax.swing.SwingWorker;
+import org.netbeans.api.progress.ProgressHandle;
 import org.netbeans.api.settings.ConvertAsProperties;
 import org.openide.DialogDescriptor;
 import org.openide.DialogDisplayer;
@@ -56,6 +59,7 @@ import org.openide.nodes.Sheet;
 import org.openide.nodes.Sheet.Set;
 import org.openide.util.ImageUtilities;
 import org.openide.util.NbBundle.Messages;
+import org.openide.util.RequestProcessor;
 import org.openide.windows.TopComponent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -74,14 +78,18 @@ persistenceType = TopComponent.PERSISTENCE_NEVER)
 @TopComponent.OpenActionRegistration(displayName = "#CTL_DirectIndirectSaAction",
 preferredID = "DirectIndirectSaTopComponent")
 @Messages({
-    "CTL_DirectIndirectSaAction=Direct-Indirect Seasonal Adjustment"
+    "CTL_DirectIndirectSaAction=Direct-Indirect Seasonal Adjustment",
+    "directIndirectSaTopComponent.loading=Loading the components",
+    "directIndirectSaTopComponent.processing=Direct-indirect seasonal adjustment"
 })
 public final class DirectIndirectSaTopComponent extends TopComponent implements IActiveView, ExplorerManager.Provider {
 
     // CONSTANTS
-    private static final Logger LOGGER = LoggerFactory.getLogger(SaBatchUI.class);
+    private static final Logger LOGGER = LoggerFactory.getLogger(DirectIndirectSaTopComponent.class);
     private static final int NBR_EXECUTORS = Runtime.getRuntime().availableProcessors();
     private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder().setDaemon(true).setPriority(Thread.MIN_PRIORITY).build();
+    // interruptible, so that the loading and the processing can be cancelled
+    private static final RequestProcessor RP = new RequestProcessor(DirectIndirectSaTopComponent.class.getName(), 2, true);
     // PROPERTIES DEFINITIONS
     public static final String DEFAULT_SPECIFICATION_PROPERTY = "specificationProperty";
     public static final String PROCESSING_PROPERTY = "processing";
@@ -99,7 +107,12 @@ public final class DirectIndirectSaTopComponent extends TopComponent implements
     private Node node;
     private MultiSaDocumentView diView;
     private MultiSaSpecification curSpec;
-    private SwingWorker worker;
+    private RequestProcessor.Task worker;
+    // loading of the components of the input list (EDT)
+    private Future<DirectIndirectInput> loading;
+    // components of the input list, once loaded (EDT)
+    private DirectIndirectInput input;
+    private int inputVersion;
     @Messages({
         "directIndirectSaTopComponent.setName=Direct-Indirect Seasonal Adjustment Window",
         "directIndirectSaTopComponent.setToolTipText=This is a Direct-Indirect Seasonal Adjustment window"
@@ -177,17 +190,46 @@ public final class DirectIndirectSaTopComponent extends TopComponent implements
 
     private void initList() {
         inputList.addPropertyChangeListener(JTsList.TS_COLLECTION_PROPERTY, evt -> {
-            TsData sum = null;
-            for (Ts s : inputList.getTsCollection()) {
-                if (s.hasData() == TsStatus.Undefined) {
-                    s.load(TsInformationType.Data);
-                }
-                sum = TsData.add(sum, s.getTsData());
-            }
-            Ts t = TsFactory.instance.createTs("Total", null, sum);
-            saChart.getTsCollection().replace(t);
             clear();
+            loadInput();
+        });
+    }
+
+    /**
+     * Loads the components of the input list in the background, replacing
+     * the previous loading if any.
+     *
+     * @return
+     */
+    private Future<DirectIndirectInput> loadInput() {
+        if (loading != null) {
+            loading.cancel(true);
+        }
+        int version = ++inputVersion;
+        input = null;
+        TsCollection components = inputList.getTsCollection();
+        ProgressHandle progressHandle = ProgressHandle.createHandle(Bundle.directIndirectSaTopComponent_loading(), () -> version == inputVersion && loading.cancel(true));
+        FutureTask<DirectIndirectInput> result = new FutureTask<>(() -> {
+            progressHandle.start(components.getCount());
+            try {
+                DirectIndirectInput o = DirectIndirectInput.load(components, progressHandle::progress);
+                SwingUtilities.invokeLater(() -> onInputLoaded(version, o));
+                return o;
+            } finally {
+                progressHandle.finish();
+            }
         });
+        loading = result;
+        RP.execute(result);
+        return result;
+    }
+
+    private void onInputLoaded(int version, DirectIndirectInput result) {
+        if (version == inputVersion && input == null) {
+            input = result;
+            Ts t = TsFactory.instance.createTs("Total", null, result.getTotal());
+            saChart.getTsCollection().replace(t);
+        }
     }
 
     /**
@@ -266,7 +308,7 @@ public final class DirectIndirectSaTopComponent extends TopComponent implements
     }
 
     private void start() {
-        if (worker != null && !worker.isDone()) {
+        if (worker != null && !worker.isFinished()) {
             NotifyDescriptor nd = new NotifyDescriptor.Message("Please, wait for the end of the processing.");
             DialogDisplayer.getDefault().notify(nd);
             return;
@@ -275,25 +317,41 @@ public final class DirectIndirectSaTopComponent extends TopComponent implements
         MultiSaDocument doc = diView.getDocument();
         doc.setSpecification(curSpec.clone());
         doc.setTsCollection(inputList.getTsCollection());
-        worker = new SwingWorker<Void, Void>() {
-            @Override
-            protected Void doInBackground() throws Exception {
-                diView.getDocument().getResults();
-                return null;
+        // the components are loaded once by the list listener, so they are not
+        // loaded again if only the specification has changed
+        Future<DirectIndirectInput> pending = input != null
+                ? CompletableFuture.completedFuture(input)
+                : loading != null && !loading.isCancelled() ? loading : loadInput();
+        ProgressHandle progressHandle = ProgressHandle.createHandle(Bundle.directIndirectSaTopComponent_processing(), () -> worker.cancel());
+        worker = RP.create(() -> {
+            progressHandle.start();
+            try {
+                pending.get();
+                // the components are adjusted by the toolkit in a single call
+                // that doesn't expose them; only their loading and their total
+                // are computed on the batch executor
+                doc.getResults();
+            } catch (InterruptedException | CancellationException ex) {
+                // cancelled
+            } catch (ExecutionException ex) {
+                LOGGER.warn("While loading the components", ex.getCause());
+            } finally {
+                progressHandle.finish();
+                SwingUtilities.invokeLater(() -> {
+                    DirectIndirectSaTopComponent.this.makeBusy(false);
+                    diView.refresh();
+                });
             }
-
-            @Override
-            public void done() {
-                DirectIndirectSaTopComponent.this.makeBusy(false);
-                diView.refresh();
-            }
-        };
-        worker.execute();
+        });
+        worker.schedule(0);
     }
 
     private void stop() {
+        if (loading != null) {
+            loading.cancel(true);
+        }
         if (worker != null) {
-            worker.cancel(true);
+            worker.cancel();
         }
     }
 
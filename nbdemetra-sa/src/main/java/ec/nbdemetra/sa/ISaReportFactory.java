@@ -19,4 +19,17 @@ public interface ISaReportFactory {
     String getReportDescription();
 
     boolean createReport(SaProcessing processing);
+
+    /**
+     * Creates a report on a processing whose items may only have a summary of
+     * their results.
+     *
+     * @param processing
+     * @param retention the retention of the results of the processing
+     * @return
+     * @since 2.2.0
+     */
+    default boolean createReport(SaProcessing processing, SaResultsRetention retention) {
+        return createReport(processing);
+    }
 }
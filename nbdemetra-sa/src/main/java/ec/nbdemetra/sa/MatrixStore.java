@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.sa;
+
+import ec.util.grid.swing.AbstractGridModel;
+import ec.util.grid.swing.GridModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Immutable column-oriented storage of a matrix of diagnostics. The values of
+ * a column are shared when they are equal, which keeps large matrices compact
+ * since most diagnostics take a few distinct values.
+ */
+final class MatrixStore {
+
+    static final MatrixStore EMPTY = new MatrixStore(new String[0], new String[0], new String[0][]);
+
+    private final String[] rowNames;
+    private final String[] columnNames;
+    private final String[][] columns;
+
+    private MatrixStore(String[] rowNames, String[] columnNames, String[][] columns) {
+        this.rowNames = rowNames;
+        this.columnNames = columnNames;
+        this.columns = columns;
+    }
+
+    int getRowCount() {
+        return rowNames.length;
+    }
+
+    int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Nonnull
+    GridModel toGridModel() {
+        return new AbstractGridModel() {
+            @Override
+            public int getRowCount() {
+                return rowNames.length;
+            }
+
+            @Override
+            public int getColumnCount() {
+                return columnNames.length;
+            }
+
+            @Override
+            public Object getValueAt(int rowIndex, int columnIndex) {
+                return columns[columnIndex][rowIndex];
+            }
+
+            @Override
+            public String getRowName(int rowIndex) {
+                return rowNames[rowIndex];
+            }
+
+            @Override
+            public String getColumnName(int column) {
+                return columnNames[column];
+            }
+        };
+    }
+
+    static final class Builder {
+
+        private final String[] rowNames;
+        private final List<String> columnNames = new ArrayList<>();
+        private final List<String[]> columns = new ArrayList<>();
+
+        Builder(@Nonnull String[] rowNames) {
+            this.rowNames = rowNames;
+        }
+
+        /**
+         * Adds a column.
+         *
+         * @param name
+         * @param values the values, by row
+         * @return
+         */
+        Builder column(@Nonnull String name, @Nonnull String[] values) {
+            Map<String, String> pool = new HashMap<>();
+            String[] column = new String[rowNames.length];
+            for (int i = 0; i < column.length; ++i) {
+                column[i] = share(pool, values[i]);
+            }
+            columnNames.add(name);
+            columns.add(column);
+            return this;
+        }
+
+        private static String share(Map<String, String> pool, @Nullable String value) {
+            if (value == null) {
+                return null;
+            }
+            String result = pool.putIfAbsent(value, value);
+            return result != null ? result : value;
+        }
+
+        MatrixStore build() {
+            return columns.isEmpty()
+                    ? EMPTY
+                    : new MatrixStore(rowNames, columnNames.toArray(new String[columnNames.size()]), columns.toArray(new String[columns.size()][]));
+        }
+    }
+}
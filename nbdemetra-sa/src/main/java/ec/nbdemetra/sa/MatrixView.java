@@ -5,6 +5,7 @@
 package ec.nbdemetra.sa;
 
 import com.google.common.collect.Maps;
+import ec.nbdemetra.core.BatchExecutor;
 import ec.nbdemetra.ui.DemetraUI;
 import ec.nbdemetra.ui.NbComponents;
 import ec.nbdemetra.ws.WorkspaceItem;
@@ -19,7 +20,6 @@ import ec.tstoolkit.algorithm.AlgorithmDescriptor;
 import ec.tstoolkit.algorithm.IProcResults;
 import ec.tstoolkit.data.Table;
 import ec.tstoolkit.information.InformationSet;
-import ec.util.grid.swing.AbstractGridModel;
 import ec.util.grid.swing.JGrid;
 import ec.util.grid.swing.ext.TableGridCommand;
 import ec.util.list.swing.JLists;
@@ -32,16 +32,18 @@ import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableCellRenderer;
-import javax.swing.table.TableModel;
 import org.netbeans.core.spi.multiview.CloseOperationState;
 import org.netbeans.core.spi.multiview.MultiViewElement;
 import org.netbeans.core.spi.multiview.MultiViewElementCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  *
@@ -49,6 +51,7 @@ import org.netbeans.core.spi.multiview.MultiViewElementCallback;
  */
 public class MatrixView extends AbstractSaProcessingTopComponent implements MultiViewElement {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(MatrixView.class);
     private static DecimalFormat df3 = new DecimalFormat("0.000");
     private final static int MAXBIAS = 1, SKEWNESS = 2, KURTOSIS = 3, LB = 4, LBS = 5, LB2 = 6, TD_PEAK = 7, S_PEAK = 8, TD_VPEAK = 9, S_VPEAK = 10, S_VAR = 11, I_VAR = 12, SI_CORR = 13, M_START = 11;
 //    private final static String[] TESTS_TS = new String[]{"max bias", "skewness", "kurtosis", "ljung-box", "lb on seas.", "lb on sq.", "td peak", "seas peak", "visual td peak", "visual s. peak", "s_var", "i var", "s-i corr"};
@@ -64,12 +67,15 @@ public class MatrixView extends AbstractSaProcessingTopComponent implements Mult
     private List<SaItem> saItems;
     private List<String> selectedComponents;
     private PropertyChangeListener listener;
+    // matrices by method, frequency and fields; reset when the processing changes
+    private final Map<List<Object>, CompletableFuture<MatrixStore>> matrices;
 
     public MatrixView(WorkspaceItem<MultiProcessingDocument> doc, MultiProcessingController controller) {
         super(doc, controller);
         this.saItems = new ArrayList<>();
         this.comboBox = new JComboBox<>();
         this.selectedComponents = DemetraUI.getDefault().getSelectedDiagFields();
+        this.matrices = new HashMap<>();
 
         comboBox.setRenderer(JLists.cellRendererOf((label, value) -> {
             if (value != null) {
@@ -102,7 +108,9 @@ public class MatrixView extends AbstractSaProcessingTopComponent implements Mult
         listener = (PropertyChangeEvent evt) -> {
             selectedComponents = DemetraUI.getDefault().getSelectedDiagFields();
             Entry<Integer, AlgorithmDescriptor> item = (Entry<Integer, AlgorithmDescriptor>) comboBox.getSelectedItem();
-            customMatrix_.setModel(new TableModelAdapter(createTableModel(item.getValue(), item.getKey(), selectedComponents, selectedComponents)));
+            if (item != null) {
+                showMatrix(customMatrix_, item.getValue(), item.getKey(), selectedComponents, selectedComponents);
+            }
         };
 
         updateData(Collections.<SaItem>emptyList());
@@ -168,6 +176,7 @@ public class MatrixView extends AbstractSaProcessingTopComponent implements Mult
     public void componentClosed() {
         DemetraUI.getDefault().removePropertyChangeListener(DemetraUI.SELECTED_DIAG_FIELDS_PROPERTY, listener);
         clearMatrices();
+        resetMatrices();
         super.componentClosed();
     }
 
@@ -189,6 +198,7 @@ public class MatrixView extends AbstractSaProcessingTopComponent implements Mult
 
     private void updateData(List<SaItem> saItems) {
         this.saItems = saItems;
+        resetMatrices();
         Map<Integer, List<AlgorithmDescriptor>> methods = getCurrentProcessing().methods();
         long count = methods.values().stream().flatMap(m -> m.stream()).count();
         comboBox.setVisible(count > 1);
@@ -208,25 +218,83 @@ public class MatrixView extends AbstractSaProcessingTopComponent implements Mult
         customMatrix_.setModel(null);
     }
 
+    private void resetMatrices() {
+        matrices.values().forEach(o -> o.cancel(false));
+        matrices.clear();
+    }
+
     private void updateMatrix(AlgorithmDescriptor desc, int freq) {
-        resMatrix_.setModel(new TableModelAdapter(createTableModel(desc, freq, Arrays.asList(MAIN_TITLE), Arrays.asList(MAIN))));
-        calMatrix_.setModel(new TableModelAdapter(createTableModel(desc, freq, Arrays.asList(CALENDAR_TITLE), Arrays.asList(CALENDAR))));
-        armaMatrix_.setModel(new TableModelAdapter(createTableModel(desc, freq, Arrays.asList(ARMA_TITLE), Arrays.asList(ARMA))));
-        outMatrix_.setModel(new TableModelAdapter(createTableModel(desc, freq, Arrays.asList(OUTLIERS_TITLE), Arrays.asList(OUTLIERS))));
-        testMatrix_.setModel(new TableModelAdapter(createTableModel(desc, freq, Arrays.asList(TESTS_TITLE), Arrays.asList(TESTS))));
-        customMatrix_.setModel(new TableModelAdapter(createTableModel(desc, freq, selectedComponents, selectedComponents)));
+        showMatrix(resMatrix_, desc, freq, Arrays.asList(MAIN_TITLE), Arrays.asList(MAIN));
+        showMatrix(calMatrix_, desc, freq, Arrays.asList(CALENDAR_TITLE), Arrays.asList(CALENDAR));
+        showMatrix(armaMatrix_, desc, freq, Arrays.asList(ARMA_TITLE), Arrays.asList(ARMA));
+        showMatrix(outMatrix_, desc, freq, Arrays.asList(OUTLIERS_TITLE), Arrays.asList(OUTLIERS));
+        showMatrix(testMatrix_, desc, freq, Arrays.asList(TESTS_TITLE), Arrays.asList(TESTS));
+        showMatrix(customMatrix_, desc, freq, selectedComponents, selectedComponents);
+    }
+
+    /**
+     * Shows a matrix that is computed in the background, or taken from the
+     * cache.
+     */
+    private void showMatrix(JGrid grid, AlgorithmDescriptor desc, int freq, List<String> titles, List<String> items) {
+        List<Object> key = Arrays.asList(desc, freq, items);
+        CompletableFuture<MatrixStore> matrix = matrices.get(key);
+        if (matrix == null) {
+            List<SaItem> snapshot = saItems;
+            SaResultsRetention retention = getDocument().getElement().getRetention();
+            CompletableFuture<MatrixStore> created = CompletableFuture.supplyAsync(() -> createMatrix(snapshot, retention, desc, freq, titles, items), BatchExecutor.getDefault());
+            matrices.put(key, created);
+            // a failure is not cached so that the matrix is computed again on the next request
+            created.whenCompleteAsync((o, ex) -> {
+                if (ex != null) {
+                    LOGGER.warn("Cannot compute matrix {}", items, ex);
+                    matrices.remove(key, created);
+                }
+            }, SwingUtilities::invokeLater);
+            matrix = created;
+        }
+        if (matrix.isDone() && !matrix.isCompletedExceptionally()) {
+            grid.setModel(matrix.join().toGridModel());
+            return;
+        }
+        grid.setModel(null);
+        CompletableFuture<MatrixStore> pending = matrix;
+        pending.thenAcceptAsync(o -> {
+            // the selection may have changed in the meantime
+            if (matrices.get(key) == pending && isSelected(desc, freq)
+                    && (grid != customMatrix_ || items.equals(selectedComponents))) {
+                grid.setModel(o.toGridModel());
+            }
+        }, SwingUtilities::invokeLater);
     }
 
-    private static final String[] MAIN = {"espan.n", "decomposition.seasonality", "adjust", "log", "arima.mean", "arima.p", "arima.d", "arima.q", "arima.bp", "arima.bd", "arima.bq", "likelihood.bicc", "residuals.ser", "residuals.lb", "decomposition.seasfilter", "decomposition.trendfilter"};
+    private boolean isSelected(AlgorithmDescriptor desc, int freq) {
+        Entry<Integer, AlgorithmDescriptor> item = (Entry<Integer, AlgorithmDescriptor>) comboBox.getSelectedItem();
+        return item != null && item.getKey() == freq && item.getValue().equals(desc);
+    }
+
+    static final String[] MAIN = {"espan.n", "decomposition.seasonality", "adjust", "log", "arima.mean", "arima.p", "arima.d", "arima.q", "arima.bp", "arima.bd", "arima.bq", "likelihood.bicc", "residuals.ser", "residuals.lb", "decomposition.seasfilter", "decomposition.trendfilter"};
     private static final String[] MAIN_TITLE = {"N", "Seasonal", "Adjust", "Log", "Mean", "P", "D", "Q", "BP", "BD", "BQ", "BIC", "SE(res)", "Q-val", "Seas filter", "Trend filter"};
 
-    private TableModel createTableModel(AlgorithmDescriptor method, int freq, List<String> titles, List<String> items) {
-        DefaultTableModel rslt = new DefaultTableModel();
+    // can be called from any thread
+    private static MatrixStore createMatrix(List<SaItem> saItems, SaResultsRetention retention, AlgorithmDescriptor method, int freq, List<String> titles, List<String> items) {
         List<ITsIdentified> names = new ArrayList<>();
         List<IProcResults> rslts = new ArrayList<>();
-        for (SaItem sa : this.saItems) {
+        // rows of the unprocessed items that are available in their summary
+        List<String[]> summaryRows = new ArrayList<>();
+        for (SaItem sa : saItems) {
             if (sa.getEstimationMethod().equals(method) && sa.getTsData() != null && sa.getTsData().getFrequency().intValue() == freq) {
-                rslts.add(sa.process());
+                String[] summaryRow = null;
+                if (!sa.isProcessed() && retention.getSummary(sa) != null) {
+                    // the complete results have been released; they are not kept again
+                    summaryRow = retention.getRow(sa, items);
+                } else {
+                    if (!sa.isProcessed()) {
+                        retention.process(sa);
+                    }
+                    rslts.add(sa.process());
+                }
+                summaryRows.add(summaryRow);
                 names.add(sa.getTs());
             }
         }
@@ -234,36 +302,44 @@ public class MatrixView extends AbstractSaProcessingTopComponent implements Mult
         TableFormatter formatter = new TableFormatter();
         Table<String> srslts = formatter.formatProcResults(rslts, items, true);
         int ncols = srslts.getColumnsCount();
-        boolean[] ok = new boolean[ncols];
-        int nused = 0;
-
-        rslt.addColumn("Series");
-
-        for (int idx = 0; idx < titles.size(); ++idx) {
-            if (srslts.column(idx).isEmpty()) {
-                ok[idx] = false;
+        String[][] cells = new String[names.size()][];
+        for (int i = 0, k = 0; i < cells.length; ++i) {
+            String[] summaryRow = summaryRows.get(i);
+            if (summaryRow != null) {
+                cells[i] = summaryRow;
+                ncols = Math.max(ncols, summaryRow.length);
             } else {
-                ++nused;
-                ok[idx] = true;
-                rslt.addColumn(titles.get(idx));
+                cells[i] = new String[srslts.getColumnsCount()];
+                for (int j = 0; j < cells[i].length; ++j) {
+                    cells[i][j] = srslts.get(k, j);
+                }
+                ++k;
             }
         }
-        if (nused == 0) {
-            return new DefaultTableModel();
+        String[] rowNames = new String[names.size()];
+        for (int i = 0; i < rowNames.length; ++i) {
+            rowNames[i] = names.get(i).getName();
         }
-
-        for (int i = 0; i < names.size(); ++i) {
-            String[] row = new String[nused + 1];
-            row[0] = names.get(i).getName();
-            for (int j = 0, k = 0; j < ncols; ++j) {
-                if (ok[j]) {
-                    row[++k] = srslts.get(i, j);
+        MatrixStore.Builder result = new MatrixStore.Builder(rowNames);
+        String[] column = new String[rowNames.length];
+        for (int idx = 0; idx < titles.size() && idx < ncols; ++idx) {
+            if (!isEmptyColumn(cells, idx)) {
+                for (int i = 0; i < column.length; ++i) {
+                    column[i] = idx < cells[i].length ? cells[i][idx] : null;
                 }
+                result.column(titles.get(idx), column);
             }
-            rslt.addRow(row);
         }
+        return result.build();
+    }
 
-        return rslt;
+    private static boolean isEmptyColumn(String[][] cells, int column) {
+        for (String[] row : cells) {
+            if (column < row.length && row[column] != null) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private static final String[] CALENDAR = {"adjust", "regression.lp:2", "regression.td(1):2", "regression.td(2):2",
@@ -290,7 +366,7 @@ public class MatrixView extends AbstractSaProcessingTopComponent implements Mult
         "Q", "Q-M2"
     };
 
-    private static final String[] TESTS = new String[]{
+    static final String[] TESTS = new String[]{
         "residuals.skewness:-3", "residuals.kurtosis:-3", "residuals.lb:-3", "residuals.seaslb:-3", "residuals.lb2:-3",
         InformationSet.item(CoherenceDiagnostics.NAME, CoherenceDiagnostics.BIAS) + ":-2",
         InformationSet.item(ResidualsDiagnostics.NAME, ResidualsDiagnostics.TD_PEAK) + ":-2",
@@ -310,39 +386,4 @@ public class MatrixView extends AbstractSaProcessingTopComponent implements Mult
         InformationSet.item(X13ProcessingFactory.MSTATISTICS, Mstatistics.M11),
         InformationSet.item(X13ProcessingFactory.MSTATISTICS, Mstatistics.Q),
         InformationSet.item(X13ProcessingFactory.MSTATISTICS, Mstatistics.Q2)};
-
-    private static final class TableModelAdapter extends AbstractGridModel {
-
-        private final TableModel source;
-
-        public TableModelAdapter(TableModel source) {
-            this.source = source;
-        }
-
-        @Override
-        public int getRowCount() {
-            return source.getRowCount();
-        }
-
-        @Override
-        public int getColumnCount() {
-            return source.getColumnCount() - 1;
-        }
-
-        @Override
-        public Object getValueAt(int rowIndex, int columnIndex) {
-            return source.getValueAt(rowIndex, columnIndex + 1);
-        }
-
-        @Override
-        public String getRowName(int rowIndex) {
-            return (String) source.getValueAt(rowIndex, 0);
-        }
-
-        @Override
-        public String getColumnName(int column) {
-            return source.getColumnName(column + 1);
-        }
-
-    }
 }
@@ -6,9 +6,11 @@ package ec.nbdemetra.sa;
 
 import ec.nbdemetra.ws.AbstractFileItemRepository;
 import ec.nbdemetra.ws.IWorkspaceItemRepository;
+import ec.nbdemetra.ws.WorkspaceFormat;
 import ec.nbdemetra.ws.WorkspaceItem;
 import ec.tss.sa.SaProcessing;
 import ec.tss.xml.sa.XmlSaProcessing;
+import java.io.File;
 import java.text.DateFormat;
 import java.util.Date;
 import org.openide.util.lookup.ServiceProvider;
@@ -28,7 +30,13 @@ public class MultiProcessingDocFileRepository extends AbstractFileItemRepository
         if (sfile == null) {
             return false;
         }
-        SaProcessing doc = loadInfo(sfile, SaProcessing.class);
+        File file = getMostRecentFile(sfile);
+        if (file == null) {
+            return false;
+        }
+        SaProcessing doc = file.getName().endsWith("." + WorkspaceFormat.XML.getExtension())
+                ? SaProcessingXmlStream.read(file)
+                : loadInfo(sfile, SaProcessing.class);
         if (doc == null) {
             doc = loadLegacy(sfile, XmlSaProcessing.class);
         }
@@ -48,10 +56,21 @@ public class MultiProcessingDocFileRepository extends AbstractFileItemRepository
         if (sfile == null) {
             return false;
         }
-        if ( saveInfo(sfile, item.getElement().getCurrent())){
+        WorkspaceFormat format = getFormat(item);
+        boolean saved;
+        if (format == WorkspaceFormat.XML) {
+            // streamed to keep large processings out of a complete XML tree
+            saved = SaProcessingXmlStream.write(new File(sfile), current);
+            if (saved) {
+                deleteOtherFormats(sfile, format);
+            }
+        } else {
+            saved = saveInfo(sfile, current, format);
+        }
+        if (saved) {
             item.resetDirty();
             return true;
-        }else {
+        } else {
             return false;
         }
     }
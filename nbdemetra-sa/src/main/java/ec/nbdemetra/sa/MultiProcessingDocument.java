@@ -5,11 +5,20 @@
 package ec.nbdemetra.sa;
 
 import ec.satoolkit.ISaSpecification;
+import ec.tss.TsMoniker;
 import ec.tss.sa.EstimationPolicyType;
+import ec.tss.sa.SaItem;
 import ec.tss.sa.SaProcessing;
 import ec.tstoolkit.IDocumented;
 import ec.tstoolkit.MetaData;
 import ec.tstoolkit.utilities.IModifiable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  *
@@ -20,9 +29,11 @@ public class MultiProcessingDocument implements IModifiable, IDocumented {
     private SaProcessing current_;
     private SaProcessing initial_;
     private ISaSpecification defSpec_;
+    private final SaResultsRetention retention_;
 
     private MultiProcessingDocument() {
         defSpec_ = MultiProcessingManager.getDefaultSpecification();
+        retention_ = new SaResultsRetention(this);
     }
 
     public SaProcessing getCurrent() {
@@ -41,6 +52,10 @@ public class MultiProcessingDocument implements IModifiable, IDocumented {
         defSpec_ = spec;
     }
 
+    public SaResultsRetention getRetention() {
+        return retention_;
+    }
+
     public static MultiProcessingDocument createNew() {
         MultiProcessingDocument doc = new MultiProcessingDocument();
         doc.current_ = new SaProcessing();
@@ -71,6 +86,111 @@ public class MultiProcessingDocument implements IModifiable, IDocumented {
         current_ = nprocessing;
     }
 
+    /**
+     * Refreshes the processing, except the items whose data didn't change: the
+     * current version of these items (and its results) is kept.
+     *
+     * @param policy
+     * @param nospan
+     * @return null if the document has never been saved
+     */
+    public SaRefreshReport refreshIncremental(EstimationPolicyType policy, boolean nospan) {
+        if (initial_ == null) {
+            return null;
+        }
+        SaProcessing current = getCurrent();
+        SaProcessing nprocessing = initial_.makeCopy();
+        nprocessing.refresh(policy, nospan);
+        // the refreshed processing is a copy of the saved one, in the same order
+        Map<SaItem, SaItem> pairs = pair(initial_, current);
+        List<SaItem> refreshed = new ArrayList<>();
+        int skipped = 0;
+        for (int i = 0; i < nprocessing.size(); ++i) {
+            SaItem item = nprocessing.get(i);
+            SaItem saved = i < initial_.size() ? initial_.get(i) : null;
+            SaItem old = saved != null ? pairs.get(saved) : null;
+            if (old != null && isReusable(old, saved, item)) {
+                nprocessing.replace(item, old);
+                skipped++;
+            } else {
+                refreshed.add(item);
+            }
+        }
+        current_ = nprocessing;
+        return new SaRefreshReport(skipped, refreshed);
+    }
+
+    /**
+     * Refreshes some items of the current processing, except the ones whose
+     * data didn't change.
+     *
+     * @param items
+     * @param policy
+     * @param nospan
+     * @return
+     */
+    public SaRefreshReport refreshIncremental(List<SaItem> items, EstimationPolicyType policy, boolean nospan) {
+        SaProcessing current = getCurrent();
+        int[] indexes = items.stream().mapToInt(current::indexOf).filter(i -> i >= 0).toArray();
+        SaItem[] olds = Arrays.stream(indexes).mapToObj(current::get).toArray(SaItem[]::new);
+        current.refresh(items, policy, nospan);
+        List<SaItem> refreshed = new ArrayList<>();
+        int skipped = 0;
+        for (int k = 0; k < indexes.length; ++k) {
+            SaItem item = current.get(indexes[k]);
+            if (item != olds[k] && isEstimated(olds[k]) && SaRefreshReport.isUnchanged(item, olds[k])) {
+                current.replace(item, olds[k]);
+                skipped++;
+            } else {
+                refreshed.add(item);
+            }
+        }
+        return new SaRefreshReport(skipped, refreshed);
+    }
+
+    // pairs each saved item with its current version, found by identity or else by moniker
+    private static Map<SaItem, SaItem> pair(SaProcessing saved, SaProcessing current) {
+        Map<SaItem, SaItem> identities = new IdentityHashMap<>();
+        Map<TsMoniker, SaItem> monikers = new HashMap<>();
+        for (int i = 0; i < current.size(); ++i) {
+            SaItem o = current.get(i);
+            identities.put(o, o);
+            TsMoniker moniker = SaRefreshReport.getMoniker(o);
+            if (moniker != null && monikers.containsKey(moniker)) {
+                // an ambiguous moniker doesn't identify an item
+                monikers.put(moniker, null);
+            } else if (moniker != null) {
+                monikers.put(moniker, o);
+            }
+        }
+        Map<SaItem, SaItem> result = new IdentityHashMap<>();
+        for (int i = 0; i < saved.size(); ++i) {
+            SaItem o = saved.get(i);
+            SaItem item = identities.get(o);
+            if (item == null) {
+                TsMoniker moniker = SaRefreshReport.getMoniker(o);
+                item = moniker != null ? monikers.get(moniker) : null;
+            }
+            if (item != null) {
+                result.put(o, item);
+            }
+        }
+        return result;
+    }
+
+    // the complete results of an item may have been replaced by a summary
+    private boolean isEstimated(SaItem item) {
+        return item.isProcessed() || retention_.getSummary(item) != null;
+    }
+
+    // the current item is kept if it has been processed with the saved specification and on the same data
+    private boolean isReusable(SaItem current, SaItem saved, SaItem refreshed) {
+        return isEstimated(current)
+                && Objects.equals(current.getDomainSpecification(), saved.getDomainSpecification())
+                && Objects.equals(current.getEstimationSpecification(), saved.getEstimationSpecification())
+                && SaRefreshReport.isUnchanged(refreshed, current);
+    }
+
     @Override
     public boolean isDirty() {
         return getCurrent().isDirty();
@@ -7,7 +7,7 @@ package ec.nbdemetra.sa;
 import com.google.common.base.Joiner;
 import com.google.common.base.Stopwatch;
 import com.google.common.base.Strings;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import ec.nbdemetra.core.BatchExecutor;
 import ec.nbdemetra.sa.MultiProcessingController.SaProcessingState;
 import ec.nbdemetra.ui.ActiveViewManager;
 import ec.nbdemetra.ui.DemetraUI;
@@ -39,10 +39,10 @@ import ec.tss.sa.SaProcessing;
 import ec.tss.sa.documents.SaDocument;
 import ec.tss.tsproviders.utils.MultiLineNameUtil;
 import ec.tss.xml.sa.XmlSaProcessing;
-import ec.tstoolkit.algorithm.CompositeResults;
 import ec.tstoolkit.algorithm.ProcQuality;
 import ec.tstoolkit.data.DescriptiveStatistics;
 import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.ui.utils.LoadingPanel;
 import ec.ui.view.tsprocessing.DefaultProcessingViewer;
 import ec.ui.view.tsprocessing.TsProcessingViewer;
 import ec.util.grid.swing.XTable;
@@ -60,10 +60,16 @@ import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 import javax.swing.AbstractAction;
 import javax.swing.Action;
 import javax.swing.Box;
@@ -78,6 +84,7 @@ import javax.swing.JTable;
 import javax.swing.JToggleButton;
 import javax.swing.JToolBar;
 import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
 import javax.swing.SwingWorker;
 import javax.swing.TransferHandler;
 import javax.swing.TransferHandler.TransferSupport;
@@ -133,6 +140,8 @@ public class SaBatchUI extends AbstractSaProcessingTopComponent implements Multi
     public void componentClosed() {
         controller.dispose();
         stop();
+        itemTasks.values().forEach(ItemTask::cancel);
+        itemTasks.clear();
         detail.dispose();
         for (PropertyChangeListener listener : this.getPropertyChangeListeners()) {
             this.removePropertyChangeListener(listener);
@@ -197,6 +206,8 @@ public class SaBatchUI extends AbstractSaProcessingTopComponent implements Multi
     }
     // CONSTANTS
     private static final Logger LOGGER = LoggerFactory.getLogger(SaBatchUI.class);
+    // number of rows processed in advance after the selected one
+    private static final int PREFETCH_SIZE = 3;
     // PROPERTIES DEFINITIONS
     public static final String DEFAULT_SPECIFICATION_PROPERTY = "specificationProperty";
     public static final String PROCESSING_PROPERTY = "processing";
@@ -216,10 +227,14 @@ public class SaBatchUI extends AbstractSaProcessingTopComponent implements Multi
     // visual stuff
     private final XTable master;
     private final TsProcessingViewer detail;
+    private final LoadingPanel detailPanel;
     // a trier
     private ProgressHandle progressHandle;
     private boolean active;
-    private SwingWorker<Void, SaItem> worker;
+    private SwingWorker<Void, Integer> worker;
+    // processing of single items (selection and prefetch), modified on the EDT
+    private final Map<SaItem, ItemTask> itemTasks = new IdentityHashMap<>();
+    private SaRefreshReport refreshReport;
     private final SaProcessingModel model;
     private final ListTableSelectionListener listTableListener;
 
@@ -268,6 +283,15 @@ public class SaBatchUI extends AbstractSaProcessingTopComponent implements Multi
         defSpecLabel.setText(defaultSpecification == null ? "" : defaultSpecification.toLongString());
         toolBarRepresentation.add(Box.createHorizontalGlue());
         toolBarRepresentation.addSeparator();
+        JToggleButton buttonSummaries = (JToggleButton) toolBarRepresentation.add(new JToggleButton("Summaries only"));
+        buttonSummaries.setToolTipText("Keep only a summary of the results of the processed items");
+        buttonSummaries.setSelected(getRetention().getPolicy() == SaResultsRetention.Policy.SUMMARY);
+        buttonSummaries.addActionListener(event -> getRetention().setPolicy(buttonSummaries.isSelected() ? SaResultsRetention.Policy.SUMMARY : SaResultsRetention.Policy.FULL));
+        JToggleButton buttonIncremental = (JToggleButton) toolBarRepresentation.add(new JToggleButton("New data only"));
+        buttonIncremental.setToolTipText("Refresh only the items whose data have changed");
+        buttonIncremental.setSelected(DemetraUI.getDefault().isSaIncrementalRefresh());
+        buttonIncremental.addActionListener(event -> DemetraUI.getDefault().setSaIncrementalRefresh(buttonIncremental.isSelected()));
+        toolBarRepresentation.addSeparator();
         buttonCollapse = (JToggleButton) toolBarRepresentation.add(new JToggleButton("Specifications"));
         buttonCollapse.addActionListener(new ActionListener() {
             @Override
@@ -290,7 +314,8 @@ public class SaBatchUI extends AbstractSaProcessingTopComponent implements Multi
                 showDetails(selection[0]);
             }
         });
-        visualRepresentation = NbComponents.newJSplitPane(JSplitPane.VERTICAL_SPLIT, NbComponents.newJScrollPane(master), detail);
+        detailPanel = new LoadingPanel(detail);
+        visualRepresentation = NbComponents.newJSplitPane(JSplitPane.VERTICAL_SPLIT, NbComponents.newJScrollPane(master), detailPanel);
         visualRepresentation.setResizeWeight(.60d);
         visualRepresentation.setOneTouchExpandable(true);
 
@@ -378,13 +403,16 @@ public class SaBatchUI extends AbstractSaProcessingTopComponent implements Multi
         if (selection.length > 0) {
             SaItem item = selection[0];
             if (!item.isProcessed()) {
-                // TODO: put this in another thread
-                item.process();
-                int idx = getCurrentProcessing().indexOf(item);
-                model.fireTableRowsUpdated(idx, idx);
+                detailPanel.setLoading(true);
+                processLater(item);
+            } else {
+                detailPanel.setLoading(false);
+                showDetails(item);
             }
-            showDetails(item);
+            prefetch(item);
         } else {
+            detailPanel.setLoading(false);
+            prefetch(null);
             showDetails(null);
         }
         listTableListener.setEnabled(true);
@@ -393,6 +421,10 @@ public class SaBatchUI extends AbstractSaProcessingTopComponent implements Multi
     // < EVENT HANDLERS
 
     // GETTERS/SETTERS >
+    public SaResultsRetention getRetention() {
+        return getDocument().getElement().getRetention();
+    }
+
     public ISaSpecification getDefaultSpecification() {
         return defaultSpecification;
     }
@@ -461,7 +493,11 @@ public class SaBatchUI extends AbstractSaProcessingTopComponent implements Multi
                 return;
             }
         }
-        getDocument().getElement().refresh(policy, nospan);
+        if (DemetraUI.getDefault().isSaIncrementalRefresh()) {
+            refreshReport = getDocument().getElement().refreshIncremental(policy, nospan);
+        } else {
+            getDocument().getElement().refresh(policy, nospan);
+        }
         start(false);
     }
 
@@ -472,7 +508,11 @@ public class SaBatchUI extends AbstractSaProcessingTopComponent implements Multi
                 return;
             }
         }
-        getCurrentProcessing().refresh(Arrays.asList(selection), policy, nospan);
+        if (DemetraUI.getDefault().isSaIncrementalRefresh()) {
+            refreshReport = getDocument().getElement().refreshIncremental(Arrays.asList(selection), policy, nospan);
+        } else {
+            getCurrentProcessing().refresh(Arrays.asList(selection), policy, nospan);
+        }
         start(true);
     }
 
@@ -632,10 +672,11 @@ public class SaBatchUI extends AbstractSaProcessingTopComponent implements Multi
         result.getColumnModel().getColumn(SaProcessingModel.SERIES).setCellRenderer(new SeriesRenderer());
         result.getColumnModel().getColumn(SaProcessingModel.METHOD).setCellRenderer(new MethodRenderer());
         result.getColumnModel().getColumn(SaProcessingModel.ESTIMATION).setCellRenderer(new EstimationRenderer());
-        result.getColumnModel().getColumn(SaProcessingModel.STATUS).setCellRenderer(new StatusRenderer());
+        Function<SaItem, SaItemSummary> summaries = o -> getRetention().getSummary(o);
+        result.getColumnModel().getColumn(SaProcessingModel.STATUS).setCellRenderer(new StatusRenderer(summaries));
         result.getColumnModel().getColumn(SaProcessingModel.PRIORITY).setCellRenderer(new PriorityRenderer());
-        result.getColumnModel().getColumn(SaProcessingModel.QUALITY).setCellRenderer(new QualityRenderer());
-        result.getColumnModel().getColumn(SaProcessingModel.WARNINGS).setCellRenderer(new WarningsRenderer());
+        result.getColumnModel().getColumn(SaProcessingModel.QUALITY).setCellRenderer(new QualityRenderer(summaries));
+        result.getColumnModel().getColumn(SaProcessingModel.WARNINGS).setCellRenderer(new WarningsRenderer(summaries));
         result.getColumnModel().getColumn(SaProcessingModel.COMMENTS).setCellRenderer(new CommentsRenderer());
 
         TableRowSorter<TableModel> sorter = new TableRowSorter<>(result.getModel());
@@ -679,6 +720,99 @@ public class SaBatchUI extends AbstractSaProcessingTopComponent implements Multi
         model.fireTableDataChanged();
     }
 
+    /**
+     * Processes an item on the batch executor, unless it is already pending.
+     * The table and the details are updated on the EDT when it is done.
+     *
+     * @param item
+     */
+    private void processLater(SaItem item) {
+        if (itemTasks.containsKey(item)) {
+            return;
+        }
+        ItemTask task = new ItemTask(item);
+        itemTasks.put(item, task);
+        BatchExecutor.getDefault().execute(task);
+    }
+
+    private void onItemProcessed(SaItem item, ItemTask task) {
+        if (!itemTasks.remove(item, task)) {
+            return;
+        }
+        int idx = getCurrentProcessing().indexOf(item);
+        if (idx < 0) {
+            return;
+        }
+        getRetention().touch(item);
+        model.fireTableRowsUpdated(idx, idx);
+        if (selection.length > 0 && selection[0] == item) {
+            detailPanel.setLoading(false);
+            showDetails(item);
+        }
+    }
+
+    /**
+     * Processes in advance the items that follow the selected one in the order
+     * of the table. The tasks of the items that are no longer near the
+     * selection are dropped if they haven't started yet; the running ones are
+     * left to complete.
+     *
+     * @param item the selected item or null
+     */
+    private void prefetch(SaItem item) {
+        Set<SaItem> wanted = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (item != null) {
+            wanted.add(item);
+            // the whole processing is already being run
+            if (worker == null || worker.isDone()) {
+                int row = master.convertRowIndexToView(getCurrentProcessing().indexOf(item));
+                for (int i = row + 1; row >= 0 && i < master.getRowCount() && i <= row + PREFETCH_SIZE; ++i) {
+                    SaItem next = getCurrentProcessing().get(master.convertRowIndexToModel(i));
+                    if (!next.isProcessed()) {
+                        wanted.add(next);
+                    }
+                }
+            }
+        }
+        itemTasks.entrySet().removeIf(o -> !wanted.contains(o.getKey()) && o.getValue().cancel());
+        wanted.stream().filter(o -> o != item).forEach(this::processLater);
+    }
+
+    /**
+     * Processing of a single item that can be cancelled as long as it hasn't
+     * started. The item is locked while it is processed so that it is not
+     * processed concurrently by the batch worker.
+     */
+    private final class ItemTask implements Runnable {
+
+        private final SaItem item;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        ItemTask(SaItem item) {
+            this.item = item;
+        }
+
+        boolean cancel() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                synchronized (item) {
+                    if (!item.isProcessed()) {
+                        item.process();
+                    }
+                }
+            } finally {
+                SwingUtilities.invokeLater(() -> onItemProcessed(item, this));
+            }
+        }
+    }
+
     private void showDetails(SaItem item) {
         if (item == null) {
             detail.setSpecificationsVisible(false);
@@ -921,16 +1055,26 @@ public class SaBatchUI extends AbstractSaProcessingTopComponent implements Multi
         }
     }
 
+    static SaItem.Status getStatus(SaItem item, SaItemSummary summary) {
+        return item.getStatus() == SaItem.Status.Unprocessed && summary != null ? summary.getStatus() : item.getStatus();
+    }
+
     static class StatusRenderer extends SimpleRenderer<SaItem> {
 
+        final Function<SaItem, SaItemSummary> summaries;
+
+        StatusRenderer(Function<SaItem, SaItemSummary> summaries) {
+            this.summaries = summaries;
+        }
+
         @Override
         protected String getText(SaItem item) {
-            return item.getStatus().toString();
+            return getStatus(item, summaries.apply(item)).toString();
         }
 
         @Override
         protected Color getColor(SaItem item) {
-            switch (item.getStatus()) {
+            switch (getStatus(item, summaries.apply(item))) {
                 case Unprocessed:
                     return Color.GRAY;
                 case Pending:
@@ -954,16 +1098,35 @@ public class SaBatchUI extends AbstractSaProcessingTopComponent implements Multi
 
     static class QualityRenderer extends SimpleRenderer<SaItem> {
 
+        final Function<SaItem, SaItemSummary> summaries;
+
+        QualityRenderer(Function<SaItem, SaItemSummary> summaries) {
+            this.summaries = summaries;
+        }
+
+        ProcQuality getQuality(SaItem item) {
+            ProcQuality result = item.getQuality();
+            if (result == ProcQuality.Undefined) {
+                SaItemSummary summary = summaries.apply(item);
+                if (summary != null) {
+                    result = summary.getQuality();
+                }
+            }
+            return result;
+        }
+
         @Override
         protected String getText(SaItem item) {
-            return item.getQuality() != ProcQuality.Undefined
-                    ? item.getQuality().name() : null;
+            ProcQuality quality = getQuality(item);
+            return quality != ProcQuality.Undefined
+                    ? quality.name() : null;
         }
 
         @Override
         protected Color getColor(SaItem item) {
-            return item.getQuality() != ProcQuality.Undefined
-                    ? getColor(item.getQuality()) : null;
+            ProcQuality quality = getQuality(item);
+            return quality != ProcQuality.Undefined
+                    ? getColor(quality) : null;
         }
 
         Color getColor(ProcQuality quality) {
@@ -989,15 +1152,22 @@ public class SaBatchUI extends AbstractSaProcessingTopComponent implements Multi
 
     static class WarningsRenderer extends DefaultTableCellRenderer {
 
+        final Function<SaItem, SaItemSummary> summaries;
+
+        WarningsRenderer(Function<SaItem, SaItemSummary> summaries) {
+            this.summaries = summaries;
+        }
+
         @Override
         public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
             JLabel label = (JLabel) super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
             SaItem item = (SaItem) value;
-            if (item.getStatus() == SaItem.Status.Unprocessed) {
+            SaItemSummary summary = item.getStatus() == SaItem.Status.Unprocessed ? summaries.apply(item) : null;
+            if (item.getStatus() == SaItem.Status.Unprocessed && summary == null) {
                 label.setText("");
                 return label;
             }
-            String[] warnings = item.getWarnings();
+            String[] warnings = summary != null ? summary.getWarnings() : item.getWarnings();
             char[] tmp = new char[warnings.length];
             Arrays.fill(tmp, '!');
             label.setText(String.valueOf(tmp));
@@ -1065,80 +1235,113 @@ public class SaBatchUI extends AbstractSaProcessingTopComponent implements Multi
         }
     }
 
-    private class SwingWorkerImpl extends SwingWorker<Void, SaItem> {
+    /**
+     * Streams the items of the processing to the batch executor. At most
+     * {@link DemetraUI#getBatchMaxInFlight()} items are submitted at once and
+     * no result is retained by the worker itself, so that the memory footprint
+     * doesn't depend on the size of the processing. Processed rows are
+     * published as model indexes and repainted in coalesced chunks.
+     */
+    private class SwingWorkerImpl extends SwingWorker<Void, Integer> {
 
         private final boolean local;
+        private final SaRefreshReport report;
 
         public SwingWorkerImpl(boolean local) {
 
             this.local = local && (selection != null && selection.length > 0);
+            this.report = refreshReport;
+            refreshReport = null;
         }
 
         @Override
         protected Void doInBackground() throws Exception {
-            List<Callable<CompositeResults>> tasks = createTasks();
-            if (tasks == null) {
+            SaProcessing processing = getCurrentProcessing();
+            int[] rows = selectRows(processing);
+            if (rows.length == 0) {
                 return null;
             }
 
-            DemetraUI config = DemetraUI.getDefault();
-            int nThread = config.getBatchPoolSize().intValue();
-            int priority = config.getBatchPriority().intValue();
-
-            ExecutorService executorService = Executors.newFixedThreadPool(nThread, new ThreadFactoryBuilder().setDaemon(true).setPriority(priority).build());
+            SaResultsRetention retention = getRetention();
+            BatchExecutor executor = BatchExecutor.getDefault();
+            int maxInFlight = DemetraUI.getDefault().getBatchMaxInFlight();
+            Semaphore inFlight = new Semaphore(maxInFlight);
+            AtomicInteger processed = new AtomicInteger();
             Stopwatch stopwatch = Stopwatch.createStarted();
             try {
-                executorService.invokeAll(tasks);
+                for (int row : rows) {
+                    if (isCancelled()) {
+                        break;
+                    }
+                    SaItem item = processing.get(row);
+                    inFlight.acquire();
+                    executor.execute(() -> {
+                        try {
+                            if (!isCancelled()) {
+                                retention.process(item);
+                                processed.incrementAndGet();
+                                publish(row);
+                            }
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+                // waits for the remaining items
+                inFlight.acquire(maxInFlight);
             } catch (InterruptedException ex) {
                 Thread.currentThread().interrupt();
                 LOGGER.info("While processing SaItems", ex);
             }
+            stopwatch.stop();
 
-            if (tasks.size() > 0) {
-                if (worker != null && !worker.isCancelled()) {
-                    NotifyUtil.show("SA Processing done !", "Processed " + tasks.size() + " items in " + stopwatch.stop().toString(), MessageType.SUCCESS, null, null, null);
+            if (worker != null && !worker.isCancelled()) {
+                String message = "Processed " + processed.get() + " items in " + stopwatch.toString();
+                if (report != null) {
+                    message += "\nSkipped " + report.getSkippedCount() + " unchanged items, refreshed " + report.getRefreshedCount()
+                            + " items (" + report.getFailedCount(o -> getStatus(o, retention.getSummary(o))) + " failed)";
                 }
+                NotifyUtil.show("SA Processing done !", message, MessageType.SUCCESS, null, null, null);
+            }
 
-                if (!active) {
-                    requestAttention(false);
-                }
+            if (!active) {
+                requestAttention(false);
             }
 
-            LOGGER.info("Task: {} items in {} by {} executors with priority {}", new Object[]{tasks.size(), stopwatch.stop().toString(), nThread, priority});
-            executorService.shutdown();
+            LOGGER.info("Task: {} items in {} by {} executors with priority {} and {} items in flight", new Object[]{processed.get(), stopwatch.toString(), executor.getParallelism(), executor.getPriority(), maxInFlight});
             return null;
-
         }
 
-        List<Callable<CompositeResults>> createTasks() {
-            SaItem[] items = local ? selection : getCurrentProcessing().toArray();
-            if (items != null && items.length > 0) {
-                List<Callable<CompositeResults>> result = new ArrayList(items.length);
-                for (final SaItem o : items) {
-                    result.add(() -> {
-                        if (isCancelled()) {
-                            return null;
-                        }
-                        CompositeResults result1 = o.process();
-                        publish(o);
-                        return result1;
-                    });
-
-                }
-                return result;
-            } else {
-                return null;
+        int[] selectRows(SaProcessing processing) {
+            if (report != null) {
+                // unchanged items are skipped
+                Set<SaItem> items = Collections.newSetFromMap(new IdentityHashMap<>());
+                items.addAll(report.getRefreshedItems());
+                return IntStream.range(0, processing.size())
+                        .filter(i -> items.contains(processing.get(i)))
+                        .toArray();
             }
+            if (!local) {
+                return IntStream.range(0, processing.size()).toArray();
+            }
+            Set<SaItem> items = Collections.newSetFromMap(new IdentityHashMap<>());
+            items.addAll(Arrays.asList(selection));
+            return IntStream.range(0, processing.size())
+                    .filter(i -> items.contains(processing.get(i)))
+                    .toArray();
         }
+
         int progressCount = 0;
 
         @Override
-        protected void process(List<SaItem> chunks) {
-            model.fireTableDataChanged();
+        protected void process(List<Integer> chunks) {
+            int rowCount = model.getRowCount();
+            model.fireTableRowsUpdated(chunks.stream().mapToInt(Integer::intValue).filter(i -> i < rowCount).toArray());
             progressCount += chunks.size();
             if (progressHandle != null) {
-                if (!chunks.isEmpty()) {
-                    progressHandle.progress(chunks.get(chunks.size() - 1).getName(), progressCount);
+                int last = chunks.isEmpty() ? -1 : chunks.get(chunks.size() - 1);
+                if (last != -1 && last < rowCount) {
+                    progressHandle.progress(getCurrentProcessing().get(last).getName(), progressCount);
                 } else {
                     progressHandle.progress(progressCount);
                 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.sa;
+
+import ec.tss.formatters.TableFormatter;
+import ec.tss.sa.SaItem;
+import ec.tstoolkit.algorithm.CompositeResults;
+import ec.tstoolkit.algorithm.IProcResults;
+import ec.tstoolkit.algorithm.ProcQuality;
+import ec.tstoolkit.data.Table;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Compact outcome of the processing of an SaItem: status, quality, warnings,
+ * the formatted values of a few groups of fields of the results dictionary and
+ * a few small values of this dictionary. It is kept in place of the full
+ * results when the processing is run with the
+ * {@link SaResultsRetention.Policy#SUMMARY} policy.
+ */
+public final class SaItemSummary {
+
+    private final SaItem.Status status;
+    private final ProcQuality quality;
+    private final String[] warnings;
+    private final List<List<String>> groups;
+    private final String[][] rows;
+    private final Map<String, Object> data;
+
+    private SaItemSummary(SaItem.Status status, ProcQuality quality, String[] warnings, List<List<String>> groups, String[][] rows, Map<String, Object> data) {
+        this.status = status;
+        this.quality = quality;
+        this.warnings = warnings;
+        this.groups = groups;
+        this.rows = rows;
+        this.data = data;
+    }
+
+    @Nonnull
+    public SaItem.Status getStatus() {
+        return status;
+    }
+
+    @Nonnull
+    public ProcQuality getQuality() {
+        return quality;
+    }
+
+    @Nonnull
+    public String[] getWarnings() {
+        return warnings.clone();
+    }
+
+    /**
+     * Gets the formatted values of a group of fields, as produced by
+     * {@link TableFormatter#formatProcResults(java.util.List, java.util.List, boolean)}.
+     *
+     * @param items the fields of the group
+     * @return null if the group has not been retained
+     */
+    @Nullable
+    public String[] getRow(@Nonnull List<String> items) {
+        int index = groups.indexOf(items);
+        return index != -1 ? rows[index] : null;
+    }
+
+    /**
+     * Gets a retained value of the results dictionary.
+     *
+     * @param <T>
+     * @param id the name of the value in the dictionary
+     * @param type the type of the value
+     * @return null if the value has not been retained or has another type
+     */
+    @Nullable
+    public <T> T getData(@Nonnull String id, @Nonnull Class<T> type) {
+        Object result = data.get(id);
+        return type.isInstance(result) ? type.cast(result) : null;
+    }
+
+    /**
+     * Creates a summary of a processed item.
+     *
+     * @param item the processed item
+     * @param results the results of the item, possibly null
+     * @param groups the retained groups of fields, shared by all the summaries
+     * of a processing
+     * @param ids the names of the retained values of the results dictionary;
+     * they should be small objects
+     * @return
+     */
+    @Nonnull
+    public static SaItemSummary of(@Nonnull SaItem item, @Nullable CompositeResults results, @Nonnull List<List<String>> groups, @Nonnull List<String> ids) {
+        String[][] rows = new String[groups.size()][];
+        TableFormatter formatter = new TableFormatter();
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = results != null ? toRow(formatter.formatProcResults(Collections.<IProcResults>singletonList(results), groups.get(i), true)) : new String[0];
+        }
+        Map<String, Object> data = new HashMap<>();
+        if (results != null) {
+            for (String id : ids) {
+                Object value = results.getData(id, Object.class);
+                if (value != null) {
+                    data.put(id, value);
+                }
+            }
+        }
+        String[] warnings = item.getWarnings();
+        return new SaItemSummary(item.getStatus(), item.getQuality(), warnings != null ? warnings : new String[0], groups, rows,
+                data.isEmpty() ? Collections.emptyMap() : data);
+    }
+
+    static String[] toRow(Table<String> table) {
+        String[] result = new String[table.getColumnsCount()];
+        for (int j = 0; j < result.length; j++) {
+            String value = table.get(0, j);
+            result[j] = value != null ? value.intern() : null;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.sa;
+
+import ec.nbdemetra.ws.XmlInformationSetStream;
+import ec.satoolkit.ISaSpecification;
+import ec.tss.sa.SaItem;
+import ec.tss.sa.SaProcessing;
+import ec.tstoolkit.MetaData;
+import ec.tstoolkit.information.Information;
+import ec.tstoolkit.information.InformationSet;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.xml.bind.JAXBException;
+
+/**
+ * Streaming reader and writer of the XML files of the SAProcessing repository.
+ * <p>
+ * The items of a processing are read by small chunks. The entries that
+ * precede the first item (meta-data, dictionary of specifications) form the
+ * header of the file; it is identified once, when the first entry that
+ * defines a single item is found. The following entries are then decoded by
+ * chunks together with this header and dropped. Entries that don't define
+ * items are decoded together at the end, so that files whose layout is not
+ * expected are still read correctly.
+ * <p>
+ * The items are written the same way: the header is encoded first, then each
+ * item is encoded and marshalled on its own, like SaProcessing.write does it.
+ *
+ * @see XmlInformationSetStream
+ */
+final class SaProcessingXmlStream {
+
+    private SaProcessingXmlStream() {
+        // static class
+    }
+
+    /**
+     * Reads a processing.
+     *
+     * @param file
+     * @return null if the file doesn't contain a processing
+     */
+    @Nullable
+    static SaProcessing read(@Nonnull File file) {
+        try (InputStream stream = new BufferedInputStream(new FileInputStream(file))) {
+            Reader reader = new Reader();
+            XmlInformationSetStream.read(stream, reader::onEntry);
+            return reader.build();
+        } catch (IOException | JAXBException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes a processing. Its items are encoded one at a time.
+     *
+     * @param file
+     * @param processing
+     * @return
+     */
+    static boolean write(@Nonnull File file, @Nonnull SaProcessing processing) {
+        Map<ISaSpecification, String> dictionary = new HashMap<>();
+        InformationSet header = writeHeader(processing, dictionary);
+        try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(file))) {
+            XmlInformationSetStream.Writer writer = XmlInformationSetStream.writer(stream);
+            for (Information<Object> o : header.select(Object.class)) {
+                writer.write(o.name, o.value);
+            }
+            int idx = 0;
+            for (SaItem item : processing) {
+                InformationSet info = item.write(dictionary, false);
+                if (info == null) {
+                    return false;
+                }
+                writer.write(SaProcessing.ITEM + (++idx), info);
+            }
+            writer.close();
+            return true;
+        } catch (IOException | JAXBException | RuntimeException ex) {
+            return false;
+        }
+    }
+
+    // meta-data and dictionary of the domain specifications, as in SaProcessing.write
+    private static InformationSet writeHeader(SaProcessing processing, Map<ISaSpecification, String> dictionary) {
+        InformationSet result = new InformationSet();
+        MetaData meta = processing.getMetaData();
+        if (!meta.isEmpty()) {
+            InformationSet minfo = result.subSet(SaProcessing.META);
+            for (Map.Entry<String, String> o : meta.entrySet()) {
+                minfo.set(o.getKey(), o.getValue());
+            }
+        }
+        InformationSet dinfo = result.subSet(SaProcessing.DOMAIN_SPECS);
+        for (SaItem item : processing) {
+            ISaSpecification spec = item.getDomainSpecification();
+            if (!dictionary.containsKey(spec)) {
+                String name = SaProcessing.SPEC + (dictionary.size() + 1);
+                dictionary.put(spec, name);
+                dinfo.set(name, spec.write(false));
+            }
+        }
+        return result;
+    }
+
+    private static final class Reader {
+
+        // number of items decoded together with the header
+        private static final int CHUNK_SIZE = 64;
+
+        private final InformationSet header = new InformationSet();
+        private InformationSet chunk = new InformationSet();
+        private final List<SaItem> items = new ArrayList<>();
+        private int chunkSize;
+        // true when the header has been identified
+        private boolean started;
+        // true when an entry that is not an item follows an item
+        private boolean unexpected;
+
+        private void onEntry(String name, Object value) {
+            if (unexpected) {
+                header.set(name, value);
+            } else if (!started) {
+                header.set(name, value);
+                if (value instanceof InformationSet) {
+                    SaProcessing probe = new SaProcessing();
+                    if (probe.read(header) && probe.size() == 1) {
+                        header.remove(name);
+                        items.add(probe.get(0));
+                        started = true;
+                    }
+                }
+            } else if (value instanceof InformationSet) {
+                chunk.set(name, value);
+                if (++chunkSize == CHUNK_SIZE) {
+                    flush();
+                }
+            } else {
+                flush();
+                header.set(name, value);
+                unexpected = true;
+            }
+        }
+
+        private void flush() {
+            if (chunkSize == 0) {
+                return;
+            }
+            InformationSet info = new InformationSet();
+            copy(header, info);
+            copy(chunk, info);
+            SaProcessing probe = new SaProcessing();
+            if (probe.read(info) && probe.size() == chunkSize) {
+                items.addAll(probe);
+            } else {
+                copy(chunk, header);
+                unexpected = true;
+            }
+            chunk = new InformationSet();
+            chunkSize = 0;
+        }
+
+        private static void copy(InformationSet source, InformationSet target) {
+            for (Information<Object> o : source.select(Object.class)) {
+                target.set(o.name, o.value);
+            }
+        }
+
+        private SaProcessing build() {
+            flush();
+            SaProcessing result = new SaProcessing();
+            if (!result.read(header)) {
+                return null;
+            }
+            // the items decoded with the header come after the streamed ones
+            List<SaItem> remaining = new ArrayList<>(result);
+            result.clear();
+            result.addAll(items);
+            result.addAll(remaining);
+            return result;
+        }
+    }
+}
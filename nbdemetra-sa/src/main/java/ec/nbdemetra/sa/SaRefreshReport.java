@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.sa;
+
+import ec.tss.TsMoniker;
+import ec.tss.sa.SaItem;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Outcome of an incremental refresh of a multi-processing: the items whose
+ * data didn't change are kept as they were (with their results) and only the
+ * other ones are refreshed and re-estimated.
+ *
+ * @see MultiProcessingDocument#refreshIncremental(ec.tss.sa.EstimationPolicyType, boolean)
+ */
+public final class SaRefreshReport {
+
+    private final int skipped;
+    private final List<SaItem> refreshed;
+
+    SaRefreshReport(int skipped, @Nonnull List<SaItem> refreshed) {
+        this.skipped = skipped;
+        this.refreshed = Collections.unmodifiableList(refreshed);
+    }
+
+    public int getSkippedCount() {
+        return skipped;
+    }
+
+    public int getRefreshedCount() {
+        return refreshed.size();
+    }
+
+    /**
+     * Gets the refreshed items.
+     *
+     * @return an unmodifiable list
+     */
+    @Nonnull
+    public List<SaItem> getRefreshedItems() {
+        return refreshed;
+    }
+
+    /**
+     * Counts the refreshed items that have been processed without success.
+     *
+     * @param status the function that gives the current status of an item
+     * @return
+     */
+    public int getFailedCount(@Nonnull Function<SaItem, SaItem.Status> status) {
+        int result = 0;
+        for (SaItem o : refreshed) {
+            switch (status.apply(o)) {
+                case Unprocessed:
+                case Pending:
+                case Valid:
+                    break;
+                default:
+                    result++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks if an item has the same series and the same data as a reference
+     * item.
+     *
+     * @param item
+     * @param reference
+     * @return
+     */
+    static boolean isUnchanged(@Nonnull SaItem item, @Nonnull SaItem reference) {
+        TsData data = item.getTsData();
+        TsData refData = reference.getTsData();
+        if (data == null || refData == null) {
+            return false;
+        }
+        return Objects.equals(getMoniker(item), getMoniker(reference))
+                && data.equals(refData);
+    }
+
+    @Nullable
+    static TsMoniker getMoniker(@Nonnull SaItem item) {
+        return item.getTs() != null ? item.getTs().getMoniker() : null;
+    }
+
+    @Override
+    public String toString() {
+        return "Skipped " + skipped + " unchanged items, refreshed " + refreshed.size() + " items";
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.sa;
+
+import ec.nbdemetra.ui.DemetraUI;
+import ec.tss.formatters.TableFormatter;
+import ec.tss.sa.SaItem;
+import ec.tss.sa.SaProcessing;
+import ec.tstoolkit.MetaData;
+import ec.tstoolkit.algorithm.CompositeResults;
+import ec.tstoolkit.algorithm.IProcResults;
+import ec.tstoolkit.algorithm.ProcQuality;
+import ec.tstoolkit.algorithm.ProcessingContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.swing.SwingUtilities;
+
+/**
+ * Defines what is kept in memory after the processing of the items of a
+ * multi-processing document.
+ * <p>
+ * With the {@link Policy#FULL} policy, every item keeps its complete results.
+ * With the {@link Policy#SUMMARY} policy, every processed item also gets a
+ * {@link SaItemSummary}, and the documents of the active workspace share a
+ * budget of {@link DemetraUI#getSaResultsBudget()} items that keep their
+ * complete results. The least recently used items are replaced in their
+ * processing by unprocessed copies that keep their summary; their complete
+ * results are recomputed when they are opened again.
+ *
+ * @see MultiProcessingDocument#getRetention()
+ */
+public final class SaResultsRetention {
+
+    public enum Policy {
+        FULL, SUMMARY
+    }
+
+    static final String POLICY_PROPERTY = "resultsRetention";
+    // groups of fields of the results dictionary retained in the summaries
+    static final List<List<String>> DEFAULT_GROUPS = Collections.unmodifiableList(Arrays.asList(
+            Collections.unmodifiableList(Arrays.asList(MatrixView.MAIN)),
+            Collections.unmodifiableList(Arrays.asList(MatrixView.TESTS))));
+    // small values of the results dictionary used by the default report
+    static final List<String> DEFAULT_DATA = Collections.unmodifiableList(Arrays.asList(
+            "adjust", "log", "regression.ntd", "regression.easter", "regression.nout",
+            "regression.noutao", "regression.noutls", "regression.nouttc", "regression.noutso",
+            "arima", "decomposition.seasonality", "decomposition.mode"));
+
+    // the budget of the active workspace; guarded by SaResultsRetention.class
+    private static Budget budget;
+
+    private final MultiProcessingDocument document;
+    private final Map<SaItem, SaItemSummary> summaries;
+    // items waiting to be replaced on the EDT; guarded by itself
+    private final List<SaItem> evicted;
+
+    SaResultsRetention(MultiProcessingDocument document) {
+        this.document = document;
+        this.summaries = Collections.synchronizedMap(new WeakHashMap<>());
+        this.evicted = new ArrayList<>();
+    }
+
+    @Nonnull
+    public Policy getPolicy() {
+        String value = getMetaData().get(POLICY_PROPERTY);
+        return Policy.SUMMARY.name().equals(value) ? Policy.SUMMARY : Policy.FULL;
+    }
+
+    public void setPolicy(@Nonnull Policy policy) {
+        MetaData meta = getMetaData();
+        if (policy == Policy.FULL) {
+            meta.remove(POLICY_PROPERTY);
+            getBudget().release(this);
+            synchronized (evicted) {
+                evicted.clear();
+            }
+        } else {
+            meta.put(POLICY_PROPERTY, policy.name());
+        }
+    }
+
+    @Nullable
+    public SaItemSummary getSummary(@Nonnull SaItem item) {
+        return summaries.get(item);
+    }
+
+    /**
+     * Checks if an item has been processed, either with its complete results
+     * or with a summary.
+     *
+     * @param item
+     * @return
+     */
+    public boolean isProcessed(@Nonnull SaItem item) {
+        return item.isProcessed() || summaries.containsKey(item);
+    }
+
+    /**
+     * Checks if all the items of a processing have been processed, either
+     * with their complete results or with a summary.
+     *
+     * @param processing
+     * @return
+     */
+    public boolean isProcessed(@Nonnull SaProcessing processing) {
+        return processing.stream().allMatch(this::isProcessed);
+    }
+
+    /**
+     * Processes an item according to the current policy. This method can be
+     * called from any thread; the item is locked while it is processed.
+     *
+     * @param item
+     */
+    public void process(@Nonnull SaItem item) {
+        CompositeResults results;
+        synchronized (item) {
+            results = item.process();
+        }
+        if (getPolicy() == Policy.SUMMARY) {
+            summaries.put(item, SaItemSummary.of(item, results, DEFAULT_GROUPS, DEFAULT_DATA));
+            retain(item);
+        }
+    }
+
+    /**
+     * Gets the formatted values of a group of fields of an item that has been
+     * processed. If the item only keeps its summary and the group is not
+     * retained in it, the results are computed again on a copy of the item and
+     * released once formatted. This method can be called from any thread.
+     *
+     * @param item
+     * @param fields the fields of the group
+     * @return a non-null row
+     */
+    @Nonnull
+    String[] getRow(@Nonnull SaItem item, @Nonnull List<String> fields) {
+        SaItemSummary summary = summaries.get(item);
+        String[] result = summary != null ? summary.getRow(fields) : null;
+        if (result == null) {
+            CompositeResults results = copyOf(item).process();
+            result = results != null
+                    ? SaItemSummary.toRow(new TableFormatter().formatProcResults(Collections.<IProcResults>singletonList(results), fields, true))
+                    : new String[0];
+        }
+        return result;
+    }
+
+    /**
+     * Notifies that the complete results of an item have been computed on
+     * demand. Must be called on the EDT.
+     *
+     * @param item
+     */
+    public void touch(@Nonnull SaItem item) {
+        if (getPolicy() != Policy.SUMMARY) {
+            return;
+        }
+        summaries.computeIfAbsent(item, o -> SaItemSummary.of(o, o.process(), DEFAULT_GROUPS, DEFAULT_DATA));
+        retain(item);
+    }
+
+    private void retain(SaItem item) {
+        getBudget().retain(item, this, DemetraUI.getDefault().getSaResultsBudget());
+    }
+
+    // returns true if the replacement of the evicted items must be scheduled
+    private boolean evict(SaItem item) {
+        synchronized (evicted) {
+            evicted.add(item);
+            return evicted.size() == 1;
+        }
+    }
+
+    private void evictAll() {
+        List<SaItem> items;
+        synchronized (evicted) {
+            items = new ArrayList<>(evicted);
+            evicted.clear();
+        }
+        // items used again in the meantime are kept
+        getBudget().removeRetained(items);
+        if (items.isEmpty() || getPolicy() != Policy.SUMMARY) {
+            return;
+        }
+        SaProcessing processing = document.getCurrent();
+        boolean dirty = processing.isDirty();
+        for (SaItem item : items) {
+            SaItemSummary summary = summaries.get(item);
+            if (summary != null && processing.indexOf(item) != -1) {
+                SaItem copy = copyOf(item);
+                summaries.put(copy, summary);
+                processing.replace(item, copy);
+            }
+        }
+        if (!dirty) {
+            processing.resetDirty();
+        }
+    }
+
+    private static synchronized Budget getBudget() {
+        // the documents of a workspace share its processing context
+        ProcessingContext context = ProcessingContext.getActiveContext();
+        if (budget == null || budget.context != context) {
+            budget = new Budget(context);
+        }
+        return budget;
+    }
+
+    private MetaData getMetaData() {
+        return document.getCurrent().getMetaData();
+    }
+
+    private static SaItem copyOf(SaItem item) {
+        SaItem result = new SaItem(item.getDomainSpecification(), item.getEstimationPolicy(), item.getEstimationSpecification(), item.getTs());
+        result.setMetaData(item.getMetaData());
+        result.setPriority(item.getPriority());
+        result.setComment(item.getComment());
+        if (item.getRawName() != null) {
+            result.setName(item.getRawName());
+        }
+        if (item.getQuality() == ProcQuality.Accepted) {
+            result.setQuality(ProcQuality.Accepted);
+        }
+        return result;
+    }
+
+    /**
+     * Items that keep their complete results in the documents of a workspace.
+     */
+    private static final class Budget {
+
+        private final ProcessingContext context;
+        // in access order; guarded by itself
+        private final LinkedHashMap<SaItem, SaResultsRetention> retained;
+
+        private Budget(ProcessingContext context) {
+            this.context = context;
+            this.retained = new LinkedHashMap<>(16, .75f, true);
+        }
+
+        void retain(SaItem item, SaResultsRetention owner, int size) {
+            List<SaResultsRetention> scheduled = new ArrayList<>();
+            synchronized (retained) {
+                retained.put(item, owner);
+                Iterator<Map.Entry<SaItem, SaResultsRetention>> iterator = retained.entrySet().iterator();
+                while (retained.size() > size) {
+                    Map.Entry<SaItem, SaResultsRetention> eldest = iterator.next();
+                    iterator.remove();
+                    if (eldest.getValue().evict(eldest.getKey())) {
+                        scheduled.add(eldest.getValue());
+                    }
+                }
+            }
+            // the processings are only modified on the EDT
+            scheduled.forEach(o -> SwingUtilities.invokeLater(o::evictAll));
+        }
+
+        void release(SaResultsRetention owner) {
+            synchronized (retained) {
+                retained.values().removeIf(o -> o == owner);
+            }
+        }
+
+        void removeRetained(List<SaItem> items) {
+            synchronized (retained) {
+                items.removeIf(retained::containsKey);
+            }
+        }
+    }
+}
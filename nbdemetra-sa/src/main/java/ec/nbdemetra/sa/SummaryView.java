@@ -5,12 +5,14 @@
 package ec.nbdemetra.sa;
 
 import com.google.common.collect.Maps;
+import ec.nbdemetra.core.BatchExecutor;
 import ec.nbdemetra.ui.ComponentFactory;
 import ec.nbdemetra.ui.NbComponents;
 import ec.nbdemetra.ws.WorkspaceItem;
 import ec.tss.html.HtmlUtil;
 import ec.tss.html.implementation.HtmlRegArimaReport;
 import ec.tss.sa.RegArimaReport;
+import ec.tss.sa.SaProcessing;
 import ec.tstoolkit.algorithm.AlgorithmDescriptor;
 import ec.ui.AHtmlView;
 import ec.util.list.swing.JLists;
@@ -19,10 +21,13 @@ import java.awt.event.ItemEvent;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.*;
 import org.netbeans.core.spi.multiview.CloseOperationState;
 import org.netbeans.core.spi.multiview.MultiViewElement;
 import org.netbeans.core.spi.multiview.MultiViewElementCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  *
@@ -30,11 +35,14 @@ import org.netbeans.core.spi.multiview.MultiViewElementCallback;
  */
 public class SummaryView extends AbstractSaProcessingTopComponent implements MultiViewElement {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(SummaryView.class);
+
     // main components
     private final JComponent visualRepresentation;
     private final JToolBar toolBarRepresentation;
     // data
     private Map<Integer, Map<AlgorithmDescriptor, RegArimaReport>> reports;
+    private CompletableFuture<Map<Integer, Map<AlgorithmDescriptor, RegArimaReport>>> pending;
     // subcomponents
     private final JComboBox<Map.Entry<Integer, AlgorithmDescriptor>> comboBox;
     private final AHtmlView reportTB_;
@@ -76,10 +84,27 @@ public class SummaryView extends AbstractSaProcessingTopComponent implements Mul
     @Override
     protected void onSaProcessingStateChange() {
         super.onSaProcessingStateChange();
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+        setData(Collections.<Integer, Map<AlgorithmDescriptor, RegArimaReport>>emptyMap());
         if (controller.getState().isFinished()) {
-            setData(getCurrentProcessing().createRegArimaReports());
-        } else {
-            setData(Collections.<Integer, Map<AlgorithmDescriptor, RegArimaReport>>emptyMap());
+            // the reports are computed once per processing, in the background
+            SaProcessing processing = getCurrentProcessing();
+            CompletableFuture<Map<Integer, Map<AlgorithmDescriptor, RegArimaReport>>> task
+                    = CompletableFuture.supplyAsync(processing::createRegArimaReports, BatchExecutor.getDefault());
+            pending = task;
+            task.whenCompleteAsync((o, ex) -> {
+                if (pending == task) {
+                    pending = null;
+                    if (ex != null) {
+                        LOGGER.warn("Cannot create the RegArima reports", ex);
+                    } else {
+                        setData(o);
+                    }
+                }
+            }, SwingUtilities::invokeLater);
         }
     }
 
@@ -20,19 +20,18 @@ import ec.nbdemetra.sa.MultiProcessingDocument;
 import ec.nbdemetra.sa.MultiProcessingManager;
 import ec.nbdemetra.sa.SaBatchUI;
 import ec.nbdemetra.sa.output.OutputPanel;
+import ec.nbdemetra.sa.output.OutputPipeline;
 import ec.nbdemetra.ui.notification.MessageType;
 import ec.nbdemetra.ui.notification.NotifyUtil;
 import ec.nbdemetra.ws.WorkspaceItem;
 import ec.nbdemetra.ws.actions.AbstractViewAction;
-import ec.satoolkit.ISaSpecification;
 import ec.tss.sa.ISaOutputFactory;
 import ec.tss.sa.SaItem;
 import ec.tss.sa.SaProcessing;
-import ec.tss.sa.documents.SaDocument;
-import ec.tstoolkit.algorithm.IOutput;
 import ec.tstoolkit.utilities.LinearId;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
 import javax.swing.SwingWorker;
 import org.netbeans.api.progress.ProgressHandle;
 import org.openide.DialogDescriptor;
@@ -80,41 +79,41 @@ public final class Output extends AbstractViewAction<SaBatchUI> {
             WorkspaceItem<MultiProcessingDocument> doc = ui.getDocument();
             List<ISaOutputFactory> outputs = panel.getFactories();
             LinearId id = new LinearId(doc.getOwner().getName(), doc.getDisplayName());
-            for (ISaOutputFactory output : outputs) {
-                save(output, id, processing);
+            if (!outputs.isEmpty()) {
+                save(outputs, id, processing);
             }
         }
     }
 
-    private void save(final ISaOutputFactory output, final LinearId id, final SaProcessing processing) {
-        new SwingWorker<Void, String>() {
-            final ProgressHandle progressHandle = ProgressHandle.createHandle("Saving to " + output.getName());
+    // all the outputs are generated in a single pass over the items
+    private void save(final List<ISaOutputFactory> outputs, final LinearId id, final SaProcessing processing) {
+        final String names = outputs.stream().map(ISaOutputFactory::getName).collect(Collectors.joining(", "));
+        final SaItem[] items = processing.toArray();
+        new SwingWorker<List<OutputPipeline.Report>, String>() {
+            final ProgressHandle progressHandle = ProgressHandle.createHandle("Saving to " + names);
 
             @Override
-            protected Void doInBackground() throws Exception {
-                progressHandle.start();
-                progressHandle.progress("Initializing");
-                IOutput<SaDocument<ISaSpecification>> sadoc = output.create();
-                progressHandle.progress("Starting");
-                sadoc.start(id);
+            protected List<OutputPipeline.Report> doInBackground() throws Exception {
+                progressHandle.start(items.length);
                 progressHandle.progress("Processing");
-                for (SaItem cur : processing.toArray()) {
-                    SaDocument<ISaSpecification> cdoc = cur.toDocument();
-                    sadoc.process(cdoc);
-                }
-                progressHandle.progress("Ending");
-                sadoc.end(id);
-                return null;
+                return new OutputPipeline(outputs).run(id, items, progressHandle::progress);
             }
 
             @Override
             protected void done() {
                 progressHandle.finish();
                 try {
-                    get();
-                    NotifyUtil.show(output.getName() + " successfully generated", "", MessageType.SUCCESS);
+                    for (OutputPipeline.Report report : get()) {
+                        if (report.isSuccess()) {
+                            NotifyUtil.show(report.getName() + " successfully generated",
+                                    String.format("%d items (%.1f items/s)", report.getCount(), report.getThroughput()), MessageType.SUCCESS);
+                        } else {
+                            Throwable error = report.getError();
+                            NotifyUtil.error("Can't generate output (" + report.getName() + ")", error.getMessage(), error);
+                        }
+                    }
                 } catch (InterruptedException | ExecutionException ex) {
-                    NotifyUtil.error("Can't generate output (" + output.getName() + ")", ex.getMessage(), ex);
+                    NotifyUtil.error("Can't generate output (" + names + ")", ex.getMessage(), ex);
                 }
             }
         }.execute();
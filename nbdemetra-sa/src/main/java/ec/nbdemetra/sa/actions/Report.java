@@ -9,6 +9,7 @@ import ec.nbdemetra.sa.MultiProcessingManager;
 import ec.nbdemetra.sa.ReportSelectionDialog;
 import ec.nbdemetra.sa.SaBatchUI;
 import ec.nbdemetra.sa.SaReportManager;
+import ec.nbdemetra.sa.SaResultsRetention;
 import ec.nbdemetra.ws.actions.AbstractViewAction;
 import ec.tss.sa.SaProcessing;
 import java.util.List;
@@ -37,7 +38,7 @@ public final class Report extends AbstractViewAction<SaBatchUI> {
     @Override
     protected void refreshAction() {
         SaBatchUI ui = this.context();
-        enabled = ui != null && ui.getCurrentProcessing() != null && ui.getCurrentProcessing().isProcessed()
+        enabled = ui != null && ui.getCurrentProcessing() != null && ui.getRetention().isProcessed(ui.getCurrentProcessing())
                 && !SaReportManager.getInstance().getFactories().isEmpty()
                 && !ui.isTableEmpty();
     }
@@ -45,7 +46,8 @@ public final class Report extends AbstractViewAction<SaBatchUI> {
     @Override
     protected void process(SaBatchUI ui) {
         SaProcessing processing = ui.getCurrentProcessing();
-        if (processing == null || !processing.isProcessed()) {
+        SaResultsRetention retention = ui.getRetention();
+        if (processing == null || !retention.isProcessed(processing)) {
             return;
         }
 
@@ -54,7 +56,7 @@ public final class Report extends AbstractViewAction<SaBatchUI> {
             return;
         }
         if (factories.size() == 1) {
-            factories.get(0).createReport(processing);
+            factories.get(0).createReport(processing, retention);
         } else {
             ReportSelectionDialog dlg = new ReportSelectionDialog();
             dlg.setLocationRelativeTo(ui);
@@ -63,7 +65,7 @@ public final class Report extends AbstractViewAction<SaBatchUI> {
             ISaReportFactory reportFactory = dlg.getReportFactory();
 
             if (reportFactory != null) {
-                reportFactory.createReport(processing);
+                reportFactory.createReport(processing, retention);
             }
         }
     }
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.sa.output;
+
+import com.google.common.base.Throwables;
+import ec.nbdemetra.core.BatchExecutor;
+import ec.satoolkit.ISaSpecification;
+import ec.tss.sa.ISaOutputFactory;
+import ec.tss.sa.SaItem;
+import ec.tss.sa.documents.SaDocument;
+import ec.tstoolkit.algorithm.IOutput;
+import ec.tstoolkit.utilities.LinearId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Generates several batch outputs in a single pass over the items of a
+ * processing.
+ * <p>
+ * Each item is converted once into a document and the document is given to
+ * all the outputs. The conversions are run in parallel on the
+ * {@link BatchExecutor}, a bounded number of items ahead, while the outputs
+ * receive the documents in the order of the items. An output that fails is
+ * dropped without stopping the other ones. Every output that has been started
+ * is ended, even if the pipeline itself fails.
+ */
+public final class OutputPipeline {
+
+    /**
+     * Outcome of an output.
+     */
+    public static final class Report {
+
+        private final String name;
+        private int count;
+        private long nanos;
+        private Throwable error;
+
+        private Report(String name) {
+            this.name = name;
+        }
+
+        @Nonnull
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the number of items received by the output.
+         *
+         * @return
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the time spent in the output, in nanoseconds.
+         *
+         * @return
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Gets the number of items written per second.
+         *
+         * @return
+         */
+        public double getThroughput() {
+            return nanos > 0 ? count * 1e9 / nanos : 0;
+        }
+
+        @Nullable
+        public Throwable getError() {
+            return error;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        @Override
+        public String toString() {
+            return isSuccess()
+                    ? String.format("%s: %d items (%.1f items/s)", name, count, getThroughput())
+                    : name + ": " + error.getMessage();
+        }
+    }
+
+    private static final class Sink {
+
+        private final Report report;
+        private final IOutput<SaDocument<ISaSpecification>> output;
+
+        private Sink(Report report, IOutput<SaDocument<ISaSpecification>> output) {
+            this.report = report;
+            this.output = output;
+        }
+    }
+
+    private final List<ISaOutputFactory> factories;
+
+    public OutputPipeline(@Nonnull List<ISaOutputFactory> factories) {
+        this.factories = new ArrayList<>(factories);
+    }
+
+    /**
+     * Generates the outputs.
+     *
+     * @param id the identifier of the processing
+     * @param items the items, which should be processed
+     * @param progress called with the number of items written so far
+     * @return one report by output, in the order of the factories
+     * @throws CancellationException if the current thread is interrupted
+     */
+    @Nonnull
+    public List<Report> run(@Nonnull LinearId id, @Nonnull SaItem[] items, @Nonnull IntConsumer progress) throws CancellationException {
+        List<Report> result = new ArrayList<>();
+        List<Sink> started = new ArrayList<>();
+        for (ISaOutputFactory factory : factories) {
+            Report report = new Report(factory.getName());
+            result.add(report);
+            long start = System.nanoTime();
+            try {
+                IOutput<SaDocument<ISaSpecification>> output = factory.create();
+                output.start(id);
+                started.add(new Sink(report, output));
+            } catch (Exception ex) {
+                report.error = ex;
+            }
+            report.nanos += System.nanoTime() - start;
+        }
+
+        List<Sink> sinks = new ArrayList<>(started);
+        BatchExecutor executor = BatchExecutor.getDefault();
+        int window = Math.max(2, executor.getParallelism() * 2);
+        Deque<Future<SaDocument<ISaSpecification>>> pending = new ArrayDeque<>();
+        int next = 0;
+        try {
+            for (int i = 0; i < items.length && !sinks.isEmpty(); ++i) {
+                while (next < items.length && pending.size() < window) {
+                    SaItem item = items[next++];
+                    pending.add(executor.submit(item::toDocument));
+                }
+                SaDocument<ISaSpecification> doc = get(pending.poll());
+                for (Sink sink : new ArrayList<>(sinks)) {
+                    long start = System.nanoTime();
+                    try {
+                        sink.output.process(doc);
+                        sink.report.count++;
+                    } catch (Exception ex) {
+                        sink.report.error = ex;
+                        sinks.remove(sink);
+                    }
+                    sink.report.nanos += System.nanoTime() - start;
+                }
+                progress.accept(i + 1);
+            }
+        } finally {
+            pending.forEach(o -> o.cancel(true));
+            end(id, started);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    // the outputs that have failed are also ended, so that they release their resources
+    private static void end(LinearId id, List<Sink> sinks) {
+        for (Sink sink : sinks) {
+            long start = System.nanoTime();
+            try {
+                sink.output.end(id);
+            } catch (Exception ex) {
+                if (sink.report.error == null) {
+                    sink.report.error = ex;
+                }
+            }
+            sink.report.nanos += System.nanoTime() - start;
+        }
+    }
+
+    private static <T> T get(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        } catch (ExecutionException ex) {
+            throw Throwables.propagate(ex.getCause());
+        }
+    }
+}
@@ -45,7 +45,7 @@ public class TramoSeatsDocFileRepository extends AbstractFileItemRepository<Tram
         if (sfile == null) {
             return false;
         }
-        if (AbstractFileItemRepository.saveInfo(sfile, element)) {
+        if (AbstractFileItemRepository.saveInfo(sfile, element, getFormat(item))) {
             item.resetDirty();
             return true;
         } else {
@@ -40,7 +40,7 @@ public class TramoSeatsSpecFileRepository extends AbstractFileItemRepository<Tra
         String sfile= this.fullName(item, REPOSITORY, true);
         if (sfile == null)
             return false;
-        if(saveInfo(sfile, item.getElement())){
+        if(saveInfo(sfile, item.getElement(), getFormat(item))){
             item.resetDirty();
              return true;
         }else
@@ -38,7 +38,7 @@ public class TramoSpecFileRepository extends AbstractFileItemRepository<TramoSpe
         if (sfile == null) {
             return false;
         }
-        if(saveInfo(sfile, item.getElement())){
+        if(saveInfo(sfile, item.getElement(), getFormat(item))){
             item.resetDirty();
             return true;
         }else
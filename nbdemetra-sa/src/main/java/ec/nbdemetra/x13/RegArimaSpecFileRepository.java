@@ -35,7 +35,7 @@ public class RegArimaSpecFileRepository extends AbstractFileItemRepository<RegAr
         String sfile= this.fullName(item, REPOSITORY, true);
         if (sfile == null)
             return false;
-        if(saveInfo(sfile, item.getElement())){
+        if(saveInfo(sfile, item.getElement(), getFormat(item))){
             item.resetDirty();
             return true;
         }else
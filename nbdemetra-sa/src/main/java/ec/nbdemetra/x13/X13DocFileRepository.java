@@ -49,7 +49,7 @@ public class X13DocFileRepository extends AbstractFileItemRepository<X13Document
         if (sfile == null) {
             return false;
         }
-        if (saveInfo(sfile, element)) {
+        if (saveInfo(sfile, element, getFormat(item))) {
             item.resetDirty();
             item.getElement().resetDirty();
             return true;
@@ -44,7 +44,7 @@ public class X13SpecFileRepository extends AbstractFileItemRepository<X13Specifi
          String sfile= this.fullName(item, REPOSITORY, true);
         if (sfile == null)
             return false;
-         if(saveInfo(sfile, item.getElement())){
+         if(saveInfo(sfile, item.getElement(), getFormat(item))){
             item.resetDirty();
             return true;
         }else
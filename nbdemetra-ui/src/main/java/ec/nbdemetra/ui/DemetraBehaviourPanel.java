@@ -42,6 +42,9 @@ final class DemetraBehaviourPanel extends javax.swing.JPanel implements ItemList
         persistOpenDataSources.addItemListener(this);
         batchPoolSizeCombo.addItemListener(this);
         batchPriorityCombo.addItemListener(this);
+        batchMaxInFlightSpinner.addChangeListener(evt -> controller.changed());
+        saResultsBudgetSpinner.addChangeListener(evt -> controller.changed());
+        parallelWorkspaceIOCheckBox.addItemListener(this);
         tsActionChoicePanel.getComboBox().addItemListener(this);
     }
 
@@ -58,6 +61,9 @@ final class DemetraBehaviourPanel extends javax.swing.JPanel implements ItemList
         batchPoolSizeCombo.setSelectedItem(demetraUI.getBatchPoolSize());
         batchPriorityCombo.setModel(new DefaultComboBoxModel(ThreadPriority.values()));
         batchPriorityCombo.setSelectedItem(demetraUI.getBatchPriority());
+        batchMaxInFlightSpinner.setValue(demetraUI.getBatchMaxInFlight());
+        saResultsBudgetSpinner.setValue(demetraUI.getSaResultsBudget());
+        parallelWorkspaceIOCheckBox.setSelected(demetraUI.isParallelWorkspaceIO());
     }
 
     void store() {
@@ -70,6 +76,9 @@ final class DemetraBehaviourPanel extends javax.swing.JPanel implements ItemList
 
         demetraUI.setBatchPriority((ThreadPriority) batchPriorityCombo.getSelectedItem());
         demetraUI.setBatchPoolSize((ThreadPoolSize) batchPoolSizeCombo.getSelectedItem());
+        demetraUI.setBatchMaxInFlight((Integer) batchMaxInFlightSpinner.getValue());
+        demetraUI.setSaResultsBudget((Integer) saResultsBudgetSpinner.getValue());
+        demetraUI.setParallelWorkspaceIO(parallelWorkspaceIOCheckBox.isSelected());
     }
 
     boolean valid() {
@@ -91,6 +100,11 @@ final class DemetraBehaviourPanel extends javax.swing.JPanel implements ItemList
         batchPriorityCombo = new javax.swing.JComboBox();
         batchPriorityLabel = new javax.swing.JLabel();
         batchPoolSizeCombo = new javax.swing.JComboBox();
+        batchMaxInFlightLabel = new javax.swing.JLabel();
+        batchMaxInFlightSpinner = new javax.swing.JSpinner();
+        saResultsBudgetLabel = new javax.swing.JLabel();
+        saResultsBudgetSpinner = new javax.swing.JSpinner();
+        parallelWorkspaceIOCheckBox = new javax.swing.JCheckBox();
         persistencePanel = new javax.swing.JPanel();
         persistToolsContent = new javax.swing.JCheckBox();
         persistOpenDataSources = new javax.swing.JCheckBox();
@@ -110,6 +124,16 @@ final class DemetraBehaviourPanel extends javax.swing.JPanel implements ItemList
 
         batchPoolSizeCombo.setOpaque(false);
 
+        org.openide.awt.Mnemonics.setLocalizedText(batchMaxInFlightLabel, org.openide.util.NbBundle.getMessage(DemetraBehaviourPanel.class, "DemetraBehaviourPanel.batchMaxInFlightLabel.text")); // NOI18N
+
+        batchMaxInFlightSpinner.setModel(new javax.swing.SpinnerNumberModel(256, 1, 100000, 1));
+
+        org.openide.awt.Mnemonics.setLocalizedText(saResultsBudgetLabel, org.openide.util.NbBundle.getMessage(DemetraBehaviourPanel.class, "DemetraBehaviourPanel.saResultsBudgetLabel.text")); // NOI18N
+
+        saResultsBudgetSpinner.setModel(new javax.swing.SpinnerNumberModel(1000, 1, 10000000, 100));
+
+        org.openide.awt.Mnemonics.setLocalizedText(parallelWorkspaceIOCheckBox, org.openide.util.NbBundle.getMessage(DemetraBehaviourPanel.class, "DemetraBehaviourPanel.parallelWorkspaceIOCheckBox.text")); // NOI18N
+
         javax.swing.GroupLayout threadingPanelLayout = new javax.swing.GroupLayout(threadingPanel);
         threadingPanel.setLayout(threadingPanelLayout);
         threadingPanelLayout.setHorizontalGroup(
@@ -118,11 +142,19 @@ final class DemetraBehaviourPanel extends javax.swing.JPanel implements ItemList
                 .addContainerGap()
                 .addGroup(threadingPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING, false)
                     .addComponent(batchPoolLabel)
-                    .addComponent(batchPriorityLabel, javax.swing.GroupLayout.PREFERRED_SIZE, 78, javax.swing.GroupLayout.PREFERRED_SIZE))
+                    .addComponent(batchPriorityLabel, javax.swing.GroupLayout.PREFERRED_SIZE, 78, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(batchMaxInFlightLabel)
+                    .addComponent(saResultsBudgetLabel))
                 .addGap(6, 6, 6)
                 .addGroup(threadingPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.TRAILING, false)
                     .addComponent(batchPriorityCombo, 0, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
-                    .addComponent(batchPoolSizeCombo, javax.swing.GroupLayout.PREFERRED_SIZE, 176, javax.swing.GroupLayout.PREFERRED_SIZE))
+                    .addComponent(batchPoolSizeCombo, javax.swing.GroupLayout.PREFERRED_SIZE, 176, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(batchMaxInFlightSpinner)
+                    .addComponent(saResultsBudgetSpinner))
+                .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
+            .addGroup(threadingPanelLayout.createSequentialGroup()
+                .addContainerGap()
+                .addComponent(parallelWorkspaceIOCheckBox)
                 .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
         );
         threadingPanelLayout.setVerticalGroup(
@@ -135,6 +167,16 @@ final class DemetraBehaviourPanel extends javax.swing.JPanel implements ItemList
                 .addGroup(threadingPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
                     .addComponent(batchPriorityLabel)
                     .addComponent(batchPriorityCombo, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(threadingPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(batchMaxInFlightLabel)
+                    .addComponent(batchMaxInFlightSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addGroup(threadingPanelLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(saResultsBudgetLabel)
+                    .addComponent(saResultsBudgetSpinner, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(parallelWorkspaceIOCheckBox)
                 .addContainerGap())
         );
 
@@ -220,7 +262,7 @@ final class DemetraBehaviourPanel extends javax.swing.JPanel implements ItemList
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                 .addComponent(persistencePanel, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
-                .addComponent(threadingPanel, javax.swing.GroupLayout.PREFERRED_SIZE, 68, javax.swing.GroupLayout.PREFERRED_SIZE)
+                .addComponent(threadingPanel, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                 .addComponent(tsPanel, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
                 .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
@@ -229,15 +271,20 @@ final class DemetraBehaviourPanel extends javax.swing.JPanel implements ItemList
 
 
     // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JLabel batchMaxInFlightLabel;
+    private javax.swing.JSpinner batchMaxInFlightSpinner;
     private javax.swing.JLabel batchPoolLabel;
     private javax.swing.JComboBox batchPoolSizeCombo;
     private javax.swing.JComboBox batchPriorityCombo;
     private javax.swing.JLabel batchPriorityLabel;
     private javax.swing.JLabel doubleClickLabel;
+    private javax.swing.JCheckBox parallelWorkspaceIOCheckBox;
     private javax.swing.JCheckBox persistOpenDataSources;
     private javax.swing.JCheckBox persistToolsContent;
     private javax.swing.JPanel persistencePanel;
     private javax.swing.JPanel providersPanel;
+    private javax.swing.JLabel saResultsBudgetLabel;
+    private javax.swing.JSpinner saResultsBudgetSpinner;
     private javax.swing.JCheckBox showUnavailableCheckBox;
     private javax.swing.JPanel threadingPanel;
     private ec.nbdemetra.ui.ns.NamedServiceChoicePanel tsActionChoicePanel;
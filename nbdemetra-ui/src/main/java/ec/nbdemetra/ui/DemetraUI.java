@@ -20,6 +20,7 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Ordering;
+import ec.nbdemetra.core.BatchExecutor;
 import ec.nbdemetra.core.GlobalService;
 import ec.nbdemetra.ui.awt.ListenableBean;
 import ec.nbdemetra.ui.properties.l2fprod.OutlierDefinitionsEditor.PrespecificiedOutliersEditor;
@@ -84,6 +85,10 @@ public class DemetraUI extends ListenableBean implements IConfigurable {
     public static final String PERSIST_OPENED_DATASOURCES_PROPERTY = "persistOpenDataSources";
     public static final String BATCH_POOL_SIZE_PROPERTY = "batchPoolSize";
     public static final String BATCH_PRIORITY_PROPERTY = "batchPriority";
+    public static final String BATCH_MAX_IN_FLIGHT_PROPERTY = "batchMaxInFlight";
+    public static final String SA_RESULTS_BUDGET_PROPERTY = "saResultsBudget";
+    public static final String SA_INCREMENTAL_REFRESH_PROPERTY = "saIncrementalRefresh";
+    public static final String PARALLEL_WORKSPACE_IO_PROPERTY = "parallelWorkspaceIO";
     public static final String GROWTH_CHART_LENGTH_PROPERTY = "growthChartLength";
     public static final String SPECTRAL_YEARS_PROPERTY = "spectralLastYears";
     public static final String STABILITY_YEARS_PROPERTY = "stabilityLastYears";
@@ -104,6 +109,10 @@ public class DemetraUI extends ListenableBean implements IConfigurable {
     static final IParam<Config, Boolean> PERSIST_OPENED_DATASOURCES = Params.onBoolean(false, PERSIST_OPENED_DATASOURCES_PROPERTY);
     static final IParam<Config, ThreadPoolSize> BATCH_POOL_SIZE = Params.onEnum(ThreadPoolSize.ALL_BUT_ONE, BATCH_POOL_SIZE_PROPERTY);
     static final IParam<Config, ThreadPriority> BATCH_PRIORITY = Params.onEnum(ThreadPriority.NORMAL, BATCH_PRIORITY_PROPERTY);
+    static final IParam<Config, Integer> BATCH_MAX_IN_FLIGHT = Params.onInteger(256, BATCH_MAX_IN_FLIGHT_PROPERTY);
+    static final IParam<Config, Integer> SA_RESULTS_BUDGET = Params.onInteger(1000, SA_RESULTS_BUDGET_PROPERTY);
+    static final IParam<Config, Boolean> SA_INCREMENTAL_REFRESH = Params.onBoolean(false, SA_INCREMENTAL_REFRESH_PROPERTY);
+    static final IParam<Config, Boolean> PARALLEL_WORKSPACE_IO = Params.onBoolean(true, PARALLEL_WORKSPACE_IO_PROPERTY);
     static final IParam<Config, Integer> GROWTH_LAST_YEARS = Params.onInteger(ATsGrowthChart.DEFAULT_LAST_YEARS, GROWTH_CHART_LENGTH_PROPERTY);
     static final IParam<Config, Integer> SPECTRAL_LAST_YEARS = Params.onInteger(AutoRegressiveSpectrumView.DEFAULT_LAST, SPECTRAL_YEARS_PROPERTY);
     static final IParam<Config, Integer> STABILITY_LENGTH = Params.onInteger(8, STABILITY_YEARS_PROPERTY);
@@ -205,6 +214,7 @@ public class DemetraUI extends ListenableBean implements IConfigurable {
     public void setBatchPoolSize(ThreadPoolSize batchPoolSize) {
         ThreadPoolSize old = this.properties.batchPoolSize;
         this.properties.batchPoolSize = batchPoolSize != null ? batchPoolSize : BATCH_POOL_SIZE.defaultValue();
+        BatchExecutor.getDefault().setPoolSize(this.properties.batchPoolSize);
         firePropertyChange(BATCH_POOL_SIZE_PROPERTY, old, this.properties.batchPoolSize);
     }
 
@@ -215,9 +225,50 @@ public class DemetraUI extends ListenableBean implements IConfigurable {
     public void setBatchPriority(ThreadPriority batchPriority) {
         ThreadPriority old = this.properties.batchPriority;
         this.properties.batchPriority = batchPriority != null ? batchPriority : BATCH_PRIORITY.defaultValue();
+        BatchExecutor.getDefault().setPriority(this.properties.batchPriority);
         firePropertyChange(BATCH_PRIORITY_PROPERTY, old, this.properties.batchPriority);
     }
 
+    public Integer getBatchMaxInFlight() {
+        return properties.batchMaxInFlight;
+    }
+
+    public void setBatchMaxInFlight(Integer maxInFlight) {
+        Integer old = this.properties.batchMaxInFlight;
+        this.properties.batchMaxInFlight = maxInFlight != null && maxInFlight > 0 ? maxInFlight : BATCH_MAX_IN_FLIGHT.defaultValue();
+        firePropertyChange(BATCH_MAX_IN_FLIGHT_PROPERTY, old, this.properties.batchMaxInFlight);
+    }
+
+    public Integer getSaResultsBudget() {
+        return properties.saResultsBudget;
+    }
+
+    public void setSaResultsBudget(Integer budget) {
+        Integer old = this.properties.saResultsBudget;
+        this.properties.saResultsBudget = budget != null && budget > 0 ? budget : SA_RESULTS_BUDGET.defaultValue();
+        firePropertyChange(SA_RESULTS_BUDGET_PROPERTY, old, this.properties.saResultsBudget);
+    }
+
+    public boolean isSaIncrementalRefresh() {
+        return properties.saIncrementalRefresh;
+    }
+
+    public void setSaIncrementalRefresh(boolean incrementalRefresh) {
+        boolean old = this.properties.saIncrementalRefresh;
+        this.properties.saIncrementalRefresh = incrementalRefresh;
+        firePropertyChange(SA_INCREMENTAL_REFRESH_PROPERTY, old, this.properties.saIncrementalRefresh);
+    }
+
+    public boolean isParallelWorkspaceIO() {
+        return properties.parallelWorkspaceIO;
+    }
+
+    public void setParallelWorkspaceIO(boolean parallelWorkspaceIO) {
+        boolean old = this.properties.parallelWorkspaceIO;
+        this.properties.parallelWorkspaceIO = parallelWorkspaceIO;
+        firePropertyChange(PARALLEL_WORKSPACE_IO_PROPERTY, old, this.properties.parallelWorkspaceIO);
+    }
+
     public Integer getGrowthLastYears() {
         return properties.growthLastYears;
     }
@@ -398,6 +449,10 @@ public class DemetraUI extends ListenableBean implements IConfigurable {
         setPersistOpenedDataSources(bean.persistOpenedDataSources);
         setBatchPoolSize(bean.batchPoolSize);
         setBatchPriority(bean.batchPriority);
+        setBatchMaxInFlight(bean.batchMaxInFlight);
+        setSaResultsBudget(bean.saResultsBudget);
+        setSaIncrementalRefresh(bean.saIncrementalRefresh);
+        setParallelWorkspaceIO(bean.parallelWorkspaceIO);
         setGrowthLastYears(bean.growthLastYears);
         setSpectralLastYears(bean.spectralLastYears);
         setEstimationPolicyType(bean.estimationPolicyType);
@@ -427,6 +482,10 @@ public class DemetraUI extends ListenableBean implements IConfigurable {
         boolean persistOpenedDataSources;
         ThreadPoolSize batchPoolSize;
         ThreadPriority batchPriority;
+        Integer batchMaxInFlight;
+        Integer saResultsBudget;
+        boolean saIncrementalRefresh;
+        boolean parallelWorkspaceIO;
         Integer growthLastYears;
         Integer spectralLastYears;
         EstimationPolicyType estimationPolicyType;
@@ -447,6 +506,10 @@ public class DemetraUI extends ListenableBean implements IConfigurable {
             persistOpenedDataSources = PERSIST_OPENED_DATASOURCES.defaultValue();
             batchPoolSize = BATCH_POOL_SIZE.defaultValue();
             batchPriority = BATCH_PRIORITY.defaultValue();
+            batchMaxInFlight = BATCH_MAX_IN_FLIGHT.defaultValue();
+            saResultsBudget = SA_RESULTS_BUDGET.defaultValue();
+            saIncrementalRefresh = SA_INCREMENTAL_REFRESH.defaultValue();
+            parallelWorkspaceIO = PARALLEL_WORKSPACE_IO.defaultValue();
             growthLastYears = GROWTH_LAST_YEARS.defaultValue();
             spectralLastYears = SPECTRAL_LAST_YEARS.defaultValue();
             estimationPolicyType = ESTIMATION_POLICY_TYPE.defaultValue();
@@ -469,6 +532,10 @@ public class DemetraUI extends ListenableBean implements IConfigurable {
             persistOpenedDataSources = PERSIST_OPENED_DATASOURCES.get(config);
             batchPoolSize = BATCH_POOL_SIZE.get(config);
             batchPriority = BATCH_PRIORITY.get(config);
+            batchMaxInFlight = BATCH_MAX_IN_FLIGHT.get(config);
+            saResultsBudget = SA_RESULTS_BUDGET.get(config);
+            saIncrementalRefresh = SA_INCREMENTAL_REFRESH.get(config);
+            parallelWorkspaceIO = PARALLEL_WORKSPACE_IO.get(config);
             growthLastYears = GROWTH_LAST_YEARS.get(config);
             spectralLastYears = SPECTRAL_LAST_YEARS.get(config);
             estimationPolicyType = ESTIMATION_POLICY_TYPE.get(config);
@@ -491,6 +558,10 @@ public class DemetraUI extends ListenableBean implements IConfigurable {
             PERSIST_OPENED_DATASOURCES.set(b, persistOpenedDataSources);
             BATCH_POOL_SIZE.set(b, batchPoolSize);
             BATCH_PRIORITY.set(b, batchPriority);
+            BATCH_MAX_IN_FLIGHT.set(b, batchMaxInFlight);
+            SA_RESULTS_BUDGET.set(b, saResultsBudget);
+            SA_INCREMENTAL_REFRESH.set(b, saIncrementalRefresh);
+            PARALLEL_WORKSPACE_IO.set(b, parallelWorkspaceIO);
             GROWTH_LAST_YEARS.set(b, growthLastYears);
             SPECTRAL_LAST_YEARS.set(b, spectralLastYears);
             ESTIMATION_POLICY_TYPE.set(b, estimationPolicyType);
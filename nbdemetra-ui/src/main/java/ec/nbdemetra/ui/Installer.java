@@ -19,7 +19,11 @@ package ec.nbdemetra.ui;
 import com.google.common.base.Optional;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Iterators;
+import ec.nbdemetra.core.BatchExecutor;
 import ec.nbdemetra.core.InstallerStep;
+import ec.nbdemetra.core.ReopenedDataSources;
+import ec.nbdemetra.core.StartupOrchestrator;
+import ec.nbdemetra.core.StartupProfile;
 import ec.nbdemetra.sa.output.INbOutputFactory;
 import ec.nbdemetra.ui.interchange.InterchangeBroker;
 import ec.nbdemetra.ui.mru.MruProvidersStep;
@@ -40,7 +44,12 @@ import ec.tss.tsproviders.utils.Parsers;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.prefs.BackingStoreException;
 import java.util.prefs.Preferences;
 import java.util.stream.Stream;
@@ -52,6 +61,7 @@ import org.jfree.chart.renderer.category.BarRenderer;
 import org.jfree.chart.renderer.category.StandardBarPainter;
 import org.openide.modules.ModuleInstall;
 import org.openide.util.Lookup;
+import org.openide.windows.WindowManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,18 +69,9 @@ public final class Installer extends ModuleInstall {
 
     private final static Logger LOGGER = LoggerFactory.getLogger(Installer.class);
 
-    private final InstallerStep step = InstallerStep.all(
-            new JFreeChartStep(),
-            new FormattersStep(),
-            new MruProvidersStep(),
-            new MruWorkspacesStep(),
-            new StarHelper(),
-            new DemetraUIStep(),
-            new PersistOpenedDataSourcesStep(),
-            new InterchangeStep(),
-            new ProviderBuddiesStep(),
-            new DiagnosticsBuddiesStep(),
-            new OutputBuddiesStep());
+    private static final String MODULE = "nbdemetra-ui";
+
+    private final InstallerStep step = createStep();
 
     @Override
     public void restored() {
@@ -89,6 +90,26 @@ public final class Installer extends ModuleInstall {
         return WorkspaceFactory.getInstance().closeWorkspace(true);
     }
 
+    private static InstallerStep createStep() {
+        // the data sources are opened once the mru listener is registered
+        InstallerStep mruProviders = new MruProvidersStep();
+        // the other steps read the options of DemetraUI while restoring
+        InstallerStep demetraUI = new DemetraUIStep();
+        return StartupOrchestrator.builder(MODULE)
+                .step(new JFreeChartStep())
+                .step(demetraUI)
+                .step(new FormattersStep(), demetraUI)
+                .step(mruProviders)
+                .step(new MruWorkspacesStep())
+                .step(new StarHelper(), mruProviders)
+                .step(new PersistOpenedDataSourcesStep(), demetraUI, mruProviders)
+                .step(new InterchangeStep(), demetraUI)
+                .step(new ProviderBuddiesStep(), demetraUI)
+                .step(new DiagnosticsBuddiesStep(), demetraUI)
+                .step(new OutputBuddiesStep(), demetraUI)
+                .build();
+    }
+
     //<editor-fold defaultstate="collapsed" desc="Steps implementation">
     private static final class JFreeChartStep extends InstallerStep {
 
@@ -136,30 +157,69 @@ public final class Installer extends ModuleInstall {
         }
     }
 
+    /**
+     * Reopens the persisted data sources once the main window is shown. The
+     * loaders are processed concurrently but each loader opens its data
+     * sources sequentially. The reopening is published through
+     * {@link ReopenedDataSources}.
+     */
     private static final class PersistOpenedDataSourcesStep extends InstallerStep {
 
+        // sources of the loaders that are still reopening their data sources
+        private final Set<String> pending = ConcurrentHashMap.newKeySet();
+        private CompletableFuture<Void> reopening;
+
         @Override
         public void restore() {
             if (DemetraUI.getDefault().isPersistOpenedDataSources()) {
                 Preferences prefs = prefs();
                 IParser<DataSourcesBean> parser = Parsers.onJAXB(DataSourcesBean.class);
+                Map<IDataSourceLoader, DataSourcesBean> values = new LinkedHashMap<>();
                 for (IDataSourceLoader o : TsProviders.all().filter(IDataSourceLoader.class)) {
                     Optional<DataSourcesBean> value = tryGet(prefs, o.getSource(), parser);
                     if (value.isPresent()) {
-                        for (DataSource dataSource : value.get()) {
-                            o.open(dataSource);
-                        }
+                        values.put(o, value.get());
+                        pending.add(o.getSource());
                     }
                 }
+                if (!values.isEmpty()) {
+                    reopening = ReopenedDataSources.getDefault().start();
+                    WindowManager.getDefault().invokeWhenUIReady(() -> values.forEach(this::reopenLater));
+                }
             }
         }
 
+        private void reopenLater(IDataSourceLoader loader, DataSourcesBean value) {
+            BatchExecutor.getDefault().execute(() -> {
+                long start = System.nanoTime();
+                try {
+                    for (DataSource dataSource : value) {
+                        try {
+                            loader.open(dataSource);
+                        } catch (RuntimeException ex) {
+                            LOGGER.warn("Can't reopen " + dataSource, ex);
+                        }
+                    }
+                } finally {
+                    pending.remove(loader.getSource());
+                    if (pending.isEmpty()) {
+                        reopening.complete(null);
+                    }
+                }
+                StartupProfile.getDefault().record(MODULE, "PersistOpenedDataSourcesStep/" + loader.getSource() + " (deferred)", start, System.nanoTime());
+            });
+        }
+
         @Override
         public void close() {
             if (DemetraUI.getDefault().isPersistOpenedDataSources()) {
                 Preferences prefs = prefs();
                 IFormatter<DataSourcesBean> formatter = Formatters.onJAXB(DataSourcesBean.class, false);
                 for (IDataSourceLoader o : TsProviders.all().filter(IDataSourceLoader.class)) {
+                    if (pending.contains(o.getSource())) {
+                        // keeps the persisted value since it hasn't been fully reopened
+                        continue;
+                    }
                     DataSourcesBean value = new DataSourcesBean();
                     value.dataSources = o.getDataSources();
                     tryPut(prefs, o.getSource(), formatter, value);
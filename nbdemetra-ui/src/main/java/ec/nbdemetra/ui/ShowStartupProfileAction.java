@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.ui;
+
+import ec.nbdemetra.core.StartupProfile;
+import java.awt.Dimension;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.List;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.table.AbstractTableModel;
+import org.openide.DialogDisplayer;
+import org.openide.NotifyDescriptor;
+import org.openide.awt.ActionID;
+import org.openide.awt.ActionReference;
+import org.openide.awt.ActionRegistration;
+import org.openide.util.NbBundle;
+
+/**
+ * Shows the durations of the startup steps.
+ *
+ * @since 2.2.0
+ */
+@ActionID(category = "Help", id = "ec.nbdemetra.ui.ShowStartupProfileAction")
+@ActionRegistration(displayName = "#CTL_ShowStartupProfileAction")
+@ActionReference(path = "Menu/Help", position = 1400)
+@NbBundle.Messages({
+    "CTL_ShowStartupProfileAction=Startup Profile",
+    "ShowStartupProfileAction.module=Module",
+    "ShowStartupProfileAction.step=Step",
+    "ShowStartupProfileAction.thread=Thread",
+    "ShowStartupProfileAction.start=Start (ms)",
+    "ShowStartupProfileAction.duration=Duration (ms)"
+})
+public final class ShowStartupProfileAction implements ActionListener {
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        JTable table = new JTable(new ProfileModel(StartupProfile.getDefault().getEntries()));
+        table.setAutoCreateRowSorter(true);
+        JScrollPane scrollPane = NbComponents.newJScrollPane(table);
+        scrollPane.setPreferredSize(new Dimension(640, 320));
+        NotifyDescriptor nd = new NotifyDescriptor.Message(scrollPane, NotifyDescriptor.PLAIN_MESSAGE);
+        nd.setTitle(Bundle.CTL_ShowStartupProfileAction());
+        DialogDisplayer.getDefault().notify(nd);
+    }
+
+    private static final class ProfileModel extends AbstractTableModel {
+
+        private final List<StartupProfile.Entry> entries;
+
+        ProfileModel(List<StartupProfile.Entry> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public int getRowCount() {
+            return entries.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return 5;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            switch (column) {
+                case 0:
+                    return Bundle.ShowStartupProfileAction_module();
+                case 1:
+                    return Bundle.ShowStartupProfileAction_step();
+                case 2:
+                    return Bundle.ShowStartupProfileAction_thread();
+                case 3:
+                    return Bundle.ShowStartupProfileAction_start();
+                default:
+                    return Bundle.ShowStartupProfileAction_duration();
+            }
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return column < 3 ? String.class : Long.class;
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            StartupProfile.Entry entry = entries.get(row);
+            switch (column) {
+                case 0:
+                    return entry.getModule();
+                case 1:
+                    return entry.getStep();
+                case 2:
+                    return entry.getThread();
+                case 3:
+                    return entry.getStart();
+                default:
+                    return entry.getDuration();
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@
  */
 package ec.nbdemetra.ui.awt;
 
+import java.util.Arrays;
 import java.util.List;
 import javax.swing.table.AbstractTableModel;
 
@@ -13,6 +14,8 @@ import javax.swing.table.AbstractTableModel;
  */
 public abstract class ListTableModel<T> extends AbstractTableModel {
 
+    private static final int MAX_UPDATE_EVENTS = 32;
+
     abstract protected List<String> getColumnNames();
 
     abstract protected List<T> getValues();
@@ -38,4 +41,36 @@ public abstract class ListTableModel<T> extends AbstractTableModel {
     public Object getValueAt(int rowIndex, int columnIndex) {
         return getValueAt(getValues().get(rowIndex), columnIndex);
     }
+
+    /**
+     * Notifies listeners that some rows have been updated. Consecutive indexes
+     * are grouped in a single event; if the indexes are too scattered, a single
+     * event covering all of them is fired instead.
+     *
+     * @param rowIndexes the indexes of the updated rows, in any order
+     */
+    public void fireTableRowsUpdated(int[] rowIndexes) {
+        if (rowIndexes.length == 0) {
+            return;
+        }
+        int[] rows = rowIndexes.clone();
+        Arrays.sort(rows);
+        int runs = 1;
+        for (int i = 1; i < rows.length; i++) {
+            if (rows[i] > rows[i - 1] + 1) {
+                runs++;
+            }
+        }
+        if (runs > MAX_UPDATE_EVENTS) {
+            fireTableRowsUpdated(rows[0], rows[rows.length - 1]);
+            return;
+        }
+        int first = 0;
+        for (int i = 1; i <= rows.length; i++) {
+            if (i == rows.length || rows[i] > rows[i - 1] + 1) {
+                fireTableRowsUpdated(rows[first], rows[i - 1]);
+                first = i;
+            }
+        }
+    }
 }
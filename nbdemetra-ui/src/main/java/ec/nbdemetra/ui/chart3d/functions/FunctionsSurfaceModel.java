@@ -16,8 +16,7 @@
  */
 package ec.nbdemetra.ui.chart3d.functions;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
-import ec.nbdemetra.ui.DemetraUI;
+import ec.nbdemetra.core.BatchExecutor;
 import ec.nbdemetra.ui.chart3d.AbstractSurfaceModel;
 import ec.nbdemetra.ui.chart3d.SurfaceModel.PlotType;
 import ec.nbdemetra.ui.chart3d.SurfaceVertex;
@@ -27,10 +26,9 @@ import ec.tstoolkit.maths.realfunctions.IFunction;
 import ec.tstoolkit.maths.realfunctions.IFunctionInstance;
 import ec.tstoolkit.maths.realfunctions.IParametersDomain;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import javax.swing.SwingWorker;
 
 /**
@@ -48,8 +46,14 @@ public class FunctionsSurfaceModel extends AbstractSurfaceModel {
     private int steps;
     private SurfaceVertex optimum;
     private float eps;
-    private SwingWorker<Void, Void> worker;
+    private SwingWorker<Void, Integer> worker;
+    private int requestedDispDivisions;
     public static final String PROGRESS_PROPERTY = "progress changed";
+    // coarsest level of the progressive evaluation (every 4th point)
+    private static final int MAX_STRIDE = 4;
+    // minimum number of points per axis of a coarse level
+    private static final int MIN_COARSE_STEPS = 10;
+    private static final int CHUNKS_PER_THREAD = 4;
 
     public FunctionsSurfaceModel(IFunction f, IFunctionInstance maxF, int steps) {
         function = f;
@@ -64,6 +68,7 @@ public class FunctionsSurfaceModel extends AbstractSurfaceModel {
 
         this.steps = steps;
         eps = .2f;
+        requestedDispDivisions = dispDivisions;
 
         // Setting plot attributes
         setBoxed(true);
@@ -90,7 +95,9 @@ public class FunctionsSurfaceModel extends AbstractSurfaceModel {
     /**
      * Calculates and initializes the array of data used to display the plot.
      * This method is multithreaded to increase performance. The number of
-     * threads used is defined by NbDemetra options
+     * threads used is defined by NbDemetra options. The rows of the grid are
+     * evaluated by chunks and the surface is first displayed on a coarse grid,
+     * then refined.
      */
     public void generateData() {
         if (function == null || maxFunction == null) {
@@ -100,134 +107,158 @@ public class FunctionsSurfaceModel extends AbstractSurfaceModel {
         final IReadDataBlock parameters = maxFunction.getParameters();
         final DataBlock p = new DataBlock(parameters);
         final IParametersDomain d = function.getDomain();
+        final int ix = p1_index;
+        final int iy = p2_index;
 
-        if (p1_index >= parameters.getLength() || p2_index >= parameters.getLength()) {
+        if (ix >= parameters.getLength() || iy >= parameters.getLength()) {
             throw new IllegalArgumentException("One or more parameters' indexes are out of limits");
         }
 
+        if (worker != null) {
+            worker.cancel(true);
+        }
         setDataAvailable(false);
 
-        setXMin((float) p.get(p1_index) - eps);
-        setXMax((float) p.get(p1_index) + eps);
-        setYMin((float) p.get(p2_index) - eps);
-        setYMax((float) p.get(p2_index) + eps);
-        setCalcDivisions(steps - 1);
+        setXMin((float) p.get(ix) - eps);
+        setXMax((float) p.get(ix) + eps);
+        setYMin((float) p.get(iy) - eps);
+        setYMax((float) p.get(iy) + eps);
 
-        final float stepx = (xMax - xMin) / steps;
-        final float stepy = (yMax - yMin) / steps;
+        final int n = steps;
+        final float x0 = xMin;
+        final float y0 = yMin;
+        final float stepx = (xMax - xMin) / n;
+        final float stepy = (yMax - yMin) / n;
         final float xfactor = 20 / (xMax - xMin);
         final float yfactor = 20 / (yMax - yMin);
 
-        final int total = steps * steps;    // Total of values to calculate
-        surfaceVertex = new SurfaceVertex[total];
-        final float[] fnPts = new float[total];
-        for (int i=0; i<fnPts.length; ++i)
-            fnPts[i]=Float.NaN;
+        /* Array used is a one dimension array so, the value k represents the position
+         * of the [i][j] value converted into a one dimension index.
+         * If i = 4, j = 5, and steps = 100, then k = 4*100 + 5 = 405
+         */
+        final float[] fnPts = new float[n * n];
+        Arrays.fill(fnPts, Float.NaN);
 
         // Getting coordinates of optimum point
-        float p1 = (float) parameters.get(p1_index);
-        float p2 = (float) parameters.get(p2_index);
-        optimum = new SurfaceVertex((p1 - xMin) * xfactor - 10, (p2 - yMin) * yfactor - 10, (float) maxFunction.getValue());
+        float p1 = (float) parameters.get(ix);
+        float p2 = (float) parameters.get(iy);
+        optimum = new SurfaceVertex((p1 - x0) * xfactor - 10, (p2 - y0) * yfactor - 10, (float) maxFunction.getValue());
 
-        worker = new SwingWorker<Void, Void>() {
+        worker = new SwingWorker<Void, Integer>() {
             @Override
             protected Void doInBackground() throws Exception {
-                // Create all tasks calculating the points (x,y,z)
-                List<Callable<Void>> tasks = createTasks();
-                if (tasks == null) {
-                    return null;
+                BatchExecutor executor = BatchExecutor.getDefault();
+                int previous = 0;
+                for (int stride : getStrides(n)) {
+                    try {
+                        executor.invokeAll(createTasks(executor, stride, previous));
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return null;
+                    }
+                    if (isCancelled()) {
+                        return null;
+                    }
+                    publish(stride);
+                    previous = stride;
                 }
+                return null;
+            }
 
-                DemetraUI config = DemetraUI.getDefault();
-                int nThread = config.getBatchPoolSize().intValue(); // Gets the number of threads
-                int priority = config.getBatchPriority().intValue();    // Gets the priority of the processing
-
-                ExecutorService executorService = Executors.newFixedThreadPool(nThread, new ThreadFactoryBuilder().setDaemon(true).setPriority(priority).build());
-                try {
-                    executorService.invokeAll(tasks);
-                } catch (InterruptedException ex) {
-                    Thread.currentThread().interrupt();
+            /**
+             * Splits the rows of a level into contiguous chunks. Each chunk
+             * uses its own copy of the parameters.
+             */
+            List<Callable<Void>> createTasks(BatchExecutor executor, int stride, int previous) {
+                int rows = (n - 1) / stride + 1;
+                int chunks = Math.min(rows, executor.getParallelism() * CHUNKS_PER_THREAD);
+                int chunkSize = (rows + chunks - 1) / chunks;
+                List<Callable<Void>> list = new ArrayList<>();
+                for (int start = 0; start < rows; start += chunkSize) {
+                    int first = start;
+                    int last = Math.min(rows, start + chunkSize);
+                    list.add(() -> {
+                        DataBlock buffer = p.deepClone();
+                        for (int r = first; r < last && !isCancelled(); r++) {
+                            fillRow(buffer, r * stride, stride, previous);
+                        }
+                        return null;
+                    });
                 }
-                executorService.shutdown();
-                return null;
+                return list;
             }
 
-            Callable<Void> createFn(final int i, final int j) {
-                return () -> {
-                    DataBlock p3 = p.deepClone();
-                    float xv = xMin + i * stepx;
-                    p3.set(p1_index, xv); // Change the value of 1st param (X)
-                    float yv = yMin + j * stepy;
-                    p3.set(p2_index, yv); // Change the value of 2nd param (Y)
+            /**
+             * Evaluates a row of the grid at a given level, skipping the
+             * points already computed by the previous level.
+             */
+            void fillRow(DataBlock buffer, int i, int stride, int previous) {
+                buffer.set(ix, x0 + i * stepx); // Change the value of 1st param (X)
+                boolean computed = previous > 0 && i % previous == 0;
+                for (int j = 0; j < n; j += stride) {
+                    if (computed && j % previous == 0) {
+                        continue;
+                    }
+                    buffer.set(iy, y0 + j * stepy); // Change the value of 2nd param (Y)
                     float z = Float.NaN;
                     try {
-                        if (d.checkBoundaries(p3)) {
+                        if (d.checkBoundaries(buffer)) {
                             // Evaluates the value of the z point
-                            z = (float) function.evaluate(p3).getValue();
+                            z = (float) function.evaluate(buffer).getValue();
                         }
-                    }catch (Exception err) {
+                    } catch (Exception err) {
                     }
                     if (Float.isInfinite(z)) {
                         z = Float.NaN;
                     }
-                    /* Array used is a one dimension array so, the value k represents the position
-                    * of the [i][j] value converted into a one dimension index.
-                    * If i = 4, j = 5, and steps = 100, then k = 4*100 + 5 = 405
-                    */
-                    int k = i * steps + j;
-                    fnPts[k] = z;
-                    return null;
-                };
-            }
-
-            List<Callable<Void>> createTasks() {
-                List<Callable<Void>> list = new ArrayList<>();
-                for (int i = 0; i < steps; i++) {
-                    for (int j = 0; j < steps; j++) {
-                        list.add(createFn(i, j));
-                    }
+                    fnPts[i * n + j] = z;
                 }
-                return list;
             }
 
             @Override
-            protected void done() {
-                int q = 0;
-                while (q < fnPts.length && Float.isNaN(fnPts[q])) {
-                    ++q;
-                }
-                if (q == fnPts.length) {
+            protected void process(List<Integer> chunks) {
+                if (isCancelled()) {
                     return;
                 }
-                z1Min = fnPts[q];
-                z1Max = fnPts[q];
-                for (int i = q + 1; i < fnPts.length; ++i) {
-                    float z = fnPts[i];
+                int stride = chunks.get(chunks.size() - 1);
+                int m = (n - 1) / stride + 1;
 
-                    // Calculating ranges (min/max) of the z value
-                    if (!Float.isNaN(z)) {
-                        if (z > z1Max) {
-                            z1Max = z;
-                        } else if (z < z1Min) {
-                            z1Min = z;
+                SurfaceVertex[] vertices = new SurfaceVertex[m * m];
+                boolean found = false;
+                float zmin = Float.NaN, zmax = Float.NaN;
+                for (int a = 0; a < m; a++) {
+                    for (int b = 0; b < m; b++) {
+                        int i = a * stride;
+                        int j = b * stride;
+                        float z = fnPts[i * n + j];
+                        // Calculating ranges (min/max) of the z value
+                        if (!Float.isNaN(z)) {
+                            if (!found) {
+                                zmin = z;
+                                zmax = z;
+                                found = true;
+                            } else if (z > zmax) {
+                                zmax = z;
+                            } else if (z < zmin) {
+                                zmin = z;
+                            }
                         }
+                        final float xv = x0 + i * stepx;
+                        final float yv = y0 + j * stepy;
+                        vertices[a * m + b] = new SurfaceVertex((xv - x0) * xfactor - 10, (yv - y0) * yfactor - 10, z);
                     }
                 }
-
-                /* Array used is a one dimension array so, the value k represents the position
-                 * of the [i][j] value converted into a one dimension index.
-                 * If i = 4, j = 5, and steps = 100, then k = 4*100 + 5 = 405
-                 */
-                for (int i = 0; i < steps; i++) {
-                    for (int j = 0; j < steps; j++) {
-                        int k = i * steps + j;
-                        float z = fnPts[k];
-                        final float xv = xMin + i * stepx;
-                        final float yv = yMin + j * stepy;
-                        surfaceVertex[k] = new SurfaceVertex((xv - xMin) * xfactor - 10, (yv - yMin) * yfactor - 10, z);
-                    }
+                if (!found) {
+                    return;
                 }
-                
+
+                z1Min = zmin;
+                z1Max = zmax;
+                surfaceVertex = vertices;
+                // the displayed divisions are adjusted to the current level
+                dispDivisions = requestedDispDivisions;
+                setCalcDivisions(m - 1);
+
                 autoScale();
                 setDataAvailable(true);
                 fireStateChanged();
@@ -236,6 +267,30 @@ public class FunctionsSurfaceModel extends AbstractSurfaceModel {
         worker.execute();
     }
 
+    /**
+     * Gets the strides of the successive levels of the progressive evaluation,
+     * from the coarsest to the full grid.
+     *
+     * @param steps
+     * @return
+     */
+    private static int[] getStrides(int steps) {
+        List<Integer> result = new ArrayList<>();
+        for (int stride = MAX_STRIDE; stride > 1; stride /= 2) {
+            if ((steps - 1) / stride + 1 >= MIN_COARSE_STEPS) {
+                result.add(stride);
+            }
+        }
+        result.add(1);
+        return result.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Override
+    public void setDispDivisions(int dispDivisions) {
+        requestedDispDivisions = dispDivisions;
+        super.setDispDivisions(dispDivisions);
+    }
+
     /**
      * Defines the value of epsilon (range of the function). Default value is
      * 0.2
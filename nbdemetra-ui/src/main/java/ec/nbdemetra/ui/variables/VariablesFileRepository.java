@@ -33,7 +33,16 @@ public class VariablesFileRepository extends AbstractFileItemRepository<TsVariab
         item.setElement(doc);
         item.resetDirty();
         if (doc != null) {
-            item.getOwner().getContext().getTsVariableManagers().set(item.getDisplayName(), doc);
+            // the variables of a workspace can be loaded concurrently, after
+            // the workspace has been opened; loading them doesn't modify it
+            ProcessingContext context = item.getOwner().getContext();
+            synchronized (context) {
+                boolean dirty = context.isDirty();
+                context.getTsVariableManagers().set(item.getDisplayName(), doc);
+                if (!dirty) {
+                    context.resetDirty();
+                }
+            }
         }
         return doc != null;
     }
@@ -4,21 +4,25 @@
  */
 package ec.nbdemetra.ws;
 
-import com.google.common.base.Throwables;
+import ec.nbdemetra.core.BinaryInformationSet;
+import ec.nbdemetra.core.JaxbRegistry;
 import ec.tss.xml.IXmlConverter;
 import ec.tss.xml.information.XmlInformationSet;
 import ec.tstoolkit.information.InformationSet;
 import ec.tstoolkit.information.InformationSetSerializable;
 import ec.tstoolkit.utilities.IModifiable;
 import ec.tstoolkit.utilities.Paths;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
 
 /**
  *
@@ -26,16 +30,6 @@ import javax.xml.bind.Unmarshaller;
  */
 public abstract class AbstractFileItemRepository<D> extends AbstractWorkspaceItemRepository<D> {
 
-    static final JAXBContext XML_INFORMATION_SET_CONTEXT;
-
-    static {
-        try {
-            XML_INFORMATION_SET_CONTEXT = JAXBContext.newInstance(XmlInformationSet.class);
-        } catch (JAXBException ex) {
-            throw Throwables.propagate(ex);
-        }
-    }
-
     protected String fullName(WorkspaceItem<D> item, String repo, boolean createDir) {
         if (item.getOwner() == null) {
             return null;
@@ -68,9 +62,7 @@ public abstract class AbstractFileItemRepository<D> extends AbstractWorkspaceIte
         }
 
         try {
-            JAXBContext context = JAXBContext.newInstance(xclass);
-            Unmarshaller unmarshaller = context.createUnmarshaller();
-            X x = (X) unmarshaller.unmarshal(file);
+            X x = JaxbRegistry.getDefault().unmarshal(xclass, file);
             return x.create();
         } catch (Exception ex) {
             return null;
@@ -88,19 +80,25 @@ public abstract class AbstractFileItemRepository<D> extends AbstractWorkspaceIte
         }
 
         try {
-            JAXBContext context = JAXBContext.newInstance(xclass);
-            Unmarshaller unmarshaller = context.createUnmarshaller();
-            X x = (X) unmarshaller.unmarshal(file);
-            return x;
+            return JaxbRegistry.getDefault().unmarshal(xclass, file);
         } catch (Exception ex) {
             return null;
 
         }
     }
 
+    /**
+     * Loads an item from its XML file or from its binary sibling, whichever is
+     * the most recent.
+     *
+     * @param <X>
+     * @param sfile the path of the XML file
+     * @param xclass
+     * @return null if the item cannot be loaded
+     */
     public static <X extends InformationSetSerializable> X loadInfo(String sfile, Class<X> xclass) {
-        File file = new File(sfile);
-        if (!file.exists()) {
+        File file = getMostRecentFile(sfile);
+        if (file == null) {
             return null;
         }
         if (!file.canRead()) {
@@ -108,18 +106,80 @@ public abstract class AbstractFileItemRepository<D> extends AbstractWorkspaceIte
         }
 
         try {
-            Unmarshaller unmarshaller = XML_INFORMATION_SET_CONTEXT.createUnmarshaller();
-            XmlInformationSet x = (XmlInformationSet) unmarshaller.unmarshal(file);
+            InformationSet info = readInformationSet(file);
             X t = xclass.newInstance();
-            if (!t.read(x.create())) {
+            if (!t.read(info)) {
                 return null;
             }
             return t;
-        } catch (JAXBException | InstantiationException | IllegalAccessException ex) {
+        } catch (IOException | JAXBException | InstantiationException | IllegalAccessException ex) {
             return null;
         }
     }
 
+    /**
+     * Reads an information set, in XML or in binary.
+     *
+     * @param file
+     * @return
+     * @throws IOException
+     * @throws JAXBException
+     */
+    public static InformationSet readInformationSet(File file) throws IOException, JAXBException {
+        try (InputStream stream = new BufferedInputStream(new FileInputStream(file))) {
+            if (BinaryInformationSet.isBinary(stream)) {
+                return BinaryInformationSet.read(stream);
+            }
+            XmlInformationSet x = JaxbRegistry.getDefault().unmarshal(XmlInformationSet.class, stream);
+            return x.create();
+        }
+    }
+
+    /**
+     * Writes an information set in a given format.
+     *
+     * @param file
+     * @param info
+     * @param format
+     * @throws IOException
+     * @throws JAXBException
+     */
+    public static void writeInformationSet(File file, InformationSet info, WorkspaceFormat format) throws IOException, JAXBException {
+        try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(file))) {
+            if (format == WorkspaceFormat.BINARY) {
+                BinaryInformationSet.write(info, stream);
+            } else {
+                try (OutputStreamWriter writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8)) {
+                    XmlInformationSet x = new XmlInformationSet();
+                    x.copy(info);
+                    JaxbRegistry.getDefault().marshal(x, writer);
+                    writer.flush();
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the file of an item in its most recent format.
+     *
+     * @param sfile the path of the XML file
+     * @return null if the item has not been saved in any format
+     */
+    protected static File getMostRecentFile(String sfile) {
+        File result = null;
+        for (WorkspaceFormat o : WorkspaceFormat.values()) {
+            File file = new File(Paths.changeExtension(sfile, o.getExtension()));
+            if (file.exists() && (result == null || file.lastModified() > result.lastModified())) {
+                result = file;
+            }
+        }
+        return result;
+    }
+
+    protected WorkspaceFormat getFormat(WorkspaceItem<?> item) {
+        return item.getOwner() != null ? FileRepository.getFormat(item.getOwner()) : WorkspaceFormat.XML;
+    }
+
 //    protected <X extends IXmlConverter<D>> boolean saveXml(WorkspaceItem item, String repo, Class<X> xclass) {
 //        String sfile = fullName(item, repo, true);
 //        if (sfile == null) {
@@ -133,12 +193,9 @@ public abstract class AbstractFileItemRepository<D> extends AbstractWorkspaceIte
             //XMLOutputFactory factory=XMLOutputFactory.newInstance();
             try (OutputStreamWriter writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8)) {
 
-                JAXBContext context = JAXBContext.newInstance(xclass);
-                Marshaller marshaller = context.createMarshaller();
-                marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
                 X x = xclass.newInstance();
                 x.copy((T) item.getElement());
-                marshaller.marshal(x, writer);
+                JaxbRegistry.getDefault().marshal(x, writer);
                 item.resetDirty();
                 writer.flush();
                 return true;
@@ -154,12 +211,9 @@ public abstract class AbstractFileItemRepository<D> extends AbstractWorkspaceIte
             //XMLOutputFactory factory=XMLOutputFactory.newInstance();
             try (OutputStreamWriter writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8)) {
 
-                JAXBContext context = JAXBContext.newInstance(xclass);
-                Marshaller marshaller = context.createMarshaller();
-                marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
                 X x = xclass.newInstance();
                 x.copy(item);
-                marshaller.marshal(x, writer);
+                JaxbRegistry.getDefault().marshal(x, writer);
                 writer.flush();
                 item.resetDirty();
                 return true;
@@ -170,38 +224,55 @@ public abstract class AbstractFileItemRepository<D> extends AbstractWorkspaceIte
     }
 
     public static <T extends InformationSetSerializable> boolean saveInfo(String sfile, T item) {
-        File file = new File(sfile);
-        try (FileOutputStream stream = new FileOutputStream(file)) {
-            //XMLOutputFactory factory=XMLOutputFactory.newInstance();
-            try (OutputStreamWriter writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8)) {
+        return saveInfo(sfile, item, WorkspaceFormat.XML);
+    }
 
-                Marshaller marshaller = XML_INFORMATION_SET_CONTEXT.createMarshaller();
-                marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-                InformationSet info = item.write(false);
-                if (info == null) {
-                    return false;
-                }
-                XmlInformationSet x = new XmlInformationSet();
-                x.copy(info);
-                marshaller.marshal(x, writer);
-                writer.flush();
-                return true;
+    /**
+     * Saves an item in a given format. The file of the other format, if any,
+     * is removed.
+     *
+     * @param <T>
+     * @param sfile the path of the XML file; its extension is changed
+     * according to the format
+     * @param item
+     * @param format
+     * @return
+     */
+    public static <T extends InformationSetSerializable> boolean saveInfo(String sfile, T item, WorkspaceFormat format) {
+        try {
+            InformationSet info = item.write(false);
+            if (info == null) {
+                return false;
             }
+            writeInformationSet(new File(Paths.changeExtension(sfile, format.getExtension())), info, format);
+            deleteOtherFormats(sfile, format);
+            return true;
         } catch (Exception ex) {
             return false;
         }
     }
 
+    protected static void deleteOtherFormats(String sfile, WorkspaceFormat format) {
+        for (WorkspaceFormat o : WorkspaceFormat.values()) {
+            if (o != format) {
+                new File(Paths.changeExtension(sfile, o.getExtension())).delete();
+            }
+        }
+    }
+
     protected boolean delete(WorkspaceItem<D> doc, String repo) {
         String sfile = fullName(doc, repo, false);
         if (sfile == null) {
             return false;
         }
-        File file = new File(sfile);
-        if (file.exists()) {
-            file.delete();
-            return true;
+        boolean result = false;
+        for (WorkspaceFormat o : WorkspaceFormat.values()) {
+            File file = new File(Paths.changeExtension(sfile, o.getExtension()));
+            if (file.exists()) {
+                file.delete();
+                result = true;
+            }
         }
-        return false;
+        return result;
     }
 }
@@ -16,11 +16,22 @@
  */
 package ec.nbdemetra.ws;
 
+import ec.nbdemetra.core.BatchExecutor;
+import ec.nbdemetra.core.JaxbRegistry;
+import ec.nbdemetra.ui.DemetraUI;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 import javax.annotation.Nullable;
+import org.openide.DialogDisplayer;
+import org.openide.NotifyDescriptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  *
@@ -29,6 +40,8 @@ import javax.annotation.Nullable;
  */
 public abstract class AbstractWorkspaceRepository implements IWorkspaceRepository {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractWorkspaceRepository.class);
+
     private final Map<Class, List<IWorkspaceItemRepository>> map_ = new HashMap<>();
 
     public <D> void register(Class<D> dclass, IWorkspaceItemRepository<D> repo) {
@@ -58,9 +71,60 @@ public abstract class AbstractWorkspaceRepository implements IWorkspaceRepositor
         if (!saveWorkspace(ws)) {
             return false;
         }
-        return ws.getItems().stream()
+        List<WorkspaceItem<?>> items = ws.getItems().stream()
                 .filter(o -> o.isDirty() || (force && !o.getStatus().isVolatile()))
-                .noneMatch(o -> !saveItem(o));
+                .collect(Collectors.toList());
+        boolean result = items.size() < 2 || !DemetraUI.getDefault().isParallelWorkspaceIO()
+                ? items.stream().noneMatch(o -> !saveItem(o))
+                : saveItems(items);
+        JaxbRegistry.getDefault().logStatistics();
+        return result;
+    }
+
+    /**
+     * Saves some items in parallel. Unlike the sequential save, a failure
+     * doesn't stop the other items.
+     *
+     * @param items
+     * @return true if all the items have been saved
+     */
+    protected boolean saveItems(List<WorkspaceItem<?>> items) {
+        List<Callable<Boolean>> tasks = items.stream()
+                .map(o -> (Callable<Boolean>) () -> saveItem(o))
+                .collect(Collectors.toList());
+        List<Future<Boolean>> results;
+        try {
+            results = BatchExecutor.getDefault().invokeAll(tasks);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        List<String> failures = new ArrayList<>();
+        for (int i = 0; i < results.size(); ++i) {
+            String name = items.get(i).getDisplayName();
+            try {
+                if (!results.get(i).get()) {
+                    failures.add(name);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException ex) {
+                LOGGER.warn("Cannot save " + name, ex.getCause());
+                failures.add(name + " (" + ex.getCause() + ")");
+            }
+        }
+        if (!failures.isEmpty()) {
+            reportSaveFailures(failures);
+            return false;
+        }
+        return true;
+    }
+
+    protected void reportSaveFailures(List<String> failures) {
+        StringBuilder message = new StringBuilder("The following items could not be saved:");
+        failures.forEach(o -> message.append("\n").append(o));
+        DialogDisplayer.getDefault().notifyLater(new NotifyDescriptor.Message(message.toString(), NotifyDescriptor.WARNING_MESSAGE));
     }
 
     protected abstract boolean saveWorkspace(Workspace ws);
@@ -31,7 +31,7 @@ public abstract class DefaultFileItemRepository<D extends IModifiable & Informat
         String sfile= this.fullName(item, getRepository(), true);
         if (sfile == null)
             return false;
-        if(saveInfo(sfile, item.getElement())){
+        if(saveInfo(sfile, item.getElement(), getFormat(item))){
             item.resetDirty();
             item.getElement().resetDirty();
             return true;
@@ -61,7 +61,7 @@ import org.openide.util.lookup.ServiceProvider;
 @ServiceProvider(service = IWorkspaceRepository.class, position = 10)
 public class FileRepository extends AbstractWorkspaceRepository implements LookupListener {
 
-    public static final String NAME = "File", FILENAME = "fileName", VERSION = "20120925";
+    public static final String NAME = "File", FILENAME = "fileName", FORMAT = "format", VERSION = "20120925";
 
     private static final JAXBContext XML_GENERIC_WS_CONTEXT;
     private static final JAXBContext XML_WS_CONTEXT;
@@ -98,6 +98,45 @@ public class FileRepository extends AbstractWorkspaceRepository implements Looku
         return builder.build();
     }
 
+    public static DataSource encode(File file, WorkspaceFormat format) {
+        if (format == WorkspaceFormat.XML) {
+            return encode(file);
+        }
+        Builder builder = DataSource.builder(NAME, VERSION);
+        if (file != null) {
+            String sfile = file.getAbsolutePath();
+            sfile = Paths.changeExtension(sfile, "xml");
+            builder.put(FILENAME, sfile);
+        }
+        builder.put(FORMAT, format.name());
+        return builder.build();
+    }
+
+    /**
+     * Gets the format used to save the items of a workspace.
+     *
+     * @param ws
+     * @return
+     */
+    public static WorkspaceFormat getFormat(Workspace ws) {
+        DataSource source = ws.getDataSource();
+        return source != null && WorkspaceFormat.BINARY.name().equals(source.get(FORMAT)) ? WorkspaceFormat.BINARY : WorkspaceFormat.XML;
+    }
+
+    /**
+     * Sets the format used to save the items of a workspace. The items that
+     * are already saved keep their format until they are saved again; both
+     * formats can be loaded.
+     *
+     * @param ws
+     * @param format
+     */
+    public static void setFormat(Workspace ws, WorkspaceFormat format) {
+        if (getFormat(ws) != format) {
+            ws.setDataSource(encode(decode(ws.getDataSource()), format));
+        }
+    }
+
     public static File decode(DataSource source) {
         if (!source.getProviderName().equals(NAME)) {
             return null;
@@ -128,7 +167,7 @@ public class FileRepository extends AbstractWorkspaceRepository implements Looku
             try {
                 ws.loadAll();
                 ws.setName(Paths.changeExtension(file.getName(), null));
-                ws.setDataSource(encode(file));
+                ws.setDataSource(encode(file, getFormat(ws)));
                 return save(ws, true);
             } catch (Exception ex) {
                 return false;
@@ -192,6 +231,11 @@ public class FileRepository extends AbstractWorkspaceRepository implements Looku
         }
         if (loadWorkspace(ws)) {
             loadContext(ws);
+            WorkspaceFormat format = detectFormat(ws);
+            if (format != getFormat(ws)) {
+                setFormat(ws, format);
+                ws.resetDirty();
+            }
             return true;
         }
         if (loadLegacyWorkspace(ws)) {
@@ -237,6 +281,22 @@ public class FileRepository extends AbstractWorkspaceRepository implements Looku
         }
     }
 
+    // a workspace that contains binary items is saved in binary
+    private static WorkspaceFormat detectFormat(Workspace ws) {
+        File root = new File(getRepositoryRootFolder(ws));
+        File[] folders = root.listFiles(File::isDirectory);
+        if (folders != null) {
+            String suffix = "." + WorkspaceFormat.BINARY.getExtension();
+            for (File folder : folders) {
+                String[] files = folder.list((dir, name) -> name.endsWith(suffix));
+                if (files != null && files.length > 0) {
+                    return WorkspaceFormat.BINARY;
+                }
+            }
+        }
+        return WorkspaceFormat.XML;
+    }
+
     public static String getRepositoryRootFolder(Workspace ws) {
         File id = decode(ws.getDataSource());
         if (id == null) {
@@ -278,9 +338,13 @@ public class FileRepository extends AbstractWorkspaceRepository implements Looku
     }
 
     private void loadContext(Workspace ws) {
-        loadCalendars(ws, getCalendarsFile(ws, false));
-        loadVariables(ws, getVariablesFile(ws, false));
-        ws.getContext().resetDirty();
+        ProcessingContext context = ws.getContext();
+        // the auto-load items fill the same context in the background
+        synchronized (context) {
+            loadCalendars(ws, getCalendarsFile(ws, false));
+            loadVariables(ws, getVariablesFile(ws, false));
+            context.resetDirty();
+        }
     }
 
     private void saveContext(Workspace ws) {
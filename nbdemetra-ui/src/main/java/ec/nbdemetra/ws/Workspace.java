@@ -4,6 +4,9 @@
  */
 package ec.nbdemetra.ws;
 
+import ec.nbdemetra.core.BatchExecutor;
+import ec.nbdemetra.core.ReopenedDataSources;
+import ec.nbdemetra.ui.DemetraUI;
 import ec.nbdemetra.ui.mru.SourceId;
 import ec.nbdemetra.ws.IWorkspaceItemManager.ItemType;
 import ec.tss.tsproviders.DataSource;
@@ -12,9 +15,13 @@ import ec.tstoolkit.utilities.Id;
 import ec.ui.interfaces.IDisposable;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.swing.SwingUtilities;
 import org.openide.util.Exceptions;
@@ -33,6 +40,7 @@ public class Workspace implements IDisposable {
     private boolean dirty_ = false;
     private final List<WorkspaceItem<?>> items_ = new ArrayList<>();
     private final HashMap<Id, Id> defaultSpecs_ = new HashMap<>();
+    private final List<Future<Boolean>> autoLoading_ = new ArrayList<>();
 
     public Workspace(DataSource source) {
         id = new SourceId(source, "Workspace-" + Long.toString(wsId.incrementAndGet()));
@@ -264,8 +272,60 @@ public class Workspace implements IDisposable {
     }
 
     public void loadAll() {
+        if (!DemetraUI.getDefault().isParallelWorkspaceIO()) {
+            for (WorkspaceItem<?> item : items_) {
+                item.load();
+            }
+            return;
+        }
+        awaitAutoLoad();
+        List<Future<Boolean>> loading = new ArrayList<>();
         for (WorkspaceItem<?> item : items_) {
-            item.load();
+            loading.add(item.prefetch());
+        }
+        await(loading);
+    }
+
+    /**
+     * Loads the auto-load items in the background; the workspace is shown
+     * without waiting for them. The auto-load items may read series from the
+     * data sources of the previous session, so they are loaded once these
+     * data sources have been reopened.
+     *
+     * @param items
+     */
+    public void autoLoad(Collection<? extends WorkspaceItem<?>> items) {
+        CompletableFuture<Void> reopened = ReopenedDataSources.getDefault().whenReopened();
+        synchronized (autoLoading_) {
+            for (WorkspaceItem<?> item : items) {
+                autoLoading_.add(reopened.isDone() ? item.prefetch() : reopened.thenApplyAsync(o -> item.load(), BatchExecutor.getDefault()));
+            }
+        }
+    }
+
+    /**
+     * Waits for the completion of the background loading of the auto-load
+     * items.
+     */
+    public void awaitAutoLoad() {
+        List<Future<Boolean>> pending;
+        synchronized (autoLoading_) {
+            autoLoading_.removeIf(Future::isDone);
+            pending = new ArrayList<>(autoLoading_);
+        }
+        await(pending);
+    }
+
+    private static void await(List<Future<Boolean>> futures) {
+        for (Future<Boolean> o : futures) {
+            try {
+                o.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException ex) {
+                Exceptions.printStackTrace(ex.getCause());
+            }
         }
     }
 
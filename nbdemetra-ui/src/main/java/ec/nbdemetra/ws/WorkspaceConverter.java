@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.ws;
+
+import ec.tstoolkit.information.InformationSet;
+import ec.tstoolkit.utilities.Paths;
+import java.io.File;
+import java.io.IOException;
+import javax.annotation.Nonnull;
+import javax.xml.bind.JAXBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Converts the items of a file workspace from one format to another.
+ * <p>
+ * Only the files that contain an information set are converted; legacy files
+ * (calendars, variables, ...) are left untouched.
+ */
+public final class WorkspaceConverter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkspaceConverter.class);
+
+    private WorkspaceConverter() {
+        // static class
+    }
+
+    /**
+     * Converts all the items of a workspace.
+     *
+     * @param workspaceFile the main file of the workspace
+     * @param target the new format
+     * @return the number of converted items
+     */
+    public static int convert(@Nonnull File workspaceFile, @Nonnull WorkspaceFormat target) {
+        File root = new File(Paths.changeExtension(workspaceFile.getAbsolutePath(), null));
+        File[] folders = root.listFiles(File::isDirectory);
+        if (folders == null) {
+            return 0;
+        }
+        int result = 0;
+        for (File folder : folders) {
+            for (WorkspaceFormat source : WorkspaceFormat.values()) {
+                if (source == target) {
+                    continue;
+                }
+                String suffix = "." + source.getExtension();
+                File[] files = folder.listFiles((dir, name) -> name.endsWith(suffix));
+                if (files == null) {
+                    continue;
+                }
+                for (File file : files) {
+                    if (convert(file, source, target)) {
+                        result++;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean convert(File file, WorkspaceFormat source, WorkspaceFormat target) {
+        InformationSet info;
+        try {
+            info = AbstractFileItemRepository.readInformationSet(file);
+        } catch (IOException | JAXBException | RuntimeException ex) {
+            // not an information set
+            LOGGER.debug("Skipping " + file, ex);
+            return false;
+        }
+        File output = new File(Paths.changeExtension(file.getAbsolutePath(), target.getExtension()));
+        try {
+            AbstractFileItemRepository.writeInformationSet(output, info, target);
+        } catch (IOException | JAXBException ex) {
+            LOGGER.warn("Cannot convert " + file, ex);
+            output.delete();
+            return false;
+        }
+        file.delete();
+        return true;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.ws;
+
+import ec.nbdemetra.core.BinaryInformationSet;
+
+/**
+ * Encoding of the items of a file workspace.
+ *
+ * @see FileRepository#getFormat(Workspace)
+ */
+public enum WorkspaceFormat {
+
+    /**
+     * JAXB XML, readable by all the versions of the application.
+     */
+    XML("xml"),
+    /**
+     * Compressed binary encoding; see {@link BinaryInformationSet}.
+     */
+    BINARY("jdb");
+
+    private final String extension;
+
+    private WorkspaceFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -16,9 +16,12 @@
  */
 package ec.nbdemetra.ws;
 
+import ec.nbdemetra.core.BatchExecutor;
 import ec.tstoolkit.utilities.IModifiable;
 import ec.tstoolkit.utilities.Id;
 import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 import org.openide.windows.TopComponent;
 
 /**
@@ -68,7 +71,7 @@ public class WorkspaceItem<T> implements IModifiable, Comparable<WorkspaceItem>
     private String name_;
     private boolean dirty_;
     private String id_;
-    private Status status_ = Status.Undefined;
+    private volatile Status status_ = Status.Undefined;
     private TopComponent view_;
     private String comments_;
 
@@ -159,7 +162,34 @@ public class WorkspaceItem<T> implements IModifiable, Comparable<WorkspaceItem>
         dirty_ = true;
     }
 
+    /**
+     * Loads the item from its repository. Only this item is waited for; the
+     * processing context is filled by the auto-load items under its own lock.
+     * This method can be called from any thread.
+     *
+     * @return
+     */
     public boolean load() {
+        if (!status_.canBeLoaded()) {
+            return false;
+        }
+        return loadFromRepository();
+    }
+
+    /**
+     * Starts the loading of the item in the background, on the batch executor.
+     * A later call to {@link #getElement()} only waits for this item.
+     *
+     * @return
+     */
+    public Future<Boolean> prefetch() {
+        if (!status_.canBeLoaded()) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return BatchExecutor.getDefault().submit(this::load);
+    }
+
+    private synchronized boolean loadFromRepository() {
         if (!status_.canBeLoaded()) {
             return false;
         }
@@ -0,0 +1,456 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.ws;
+
+import ec.nbdemetra.core.JaxbRegistry;
+import ec.tss.xml.information.XmlInformationSet;
+import ec.tstoolkit.information.Information;
+import ec.tstoolkit.information.InformationSet;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import javax.annotation.Nonnull;
+import javax.xml.bind.JAXBException;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.EndElement;
+import javax.xml.stream.events.EntityReference;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+
+/**
+ * Streaming reader and writer of the XML files of information sets.
+ * <p>
+ * The top-level entries of the set are read and written one at a time: a StAX
+ * cursor walks through the file and each entry is (un)marshalled by JAXB as
+ * if it were the only one of its set. The files are equivalent to the ones
+ * produced by {@link AbstractFileItemRepository#writeInformationSet}, but the
+ * whole XML tree is never kept in memory.
+ */
+public final class XmlInformationSetStream {
+
+    private XmlInformationSetStream() {
+        // static class
+    }
+
+    @FunctionalInterface
+    public interface EntryHandler {
+
+        void onEntry(@Nonnull String name, @Nonnull Object value) throws IOException;
+    }
+
+    private static final XMLEventFactory EVENTS = XMLEventFactory.newInstance();
+    private static final String INDENT = "    ";
+
+    /**
+     * Reads the top-level entries of an information set.
+     *
+     * @param stream
+     * @param handler called for each entry, in the order of the file
+     * @throws IOException
+     * @throws JAXBException if the stream doesn't contain an information set
+     */
+    public static void read(@Nonnull InputStream stream, @Nonnull EntryHandler handler) throws IOException, JAXBException {
+        try {
+            XMLEventReader reader = XMLInputFactory.newInstance().createXMLEventReader(stream);
+            StartElement root = null;
+            while (root == null && reader.hasNext()) {
+                XMLEvent event = reader.nextEvent();
+                if (event.isStartElement()) {
+                    root = event.asStartElement();
+                }
+            }
+            if (root == null) {
+                throw new IOException("Empty document");
+            }
+            EndElement rootEnd = EVENTS.createEndElement(root.getName(), root.getNamespaces());
+            while (reader.hasNext()) {
+                XMLEvent event = reader.peek();
+                if (event.isStartElement()) {
+                    XmlInformationSet xml = JaxbRegistry.getDefault().unmarshal(XmlInformationSet.class, new EntryReader(reader, root, rootEnd));
+                    for (Information<Object> o : xml.create().select(Object.class)) {
+                        handler.onEntry(o.name, o.value);
+                    }
+                } else if (event.isEndElement()) {
+                    break;
+                } else {
+                    reader.nextEvent();
+                }
+            }
+            reader.close();
+        } catch (XMLStreamException | ClassCastException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    /**
+     * Writes an information set.
+     *
+     * @param stream
+     * @param info
+     * @param release true if the entries are removed from the set as soon as
+     * they are written
+     * @throws IOException
+     * @throws JAXBException
+     */
+    public static void write(@Nonnull OutputStream stream, @Nonnull InformationSet info, boolean release) throws IOException, JAXBException {
+        List<String> names = new ArrayList<>();
+        info.select(Object.class).forEach(o -> names.add(o.name));
+        Writer writer = writer(stream);
+        for (String name : names) {
+            writer.write(name, info.get(name, Object.class));
+            if (release) {
+                info.remove(name);
+            }
+        }
+        writer.close();
+    }
+
+    /**
+     * Creates a writer of the top-level entries of an information set, for
+     * the sets that are not built in full before being written.
+     *
+     * @param stream
+     * @return a non-null writer
+     * @throws IOException
+     */
+    @Nonnull
+    public static Writer writer(@Nonnull OutputStream stream) throws IOException {
+        return new Writer(stream);
+    }
+
+    /**
+     * Writes the top-level entries of an information set one at a time. The
+     * underlying stream is not closed.
+     */
+    public static final class Writer {
+
+        private final XMLEventWriter writer;
+        private final EntryWriter entryWriter;
+        private boolean empty = true;
+
+        private Writer(OutputStream stream) throws IOException {
+            try {
+                this.writer = XMLOutputFactory.newInstance().createXMLEventWriter(stream, "UTF-8");
+                this.entryWriter = new EntryWriter(writer);
+                writer.add(EVENTS.createStartDocument("UTF-8", "1.0", true));
+            } catch (XMLStreamException ex) {
+                throw new IOException(ex);
+            }
+        }
+
+        /**
+         * Writes an entry. It can be released as soon as this method returns.
+         *
+         * @param name
+         * @param value
+         * @throws IOException
+         * @throws JAXBException
+         */
+        public void write(@Nonnull String name, @Nonnull Object value) throws IOException, JAXBException {
+            InformationSet tmp = new InformationSet();
+            tmp.set(name, value);
+            XmlInformationSet xml = new XmlInformationSet();
+            xml.copy(tmp);
+            JaxbRegistry.getDefault().marshal(xml, entryWriter);
+            empty = false;
+        }
+
+        /**
+         * Writes the end of the information set.
+         *
+         * @throws IOException
+         * @throws JAXBException
+         */
+        public void close() throws IOException, JAXBException {
+            try {
+                if (empty) {
+                    JaxbRegistry.getDefault().marshal(new XmlInformationSet(), entryWriter);
+                    empty = false;
+                }
+                entryWriter.close();
+                writer.add(EVENTS.createEndDocument());
+                writer.flush();
+            } catch (XMLStreamException ex) {
+                throw new IOException(ex);
+            }
+        }
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Implementation">
+    /**
+     * Presents a top-level entry as a document that contains only this entry.
+     * The cursor of the underlying reader must be on the start of the entry.
+     */
+    private static final class EntryReader implements XMLEventReader {
+
+        private static final int ROOT_START = 0, ENTRY = 1, ROOT_END = 2, DONE = 3;
+
+        private final XMLEventReader reader;
+        private final StartElement rootStart;
+        private final EndElement rootEnd;
+        private int state;
+        private int depth;
+        private XMLEvent next;
+
+        private EntryReader(XMLEventReader reader, StartElement rootStart, EndElement rootEnd) {
+            this.reader = reader;
+            this.rootStart = rootStart;
+            this.rootEnd = rootEnd;
+            this.state = ROOT_START;
+        }
+
+        private XMLEvent compute() throws XMLStreamException {
+            switch (state) {
+                case ROOT_START:
+                    state = ENTRY;
+                    return rootStart;
+                case ENTRY:
+                    XMLEvent result = reader.nextEvent();
+                    if (result.isStartElement()) {
+                        depth++;
+                    } else if (result.isEndElement() && --depth == 0) {
+                        state = ROOT_END;
+                    }
+                    return result;
+                case ROOT_END:
+                    state = DONE;
+                    return rootEnd;
+                default:
+                    return null;
+            }
+        }
+
+        @Override
+        public XMLEvent peek() throws XMLStreamException {
+            if (next == null) {
+                next = compute();
+            }
+            return next;
+        }
+
+        @Override
+        public XMLEvent nextEvent() throws XMLStreamException {
+            XMLEvent result = peek();
+            if (result == null) {
+                throw new NoSuchElementException();
+            }
+            next = null;
+            return result;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                return peek() != null;
+            } catch (XMLStreamException ex) {
+                return false;
+            }
+        }
+
+        @Override
+        public Object next() {
+            try {
+                return nextEvent();
+            } catch (XMLStreamException ex) {
+                throw new NoSuchElementException(ex.getMessage());
+            }
+        }
+
+        // the cursor must be on a start element
+        @Override
+        public String getElementText() throws XMLStreamException {
+            StringBuilder result = new StringBuilder();
+            while (true) {
+                XMLEvent event = nextEvent();
+                switch (event.getEventType()) {
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                    case XMLStreamConstants.SPACE:
+                        result.append(event.asCharacters().getData());
+                        break;
+                    case XMLStreamConstants.ENTITY_REFERENCE:
+                        EntityReference ref = (EntityReference) event;
+                        if (ref.getDeclaration() != null) {
+                            result.append(ref.getDeclaration().getReplacementText());
+                        }
+                        break;
+                    case XMLStreamConstants.COMMENT:
+                    case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        return result.toString();
+                    default:
+                        throw new XMLStreamException("Element text expected", event.getLocation());
+                }
+            }
+        }
+
+        @Override
+        public XMLEvent nextTag() throws XMLStreamException {
+            while (true) {
+                XMLEvent event = nextEvent();
+                switch (event.getEventType()) {
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                    case XMLStreamConstants.SPACE:
+                        if (!event.asCharacters().isWhiteSpace()) {
+                            throw new XMLStreamException("Tag expected", event.getLocation());
+                        }
+                        break;
+                    case XMLStreamConstants.COMMENT:
+                    case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                        break;
+                    case XMLStreamConstants.START_ELEMENT:
+                    case XMLStreamConstants.END_ELEMENT:
+                        return event;
+                    default:
+                        throw new XMLStreamException("Tag expected", event.getLocation());
+                }
+            }
+        }
+
+        @Override
+        public Object getProperty(String name) {
+            return reader.getProperty(name);
+        }
+
+        @Override
+        public void close() {
+            // the underlying reader is closed by its owner
+        }
+
+        @Override
+        public void remove() {
+            reader.remove();
+        }
+    }
+
+    /**
+     * Merges the documents produced by the marshaller into a single one: the
+     * root element is written once and the entries are indented.
+     */
+    private static final class EntryWriter implements XMLEventWriter {
+
+        private final XMLEventWriter writer;
+        private boolean rootWritten;
+        private EndElement rootEnd;
+        private int depth;
+        private boolean afterEnd;
+
+        private EntryWriter(XMLEventWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void add(XMLEvent event) throws XMLStreamException {
+            if (event.isStartDocument() || event.isEndDocument()) {
+                return;
+            }
+            if (event.isStartElement()) {
+                if (depth++ == 0) {
+                    if (rootWritten) {
+                        return;
+                    }
+                    rootWritten = true;
+                } else {
+                    indent(depth - 1);
+                }
+                afterEnd = false;
+            } else if (event.isEndElement()) {
+                if (--depth == 0) {
+                    rootEnd = event.asEndElement();
+                    return;
+                }
+                if (afterEnd) {
+                    indent(depth);
+                }
+                afterEnd = true;
+            } else if (event.isCharacters() && event.asCharacters().isWhiteSpace() && depth <= 1) {
+                return;
+            } else {
+                afterEnd = false;
+            }
+            writer.add(event);
+        }
+
+        private void indent(int level) throws XMLStreamException {
+            StringBuilder result = new StringBuilder("\n");
+            for (int i = 0; i < level; ++i) {
+                result.append(INDENT);
+            }
+            writer.add(EVENTS.createCharacters(result.toString()));
+        }
+
+        @Override
+        public void add(XMLEventReader reader) throws XMLStreamException {
+            while (reader.hasNext()) {
+                add(reader.nextEvent());
+            }
+        }
+
+        @Override
+        public void flush() throws XMLStreamException {
+            writer.flush();
+        }
+
+        // writes the end of the root element
+        @Override
+        public void close() throws XMLStreamException {
+            if (rootEnd != null) {
+                writer.add(EVENTS.createCharacters("\n"));
+                writer.add(rootEnd);
+                rootEnd = null;
+            }
+        }
+
+        @Override
+        public String getPrefix(String uri) throws XMLStreamException {
+            return writer.getPrefix(uri);
+        }
+
+        @Override
+        public void setPrefix(String prefix, String uri) throws XMLStreamException {
+            writer.setPrefix(prefix, uri);
+        }
+
+        @Override
+        public void setDefaultNamespace(String uri) throws XMLStreamException {
+            writer.setDefaultNamespace(uri);
+        }
+
+        @Override
+        public void setNamespaceContext(NamespaceContext context) throws XMLStreamException {
+            writer.setNamespaceContext(context);
+        }
+
+        @Override
+        public NamespaceContext getNamespaceContext() {
+            return writer.getNamespaceContext();
+        }
+    }
+    //</editor-fold>
+}
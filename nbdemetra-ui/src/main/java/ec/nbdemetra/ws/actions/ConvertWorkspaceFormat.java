@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.ws.actions;
+
+import ec.nbdemetra.ws.FileRepository;
+import ec.nbdemetra.ws.Workspace;
+import ec.nbdemetra.ws.WorkspaceConverter;
+import ec.nbdemetra.ws.WorkspaceFactory;
+import ec.nbdemetra.ws.WorkspaceFormat;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.io.File;
+import org.netbeans.api.progress.ProgressHandle;
+import org.openide.DialogDisplayer;
+import org.openide.NotifyDescriptor;
+import org.openide.awt.ActionID;
+import org.openide.awt.ActionReference;
+import org.openide.awt.ActionReferences;
+import org.openide.awt.ActionRegistration;
+import org.openide.util.NbBundle.Messages;
+import org.openide.util.RequestProcessor;
+
+@ActionID(category = "File",
+id = "ec.nbdemetra.ws.actions.ConvertWorkspaceFormat")
+@ActionRegistration(displayName = "#CTL_ConvertWorkspaceFormat")
+@ActionReferences({
+    @ActionReference(path = "Menu/File", position = 320)
+})
+@Messages({
+    "CTL_ConvertWorkspaceFormat=Convert Workspace Format...",
+    "# {0} - format",
+    "ConvertWorkspaceFormat.confirm=Convert the items of the workspace to the {0} format?",
+    "ConvertWorkspaceFormat.unsaved=The workspace must be saved first",
+    "# {0} - count",
+    "ConvertWorkspaceFormat.done={0} items converted"
+})
+public final class ConvertWorkspaceFormat implements ActionListener {
+
+    private static final RequestProcessor RP = new RequestProcessor(ConvertWorkspaceFormat.class);
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        Workspace ws = WorkspaceFactory.getInstance().getActiveWorkspace();
+        if (ws == null || !(ws.getRepository() instanceof FileRepository)) {
+            return;
+        }
+        File file = FileRepository.decode(ws.getDataSource());
+        if (file == null || !file.exists()) {
+            DialogDisplayer.getDefault().notify(new NotifyDescriptor.Message(Bundle.ConvertWorkspaceFormat_unsaved()));
+            return;
+        }
+        WorkspaceFormat target = FileRepository.getFormat(ws) == WorkspaceFormat.XML ? WorkspaceFormat.BINARY : WorkspaceFormat.XML;
+        NotifyDescriptor nd = new NotifyDescriptor.Confirmation(Bundle.ConvertWorkspaceFormat_confirm(target), NotifyDescriptor.OK_CANCEL_OPTION);
+        if (DialogDisplayer.getDefault().notify(nd) != NotifyDescriptor.OK_OPTION) {
+            return;
+        }
+        FileRepository.setFormat(ws, target);
+        RP.post(() -> {
+            ProgressHandle progressHandle = ProgressHandle.createHandle(Bundle.CTL_ConvertWorkspaceFormat());
+            progressHandle.start();
+            try {
+                int count = WorkspaceConverter.convert(file, target);
+                DialogDisplayer.getDefault().notifyLater(new NotifyDescriptor.Message(Bundle.ConvertWorkspaceFormat_done(count)));
+            } finally {
+                progressHandle.finish();
+            }
+        });
+    }
+}
@@ -16,6 +16,7 @@
  */
 package ec.nbdemetra.ws.xml;
 
+import ec.nbdemetra.ui.DemetraUI;
 import ec.nbdemetra.ws.IWorkspaceItemManager;
 import ec.nbdemetra.ws.Workspace;
 import ec.nbdemetra.ws.WorkspaceFactory;
@@ -50,6 +51,8 @@ public class XmlGenericWorkspace {
 
     public boolean to(Workspace ws) {
         ws.setName(name);
+        boolean parallel = DemetraUI.getDefault().isParallelWorkspaceIO();
+        List<WorkspaceItem<?>> autoLoad = new ArrayList<>();
         if (items != null) {
             for (XmlWorkspaceItem item : items) {
                 WorkspaceItem<?> witem = WorkspaceItem.item(new LinearId(item.family.split(SEP)),
@@ -60,10 +63,16 @@ public class XmlGenericWorkspace {
                 IWorkspaceItemManager<?> manager = WorkspaceFactory.getInstance().getManager(witem.getFamily());
                 if (manager != null && manager.isAutoLoad())
                 {
-                    witem.load();
+                    if (parallel) {
+                        autoLoad.add(witem);
+                    } else {
+                        witem.load();
+                    }
                 }
             }
         }
+        // one task per item; the workspace is shown without waiting for them
+        ws.autoLoad(autoLoad);
         return true;
     }
 
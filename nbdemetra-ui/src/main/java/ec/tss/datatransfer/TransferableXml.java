@@ -4,6 +4,7 @@
  */
 package ec.tss.datatransfer;
 
+import ec.nbdemetra.core.JaxbRegistry;
 import ec.tss.xml.IXmlConverter;
 import java.awt.datatransfer.DataFlavor;
 import java.awt.datatransfer.Transferable;
@@ -11,10 +12,7 @@ import java.awt.datatransfer.UnsupportedFlavorException;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
 
 /**
  *
@@ -52,9 +50,7 @@ public class TransferableXml<T, X extends IXmlConverter<T>> implements Transfera
 //	    ByteArrayInputStream mem = new ByteArrayInputStream(bytearray, 0,
 //		    bytearray.length);
 //	    mem.reset();
-            JAXBContext context = JAXBContext.newInstance(xclass);
-            Unmarshaller unmarshaller = context.createUnmarshaller();
-            X x = (X) unmarshaller.unmarshal(reader);
+            X x = JaxbRegistry.getDefault().unmarshal(xclass, reader);
             return x.create();
         } catch (UnsupportedFlavorException | IOException | JAXBException ex) {
             return null;
@@ -91,12 +87,9 @@ public class TransferableXml<T, X extends IXmlConverter<T>> implements Transfera
         }
         StringWriter writer = new StringWriter();
         try {
-            JAXBContext context = JAXBContext.newInstance(xclass_);
-            Marshaller marshaller = context.createMarshaller();
-            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
             X x = xclass_.newInstance();
             x.copy(obj_);
-            marshaller.marshal(x, writer);
+            JaxbRegistry.getDefault().marshal(x, writer);
             writer.flush();
             return writer.toString();
         } catch (JAXBException | InstantiationException | IllegalAccessException ex) {
@@ -5,6 +5,7 @@
 package ec.tss.datatransfer;
 
 import com.google.common.base.Throwables;
+import ec.nbdemetra.core.JaxbRegistry;
 import ec.tss.xml.information.XmlInformationSet;
 import ec.tstoolkit.information.InformationSet;
 import ec.tstoolkit.information.InformationSetSerializable;
@@ -14,10 +15,7 @@ import java.awt.datatransfer.UnsupportedFlavorException;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
 
 /**
  *
@@ -28,15 +26,6 @@ public class TransferableXmlInformation<T extends InformationSetSerializable> im
     private final T obj_;
     private final DataFlavor local_;
     private final String type_, version_;
-    private static JAXBContext context;
-
-    static {
-        try {
-            context = JAXBContext.newInstance(XmlInformationSet.class);
-        } catch (JAXBException ex) {
-            context = null;
-        }
-    }
 
     public static <T extends InformationSetSerializable> T read(Transferable dataobj, Class<T> tclass, String type, String version) {
         try {
@@ -55,8 +44,7 @@ public class TransferableXmlInformation<T extends InformationSetSerializable> im
 //	    ByteArrayInputStream mem = new ByteArrayInputStream(bytearray, 0,
 //		    bytearray.length);
 //	    mem.reset();
-            Unmarshaller unmarshaller = context.createUnmarshaller();
-            XmlInformationSet x = (XmlInformationSet) unmarshaller.unmarshal(reader);
+            XmlInformationSet x = JaxbRegistry.getDefault().unmarshal(XmlInformationSet.class, reader);
             if (x == null) {
                 return null;
             }
@@ -111,11 +99,9 @@ public class TransferableXmlInformation<T extends InformationSetSerializable> im
                 return null;
             }
             info.setContent(type_, version_);
-            Marshaller marshaller = context.createMarshaller();
-            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
             XmlInformationSet xml = new XmlInformationSet();
             xml.copy(info);
-            marshaller.marshal(xml, writer);
+            JaxbRegistry.getDefault().marshal(xml, writer);
             writer.flush();
             return writer.toString();
         } catch (Exception ex) {
@@ -28,6 +28,8 @@ import ec.util.various.swing.OnEDT;
 import java.awt.Image;
 import java.awt.datatransfer.DataFlavor;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import javax.annotation.Nonnull;
 import org.openide.nodes.Sheet;
 import org.openide.util.ImageUtilities;
@@ -73,6 +75,22 @@ public abstract class TssTransferHandler implements INamedService {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Exports a collection directly to a stream. The default implementation
+     * writes the result of {@link #exportTsCollection(ec.tss.TsCollection)};
+     * implementations should override it to avoid holding the whole content
+     * in memory.
+     *
+     * @param col
+     * @param stream
+     * @throws IOException
+     * @since 2.2.0
+     */
+    @OnAnyThread
+    public void exportTsCollection(@Nonnull TsCollection col, @Nonnull OutputStream stream) throws IOException {
+        writeExport(exportTsCollection(col), stream);
+    }
+
     @OnEDT
     public boolean canImportTsCollection(@Nonnull Object obj) {
         return false;
@@ -97,6 +115,20 @@ public abstract class TssTransferHandler implements INamedService {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Exports a matrix directly to a stream.
+     *
+     * @param matrix
+     * @param stream
+     * @throws IOException
+     * @see #exportTsCollection(ec.tss.TsCollection, java.io.OutputStream)
+     * @since 2.2.0
+     */
+    @OnAnyThread
+    public void exportMatrix(@Nonnull Matrix matrix, @Nonnull OutputStream stream) throws IOException {
+        writeExport(exportMatrix(matrix), stream);
+    }
+
     @OnEDT
     public boolean canImportMatrix(@Nonnull Object obj) {
         return false;
@@ -121,6 +153,20 @@ public abstract class TssTransferHandler implements INamedService {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Exports a table directly to a stream.
+     *
+     * @param table
+     * @param stream
+     * @throws IOException
+     * @see #exportTsCollection(ec.tss.TsCollection, java.io.OutputStream)
+     * @since 2.2.0
+     */
+    @OnAnyThread
+    public void exportTable(@Nonnull Table<?> table, @Nonnull OutputStream stream) throws IOException {
+        writeExport(exportTable(table), stream);
+    }
+
     @OnEDT
     public boolean canImportTable(@Nonnull Object obj) {
         return false;
@@ -132,4 +178,15 @@ public abstract class TssTransferHandler implements INamedService {
         throw new UnsupportedOperationException();
     }
     //</editor-fold>
+
+    private static void writeExport(Object data, OutputStream stream) throws IOException {
+        if (data instanceof byte[]) {
+            stream.write((byte[]) data);
+        } else if (data instanceof String) {
+            stream.write(((String) data).getBytes(StandardCharsets.UTF_8));
+        } else {
+            throw new UnsupportedOperationException("Cannot write " + data.getClass());
+        }
+        stream.flush();
+    }
 }
@@ -0,0 +1,489 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tss.datatransfer.impl;
+
+import ec.nbdemetra.core.BatchExecutor;
+import ec.tss.Ts;
+import ec.tss.TsCollection;
+import ec.tss.TsFactory;
+import ec.tss.tsproviders.utils.DataFormat;
+import ec.tss.tsproviders.utils.IParser;
+import ec.tss.tsproviders.utils.Parsers;
+import ec.tstoolkit.timeseries.TsAggregationType;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsDataCollector;
+import ec.tstoolkit.timeseries.simplets.TsDomain;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import ec.tstoolkit.timeseries.simplets.TsPeriod;
+import java.io.IOException;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Single-pass parser of tab-delimited time series.
+ * <p>
+ * The text is tokenised once into cell boundaries, without creating a string
+ * per cell. The orientation is detected from a small sample of the first
+ * column and each date is parsed by the first matching format. The values are
+ * written directly into one primitive buffer per series; simple decimal values
+ * are parsed without going through the number format. Very large inputs are
+ * parsed in parallel by row chunks.
+ */
+final class TxtTsCollectionParser {
+
+    private static final int MINDATES = 2;
+    private static final int SAMPLE_SIZE = 10;
+    // above this number of cells, the values are parsed in parallel
+    private static final int PARALLEL_THRESHOLD = 100_000;
+    private static final int MIN_ROWS_PER_TASK = 64;
+
+    private final NumberFormat numberFormat;
+    private final char decimalSeparator;
+    private final char groupingSeparator;
+    private final List<Parsers.Parser<Date>> dateParsers;
+
+    // tokens
+    private CharSequence text;
+    private int rowCount;
+    private int[] rowStarts;
+    private int[] rowFirstCells;
+    private int cellCount;
+    private int[] cellEnds;
+
+    TxtTsCollectionParser(@Nonnull NumberFormat numberFormat) {
+        this.numberFormat = numberFormat;
+        if (numberFormat instanceof DecimalFormat) {
+            DecimalFormat decimalFormat = (DecimalFormat) numberFormat;
+            DecimalFormatSymbols symbols = decimalFormat.getDecimalFormatSymbols();
+            this.decimalSeparator = symbols.getDecimalSeparator();
+            this.groupingSeparator = decimalFormat.isGroupingUsed() ? symbols.getGroupingSeparator() : 0;
+        } else {
+            // always uses the number format
+            this.decimalSeparator = 0;
+            this.groupingSeparator = 0;
+        }
+        this.dateParsers = new ArrayList<>(FALLBACK_FORMATS.length);
+        for (String o : FALLBACK_FORMATS) {
+            dateParsers.add(new DataFormat(Locale.ROOT, o, null).dateParser());
+        }
+    }
+
+    @Nullable
+    TsCollection parse(@Nonnull CharSequence input) throws IOException {
+        tokenize(input);
+        if (rowCount < 1) {
+            return null;
+        }
+        boolean vertical = isVertical();
+        int seriesCount = vertical ? getMaxCellCount() - 1 : rowCount - 1;
+        Date[] dates = parseDates(vertical);
+        int ndates = 0;
+        for (Date o : dates) {
+            if (o != null) {
+                ndates++;
+            }
+        }
+        if (seriesCount < 1 || ndates < MINDATES) {
+            return null;
+        }
+        String[] titles = new String[seriesCount];
+        for (int i = 0; i < seriesCount; i++) {
+            titles[i] = vertical ? getCell(0, i + 1) : getCell(i + 1, 0);
+        }
+        double[][] values = new double[seriesCount][dates.length];
+        for (double[] o : values) {
+            Arrays.fill(o, Double.NaN);
+        }
+        parseValues(vertical, dates, values);
+        return createCollection(titles, dates, values);
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Tokenizer">
+    private void tokenize(CharSequence input) {
+        text = input;
+        rowCount = 0;
+        rowStarts = new int[64];
+        rowFirstCells = new int[65];
+        cellCount = 0;
+        cellEnds = new int[256];
+        int length = input.length();
+        int rowStart = 0;
+        for (int i = 0; i < length; i++) {
+            char c = input.charAt(i);
+            if (c == '\t') {
+                addCell(i);
+            } else if (c == '\n') {
+                addCell(i > rowStart && input.charAt(i - 1) == '\r' ? i - 1 : i);
+                addRow(rowStart);
+                rowStart = i + 1;
+            }
+        }
+        if (rowStart < length) {
+            addCell(input.charAt(length - 1) == '\r' ? length - 1 : length);
+            addRow(rowStart);
+        }
+        // ignores the trailing empty lines
+        while (rowCount > 0 && getCellCount(rowCount - 1) == 1 && getCellLength(rowCount - 1, 0) == 0) {
+            cellCount = rowFirstCells[rowCount - 1];
+            rowCount--;
+        }
+    }
+
+    private void addCell(int end) {
+        if (cellCount == cellEnds.length) {
+            cellEnds = Arrays.copyOf(cellEnds, cellCount * 2);
+        }
+        cellEnds[cellCount++] = end;
+    }
+
+    private void addRow(int start) {
+        if (rowCount == rowStarts.length) {
+            rowStarts = Arrays.copyOf(rowStarts, rowCount * 2);
+            rowFirstCells = Arrays.copyOf(rowFirstCells, rowCount * 2 + 1);
+        }
+        rowStarts[rowCount] = start;
+        rowCount++;
+        rowFirstCells[rowCount] = cellCount;
+    }
+
+    private int getCellCount(int row) {
+        return rowFirstCells[row + 1] - rowFirstCells[row];
+    }
+
+    private int getMaxCellCount() {
+        int result = 0;
+        for (int i = 0; i < rowCount; i++) {
+            result = Math.max(result, getCellCount(i));
+        }
+        return result;
+    }
+
+    private int getCellStart(int row, int col) {
+        return col == 0 ? rowStarts[row] : cellEnds[rowFirstCells[row] + col - 1] + 1;
+    }
+
+    private int getCellEnd(int row, int col) {
+        return cellEnds[rowFirstCells[row] + col];
+    }
+
+    private int getCellLength(int row, int col) {
+        return getCellEnd(row, col) - getCellStart(row, col);
+    }
+
+    @Nullable
+    private String getCell(int row, int col) {
+        return col < getCellCount(row) ? text.subSequence(getCellStart(row, col), getCellEnd(row, col)).toString() : null;
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Dates">
+    private boolean isVertical() {
+        if (rowCount == 1) {
+            return parseDate(getCell(0, 0)) != null;
+        }
+        int sampled = Math.min(rowCount - 1, SAMPLE_SIZE);
+        int found = 0;
+        for (int i = 1; i <= sampled; i++) {
+            if (parseDate(getCell(i, 0)) != null) {
+                found++;
+            }
+        }
+        return found * 2 > sampled;
+    }
+
+    private Date[] parseDates(boolean vertical) {
+        Date[] result = new Date[vertical ? rowCount - 1 : Math.max(getMaxCellCount() - 1, 0)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = parseDate(vertical ? getCell(i + 1, 0) : getCell(0, i + 1));
+        }
+        return result;
+    }
+
+    @Nullable
+    private Date parseDate(@Nullable String input) {
+        if (input == null || input.isEmpty()) {
+            return null;
+        }
+        // the formats are always tried in order since an ambiguous date must
+        // get the same result whatever the previous cells
+        for (Parsers.Parser<Date> o : dateParsers) {
+            Date result = o.parse(input);
+            if (result != null) {
+                return result;
+            }
+        }
+        return null;
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Values">
+    private void parseValues(boolean vertical, Date[] dates, double[][] values) throws IOException {
+        int rows = rowCount - 1;
+        if (cellCount < PARALLEL_THRESHOLD || rows < MIN_ROWS_PER_TASK * 2) {
+            new ValueParser().parseRows(vertical, dates, values, 1, rowCount);
+            return;
+        }
+        int parallelism = BatchExecutor.getDefault().getParallelism();
+        int rowsPerTask = Math.max(MIN_ROWS_PER_TASK, (rows + parallelism * 4 - 1) / (parallelism * 4));
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int from = 1; from < rowCount; from += rowsPerTask) {
+            int start = from;
+            int end = Math.min(from + rowsPerTask, rowCount);
+            // each task writes distinct positions of the buffers
+            tasks.add(() -> {
+                new ValueParser().parseRows(vertical, dates, values, start, end);
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> o : BatchExecutor.getDefault().invokeAll(tasks)) {
+                o.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while parsing data", ex);
+        } catch (ExecutionException ex) {
+            throw new IOException("Problem while parsing data", ex.getCause());
+        }
+    }
+
+    /**
+     * Parses the values of a range of rows. An instance must be confined to a
+     * single thread since the number format is not thread-safe.
+     */
+    private final class ValueParser {
+
+        private final IParser<Number> fallback = Parsers.onNumberFormat((NumberFormat) numberFormat.clone());
+
+        void parseRows(boolean vertical, Date[] dates, double[][] values, int startRow, int endRow) {
+            for (int row = startRow; row < endRow; row++) {
+                int cells = getCellCount(row);
+                if (vertical) {
+                    int date = row - 1;
+                    if (dates[date] == null) {
+                        continue;
+                    }
+                    for (int col = 1; col < cells && col <= values.length; col++) {
+                        values[col - 1][date] = parseValue(row, col);
+                    }
+                } else {
+                    double[] series = values[row - 1];
+                    for (int col = 1; col < cells && col <= dates.length; col++) {
+                        if (dates[col - 1] != null) {
+                            series[col - 1] = parseValue(row, col);
+                        }
+                    }
+                }
+            }
+        }
+
+        private double parseValue(int row, int col) {
+            int start = getCellStart(row, col);
+            int end = getCellEnd(row, col);
+            if (start == end) {
+                return Double.NaN;
+            }
+            double result = parseSimpleDecimal(start, end);
+            if (Double.isNaN(result)) {
+                Number value = fallback.parse(text.subSequence(start, end).toString());
+                result = value != null ? value.doubleValue() : Double.NaN;
+            }
+            return result;
+        }
+
+        /**
+         * Parses a decimal without exponent whose value is exactly
+         * representable by the division of two doubles; this gives the same
+         * result as the number format.
+         *
+         * @return the value or NaN if the cell must be parsed by the number
+         * format
+         */
+        private double parseSimpleDecimal(int start, int end) {
+            if (decimalSeparator == 0) {
+                return Double.NaN;
+            }
+            int i = start;
+            boolean negative = text.charAt(i) == '-';
+            if (negative) {
+                i++;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int fractionDigits = 0;
+            boolean fraction = false;
+            boolean previousIsDigit = false;
+            for (; i < end; i++) {
+                char c = text.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    if (mantissa != 0 || c != '0') {
+                        if (++digits > MAX_EXACT_DIGITS) {
+                            return Double.NaN;
+                        }
+                    }
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (fraction) {
+                        fractionDigits++;
+                    }
+                    previousIsDigit = true;
+                } else if (c == decimalSeparator && !fraction) {
+                    fraction = true;
+                    previousIsDigit = false;
+                } else if (c == groupingSeparator && groupingSeparator != 0 && !fraction && previousIsDigit) {
+                    previousIsDigit = false;
+                } else {
+                    return Double.NaN;
+                }
+            }
+            if (!previousIsDigit || fractionDigits >= POWERS_OF_TEN.length) {
+                return Double.NaN;
+            }
+            double result = fractionDigits == 0 ? mantissa : mantissa / POWERS_OF_TEN[fractionDigits];
+            return negative ? -result : result;
+        }
+    }
+
+    // mantissas below 10^15 and powers of ten below 10^23 are exact doubles
+    private static final int MAX_EXACT_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Series">
+    private static TsCollection createCollection(String[] titles, Date[] dates, double[][] values) {
+        TsCollection result = TsFactory.instance.createTsCollection();
+        TsDomain domain = inferDomain(dates);
+        if (domain == null) {
+            // no common frequency; lets the collector deal with each series
+            for (int i = 0; i < titles.length; i++) {
+                result.quietAdd(createTs(titles[i], collect(dates, values[i])));
+            }
+            return result;
+        }
+        int[] positions = new int[dates.length];
+        for (int i = 0; i < dates.length; i++) {
+            positions[i] = dates[i] != null ? domain.search(new TsPeriod(domain.getFrequency(), dates[i])) : -1;
+        }
+        for (int i = 0; i < titles.length; i++) {
+            result.quietAdd(createTs(titles[i], toTsData(domain, positions, values[i])));
+        }
+        return result;
+    }
+
+    private static Ts createTs(String title, TsData data) {
+        Ts result = TsFactory.instance.createTs(title);
+        result.set(data);
+        return result;
+    }
+
+    @Nullable
+    private static TsDomain inferDomain(Date[] dates) {
+        TsDataCollector collector = new TsDataCollector();
+        for (Date o : dates) {
+            if (o != null) {
+                collector.addObservation(o, 0);
+            }
+        }
+        TsData axis = collector.make(TsFrequency.Undefined, TsAggregationType.None);
+        return axis != null ? axis.getDomain() : null;
+    }
+
+    @Nullable
+    private static TsData toTsData(TsDomain domain, int[] positions, double[] values) {
+        double[] buffer = new double[domain.getLength()];
+        Arrays.fill(buffer, Double.NaN);
+        int first = buffer.length;
+        int last = -1;
+        for (int i = 0; i < values.length; i++) {
+            int pos = positions[i];
+            if (pos >= 0 && !Double.isNaN(values[i])) {
+                buffer[pos] = values[i];
+                first = Math.min(first, pos);
+                last = Math.max(last, pos);
+            }
+        }
+        if (last < first) {
+            return null;
+        }
+        return new TsData(domain.get(first), Arrays.copyOfRange(buffer, first, last + 1), false);
+    }
+
+    @Nullable
+    private static TsData collect(Date[] dates, double[] values) {
+        TsDataCollector collector = new TsDataCollector();
+        for (int i = 0; i < dates.length; i++) {
+            if (dates[i] != null && !Double.isNaN(values[i])) {
+                collector.addObservation(dates[i], values[i]);
+            }
+        }
+        return collector.make(TsFrequency.Undefined, TsAggregationType.None);
+    }
+    //</editor-fold>
+
+    // fallback formats; order matters!
+    private static final String[] FALLBACK_FORMATS = {
+        "yyyy-MM-dd",
+        "yyyy MM dd",
+        "yyyy.MM.dd",
+        "yyyy-MMM-dd",
+        "yyyy MMM dd",
+        "yyyy.MMM.dd",
+        "dd-MM-yyyy",
+        "dd MM yyyy",
+        "dd.MM.yyyy",
+        "dd/MM/yyyy",
+        "dd-MM-yy",
+        "dd MM yy",
+        "dd.MM.yy",
+        "dd/MM/yy",
+        "dd-MMM-yy",
+        "dd MMM yy",
+        "dd.MMM.yy",
+        "dd/MMM/yy",
+        "dd-MMM-yyyy",
+        "dd MMM yyyy",
+        "dd.MMM.yyyy",
+        "dd/MMM/yyyy",
+        "yyyy-MM-dd hh:mm:ss",
+        "yyyy MM dd hh:mm:ss",
+        "yyyy.MM.dd hh:mm:ss",
+        "yyyy/MM/dd hh:mm:ss",
+        "yyyy-MMM-dd hh:mm:ss",
+        "yyyy MMM dd hh:mm:ss",
+        "yyyy.MMM.dd hh:mm:ss",
+        "yyyy/MMM/dd hh:mm:ss",
+        "dd-MM-yyyy hh:mm:ss",
+        "dd MM yyyy hh:mm:ss",
+        "dd.MM.yyyy hh:mm:ss",
+        "dd/MM/yyyy hh:mm:ss",
+        "dd-MMM-yyyy hh:mm:ss",
+        "dd MMM yyyy hh:mm:ss",
+        "dd.MMM.yyyy hh:mm:ss",
+        "dd/MMM/yyyy hh:mm:ss"};
+}
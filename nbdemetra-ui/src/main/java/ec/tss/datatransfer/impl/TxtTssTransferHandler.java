@@ -18,8 +18,6 @@ package ec.tss.datatransfer.impl;
 
 import com.google.common.base.Converter;
 import com.google.common.base.Preconditions;
-import com.google.common.base.StandardSystemProperty;
-import com.google.common.collect.ImmutableList;
 import ec.nbdemetra.ui.Config;
 import ec.nbdemetra.ui.Configurator;
 import ec.nbdemetra.ui.BeanHandler;
@@ -28,27 +26,25 @@ import ec.nbdemetra.ui.IConfigurable;
 import ec.nbdemetra.ui.properties.PropertySheetDialogBuilder;
 import ec.nbdemetra.ui.properties.IBeanEditor;
 import ec.nbdemetra.ui.properties.NodePropertySetBuilder;
-import ec.tss.Ts;
 import ec.tss.TsCollection;
 import ec.tss.TsInformationType;
-import ec.tss.TsStatus;
 import ec.tss.datatransfer.TssTransferHandler;
-import ec.tss.tsproviders.utils.DataFormat;
 import ec.tss.tsproviders.utils.IParam;
-import ec.tss.tsproviders.utils.IParser;
-import ec.tss.tsproviders.utils.MultiLineNameUtil;
 import ec.tss.tsproviders.utils.Params;
-import ec.tss.tsproviders.utils.Parsers;
 import ec.tstoolkit.data.Table;
 import ec.tstoolkit.maths.matrices.Matrix;
 import java.awt.datatransfer.DataFlavor;
 import java.beans.IntrospectionException;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.text.DateFormat;
 import java.text.NumberFormat;
 import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
 import org.openide.nodes.Sheet;
 import org.openide.util.lookup.ServiceProvider;
 
@@ -58,9 +54,6 @@ import org.openide.util.lookup.ServiceProvider;
 @ServiceProvider(service = TssTransferHandler.class, position = 2000)
 public class TxtTssTransferHandler extends TssTransferHandler implements IConfigurable {
 
-    private static final char DELIMITOR = '\t';
-    private static final String NEWLINE = StandardSystemProperty.LINE_SEPARATOR.value();
-    private static final int MINDATES = 2;
     // PROPERTIES
     private final NumberFormat numberFormat;
     private final DateFormat dateFormat;
@@ -103,6 +96,14 @@ public class TxtTssTransferHandler extends TssTransferHandler implements IConfig
         return tsCollectionToString(col);
     }
 
+    @Override
+    public void exportTsCollection(TsCollection col, OutputStream stream) throws IOException {
+        col.load(TsInformationType.Data);
+        Writer writer = newWriter(stream);
+        newTxtWriter().writeTsCollection(col, writer);
+        writer.flush();
+    }
+
     @Override
     public boolean canImportTsCollection(Object obj) {
         return config.importTimeSeries && obj instanceof String;
@@ -124,17 +125,18 @@ public class TxtTssTransferHandler extends TssTransferHandler implements IConfig
 
     @Override
     public Object exportMatrix(Matrix matrix) throws IOException {
-        StringBuilder result = new StringBuilder();
-        for (int i = 0; i < matrix.getRowsCount(); i++) {
-            result.append(numberFormat.format(matrix.get(i, 0)));
-            for (int j = 1; j < matrix.getColumnsCount(); j++) {
-                result.append(DELIMITOR).append(numberFormat.format(matrix.get(i, j)));
-            }
-            result.append(NEWLINE);
-        }
+        StringWriter result = new StringWriter();
+        newTxtWriter().writeMatrix(matrix, result);
         return result.toString();
     }
 
+    @Override
+    public void exportMatrix(Matrix matrix, OutputStream stream) throws IOException {
+        Writer writer = newWriter(stream);
+        newTxtWriter().writeMatrix(matrix, writer);
+        writer.flush();
+    }
+
     @Override
     public boolean canExportTable(Table<?> table) {
         return config.exportTable && !table.isEmpty();
@@ -142,16 +144,17 @@ public class TxtTssTransferHandler extends TssTransferHandler implements IConfig
 
     @Override
     public Object exportTable(Table<?> table) throws IOException {
-        StringBuilder result = new StringBuilder();
-        for (int i = 0; i < table.getRowsCount(); i++) {
-            result.append(valueToString(table.get(i, 0)));
-            for (int j = 1; j < table.getColumnsCount(); j++) {
-                result.append(DELIMITOR).append(valueToString(table.get(i, j)));
-            }
-            result.append(NEWLINE);
-        }
+        StringWriter result = new StringWriter();
+        newTxtWriter().writeTable(table, result);
         return result.toString();
     }
+
+    @Override
+    public void exportTable(Table<?> table, OutputStream stream) throws IOException {
+        Writer writer = newWriter(stream);
+        newTxtWriter().writeTable(table, writer);
+        writer.flush();
+    }
     //</editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="IConfigurable">
@@ -171,227 +174,35 @@ public class TxtTssTransferHandler extends TssTransferHandler implements IConfig
     }
     //</editor-fold>
 
-    private String valueToString(Object value) {
-        if (value == null) {
-            return "";
-        }
-        if (value instanceof Date) {
-            return dateFormat.format((Date) value);
-        }
-        if (value instanceof Number) {
-            return numberFormat.format((Number) value);
-        }
-        return value.toString();
+    private TxtTssWriter newTxtWriter() {
+        return new TxtTssWriter(numberFormat, dateFormat, config);
+    }
+
+    private static Writer newWriter(OutputStream stream) {
+        return new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
     }
 
     //writes the collection of ts in a tab delimited txt format into a string
     public String tsCollectionToString(TsCollection col) throws IOException {
-        if (col.isEmpty()) {
-            return "";
-        }
-        StringBuilder result = new StringBuilder();
-        TsCollectionAnalyser analyser = new TsCollectionAnalyser();
-        analyser.set(col, config.beginPeriod);
-        int nbdates = analyser.dates.length;
-        int nseries = analyser.titles.length;
-        if (config.vertical) // une série par colonne
-        {
-            // écriture des titres des séries
-            if (config.showTitle) {
-                if (config.showDates) {
-                    result.append(DELIMITOR);
-                }
-                for (int i = 0; i < nseries; i++) {
-                    result.append(MultiLineNameUtil.join(analyser.titles[i]));
-                    if (i == nseries - 1) {
-                        result.append(NEWLINE);
-                    } else {
-                        result.append(DELIMITOR);
-                    }
-                }
-            }
-
-            for (int i = 0; i < nbdates; i++) {
-                if (config.showDates) {
-                    result.append(dateFormat.format(analyser.dates[i])).append(DELIMITOR);
-                }
-                for (int j = 0; j < nseries; j++) {
-                    double val = analyser.data.get(i, j);
-                    if (!Double.isNaN(val)) {
-                        result.append(numberFormat.format(val));
-                    }
-                    if (j == nseries - 1) {
-                        result.append(NEWLINE);
-                    } else {
-                        result.append(DELIMITOR);
-                    }
-                }
-            }
-
-        } // une série par ligne
-        else {
-            if (config.showDates) {
-                if (config.showTitle) {
-                    result.append(DELIMITOR);
-                }
-                for (int i = 0; i < nbdates; i++) {
-                    result.append(dateFormat.format(analyser.dates[i]));
-                    result.append(DELIMITOR);
-                    if (i == nbdates - 1) {
-                        result.append(NEWLINE);
-                    } else {
-                        result.append(DELIMITOR);
-                    }
-                }
-            }
-            for (int i = 0; i < nseries; i++) {
-                if (config.showTitle) {
-                    result.append(MultiLineNameUtil.join(analyser.titles[i]));
-                    result.append(DELIMITOR);
-                }
-                for (int j = 0; j < nbdates; j++) {
-                    double val = analyser.data.get(j, i);
-                    if (!Double.isNaN(val)) {
-                        result.append(numberFormat.format(val));
-                    }
-                    if (j == nbdates - 1) {
-                        result.append(NEWLINE);
-                    } else {
-                        result.append(DELIMITOR);
-                    }
-                }
-            }
-        }
+        StringWriter result = new StringWriter();
+        writeTsCollection(col, result);
         return result.toString();
     }
 
-    public TsCollection tsCollectionFromString(String text) throws IOException {
-        IParser<Date> periodParser = FALLBACK_PARSER.get();
-        IParser<Number> valueParser = Parsers.onNumberFormat(numberFormat);
+    //writes the collection of ts in a tab delimited txt format into a writer
+    public void writeTsCollection(TsCollection col, Writer writer) throws IOException {
+        newTxtWriter().writeTsCollection(col, writer);
+    }
 
-        TsCollection result = null;
+    public TsCollection tsCollectionFromString(String text) throws IOException {
         try {
-            int rows = 0;
-            int cols = 0;
-            boolean datesAreVertical = true;
-
-            String[] rowarray = text.split("\\r?\\n");
-            rows = rowarray.length;
-            for (int i = 0; i < rows; i++) {
-                String[] colarray = rowarray[i].split("\\t");
-                if (cols < colarray.length) {
-                    cols = colarray.length;
-                }
-                datesAreVertical = periodParser.parseValue(colarray[0]).isPresent();
-            }
-
-            if (cols < 1 || rows < 1) {
-                return null;
-            }
-            Matrix datamatrix = new Matrix(rows, cols);
-            for (int i = 0; i < rows; i++) {
-                for (int j = 0; j < cols; j++) {
-                    datamatrix.set(i, j, Double.NaN);
-                }
-            }
-            Date[] dates = new Date[(datesAreVertical ? rows : cols)];
-            String[] titles = new String[(datesAreVertical ? cols : rows)];
-
-            rowarray = text.split("\\r?\\n");
-            for (int i = 0; i < rowarray.length; i++) {
-                String[] colarray = rowarray[i].split("\\t");
-                for (int j = 0; j < colarray.length; j++) {
-                    if (((j == 0 && datesAreVertical) || (i == 0 && !datesAreVertical))
-                            && periodParser.parseValue(colarray[j]).isPresent()) {
-                        dates[(datesAreVertical ? i : j)] = periodParser.parse(colarray[j]);
-                    } else if ((j == 0 && !datesAreVertical)
-                            || (i == 0 && datesAreVertical)) {
-                        titles[(datesAreVertical ? j : i)] = colarray[j];
-                    } else {
-                        Number value = valueParser.parse(colarray[j]);
-                        if (value != null) {
-                            datamatrix.set(i, j, value.doubleValue());
-                        }
-                    }
-                }
-            }
-            int ndates = 0;
-            for (int i = 0; i < dates.length; ++i) {
-                if (dates[i] != null) {
-                    ++ndates;
-                }
-            }
-
-            if (ndates < MINDATES) {
-                return null;
-            }
-            TsCollectionAnalyser analyser = new TsCollectionAnalyser();
-
-            analyser.data = (datesAreVertical ? datamatrix : datamatrix.transpose());
-            analyser.dates = dates;
-            analyser.titles = titles;
-            result = analyser.create();
-
-            for (Ts s : result) {
-                if (s.hasData() == TsStatus.Valid) {
-                    s.set(s.getTsData());//.cleanExtremities());
-                }
-            }
+            return new TxtTsCollectionParser(numberFormat).parse(text);
+        } catch (IOException ex) {
+            throw ex;
         } catch (Exception ex) {
             throw new IOException("Problem while retrieving data", ex);
         }
-        return result;
     }
-    private static final ThreadLocal<IParser<Date>> FALLBACK_PARSER = new ThreadLocal<IParser<Date>>() {
-        @Override
-        protected IParser<Date> initialValue() {
-            ImmutableList.Builder<Parsers.Parser<Date>> list = ImmutableList.builder();
-            for (String o : FALLBACK_FORMATS) {
-                list.add(new DataFormat(Locale.ROOT, o, null).dateParser());
-            }
-            return Parsers.firstNotNull(list.build());
-        }
-    };
-    // fallback formats; order matters!
-    private static final String[] FALLBACK_FORMATS = {
-        "yyyy-MM-dd",
-        "yyyy MM dd",
-        "yyyy.MM.dd",
-        "yyyy-MMM-dd",
-        "yyyy MMM dd",
-        "yyyy.MMM.dd",
-        "dd-MM-yyyy",
-        "dd MM yyyy",
-        "dd.MM.yyyy",
-        "dd/MM/yyyy",
-        "dd-MM-yy",
-        "dd MM yy",
-        "dd.MM.yy",
-        "dd/MM/yy",
-        "dd-MMM-yy",
-        "dd MMM yy",
-        "dd.MMM.yy",
-        "dd/MMM/yy",
-        "dd-MMM-yyyy",
-        "dd MMM yyyy",
-        "dd.MMM.yyyy",
-        "dd/MMM/yyyy",
-        "yyyy-MM-dd hh:mm:ss",
-        "yyyy MM dd hh:mm:ss",
-        "yyyy.MM.dd hh:mm:ss",
-        "yyyy/MM/dd hh:mm:ss",
-        "yyyy-MMM-dd hh:mm:ss",
-        "yyyy MMM dd hh:mm:ss",
-        "yyyy.MMM.dd hh:mm:ss",
-        "yyyy/MMM/dd hh:mm:ss",
-        "dd-MM-yyyy hh:mm:ss",
-        "dd MM yyyy hh:mm:ss",
-        "dd.MM.yyyy hh:mm:ss",
-        "dd/MM/yyyy hh:mm:ss",
-        "dd-MMM-yyyy hh:mm:ss",
-        "dd MMM yyyy hh:mm:ss",
-        "dd.MMM.yyyy hh:mm:ss",
-        "dd/MMM/yyyy hh:mm:ss"};
 
     public static final class InternalConfig {
 
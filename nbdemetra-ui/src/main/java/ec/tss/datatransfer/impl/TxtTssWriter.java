@@ -0,0 +1,255 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tss.datatransfer.impl;
+
+import com.google.common.base.StandardSystemProperty;
+import ec.tss.TsCollection;
+import ec.tss.tsproviders.utils.MultiLineNameUtil;
+import ec.tstoolkit.data.Table;
+import ec.tstoolkit.maths.matrices.Matrix;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsDataTable;
+import ec.tstoolkit.timeseries.simplets.TsDataTableInfo;
+import ec.tstoolkit.timeseries.simplets.TsDomain;
+import ec.tstoolkit.timeseries.simplets.TsPeriod;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.DateFormat;
+import java.text.FieldPosition;
+import java.text.NumberFormat;
+import java.util.Date;
+import javax.annotation.Nonnull;
+
+/**
+ * Streaming writer of tab-delimited values.
+ * <p>
+ * The values are written directly to a writer: the series are read through a
+ * cursor on their merged domain and no intermediate matrix or string is
+ * created. The formats are cloned so that an instance can be used on any
+ * thread; an instance must not be shared between threads.
+ */
+final class TxtTssWriter {
+
+    private static final char DELIMITOR = '\t';
+    private static final String NEWLINE = StandardSystemProperty.LINE_SEPARATOR.value();
+
+    private final NumberFormat numberFormat;
+    private final DateFormat dateFormat;
+    private final TxtTssTransferHandler.InternalConfig config;
+    private final StringBuffer buffer;
+    private final FieldPosition fieldPosition;
+    private char[] chars;
+
+    TxtTssWriter(@Nonnull NumberFormat numberFormat, @Nonnull DateFormat dateFormat, @Nonnull TxtTssTransferHandler.InternalConfig config) {
+        this.numberFormat = (NumberFormat) numberFormat.clone();
+        this.dateFormat = (DateFormat) dateFormat.clone();
+        this.config = config;
+        this.buffer = new StringBuffer(32);
+        this.fieldPosition = new FieldPosition(0);
+        this.chars = new char[32];
+    }
+
+    void writeTsCollection(@Nonnull TsCollection col, @Nonnull Writer writer) throws IOException {
+        if (col.isEmpty()) {
+            return;
+        }
+        DataCursor cursor = new DataCursor(col);
+        String[] titles = new String[col.getCount()];
+        for (int i = 0; i < titles.length; i++) {
+            titles[i] = MultiLineNameUtil.join(col.get(i).getName());
+        }
+        int nbdates = cursor.getPeriodCount();
+        int nseries = titles.length;
+        if (config.vertical) {
+            // one series per column
+            if (config.showTitle) {
+                if (config.showDates) {
+                    writer.write(DELIMITOR);
+                }
+                for (int j = 0; j < nseries; j++) {
+                    if (j > 0) {
+                        writer.write(DELIMITOR);
+                    }
+                    writer.write(titles[j]);
+                }
+                writer.write(NEWLINE);
+            }
+            for (int i = 0; i < nbdates; i++) {
+                if (config.showDates) {
+                    writeDate(cursor.getPeriod(i), writer);
+                    writer.write(DELIMITOR);
+                }
+                for (int j = 0; j < nseries; j++) {
+                    if (j > 0) {
+                        writer.write(DELIMITOR);
+                    }
+                    double val = cursor.getValue(i, j);
+                    if (!Double.isNaN(val)) {
+                        writeNumber(val, writer);
+                    }
+                }
+                writer.write(NEWLINE);
+            }
+        } else {
+            // one series per line
+            if (config.showDates) {
+                if (config.showTitle) {
+                    writer.write(DELIMITOR);
+                }
+                for (int i = 0; i < nbdates; i++) {
+                    if (i > 0) {
+                        writer.write(DELIMITOR);
+                    }
+                    writeDate(cursor.getPeriod(i), writer);
+                }
+                writer.write(NEWLINE);
+            }
+            for (int j = 0; j < nseries; j++) {
+                if (config.showTitle) {
+                    writer.write(titles[j]);
+                    writer.write(DELIMITOR);
+                }
+                for (int i = 0; i < nbdates; i++) {
+                    if (i > 0) {
+                        writer.write(DELIMITOR);
+                    }
+                    double val = cursor.getValue(i, j);
+                    if (!Double.isNaN(val)) {
+                        writeNumber(val, writer);
+                    }
+                }
+                writer.write(NEWLINE);
+            }
+        }
+    }
+
+    void writeMatrix(@Nonnull Matrix matrix, @Nonnull Writer writer) throws IOException {
+        for (int i = 0; i < matrix.getRowsCount(); i++) {
+            writeNumber(matrix.get(i, 0), writer);
+            for (int j = 1; j < matrix.getColumnsCount(); j++) {
+                writer.write(DELIMITOR);
+                writeNumber(matrix.get(i, j), writer);
+            }
+            writer.write(NEWLINE);
+        }
+    }
+
+    void writeTable(@Nonnull Table<?> table, @Nonnull Writer writer) throws IOException {
+        for (int i = 0; i < table.getRowsCount(); i++) {
+            writeValue(table.get(i, 0), writer);
+            for (int j = 1; j < table.getColumnsCount(); j++) {
+                writer.write(DELIMITOR);
+                writeValue(table.get(i, j), writer);
+            }
+            writer.write(NEWLINE);
+        }
+    }
+
+    private void writeValue(Object value, Writer writer) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Date) {
+            buffer.setLength(0);
+            dateFormat.format((Date) value, buffer, fieldPosition);
+            flushBuffer(writer);
+        } else if (value instanceof Number) {
+            buffer.setLength(0);
+            numberFormat.format(value, buffer, fieldPosition);
+            flushBuffer(writer);
+        } else {
+            writer.write(value.toString());
+        }
+    }
+
+    private void writeNumber(double value, Writer writer) throws IOException {
+        buffer.setLength(0);
+        numberFormat.format(value, buffer, fieldPosition);
+        flushBuffer(writer);
+    }
+
+    private void writeDate(TsPeriod period, Writer writer) throws IOException {
+        buffer.setLength(0);
+        dateFormat.format((config.beginPeriod ? period.firstday() : period.lastday()).getTime(), buffer, fieldPosition);
+        flushBuffer(writer);
+    }
+
+    private void flushBuffer(Writer writer) throws IOException {
+        int length = buffer.length();
+        if (chars.length < length) {
+            chars = new char[length * 2];
+        }
+        buffer.getChars(0, length, chars, 0);
+        writer.write(chars, 0, length);
+    }
+
+    /**
+     * Reads the values of a collection on its merged domain. When all the
+     * series have the frequency of the domain, the values are read directly
+     * from the series with an offset per series; otherwise, the positions are
+     * computed by a TsDataTable.
+     */
+    private static final class DataCursor {
+
+        private final TsDomain domain;
+        private final TsData[] data;
+        private final int[] offsets;
+        private final TsDataTable table;
+
+        DataCursor(TsCollection col) {
+            TsDataTable tmp = new TsDataTable();
+            this.data = new TsData[col.getCount()];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = col.get(i).getTsData();
+                tmp.insert(-1, data[i]);
+            }
+            this.domain = tmp.getDomain();
+            this.offsets = new int[data.length];
+            boolean sameFrequency = true;
+            for (int i = 0; i < data.length; i++) {
+                if (data[i] == null || data[i].isEmpty()) {
+                    data[i] = null;
+                } else if (domain != null && data[i].getFrequency() == domain.getFrequency()) {
+                    offsets[i] = domain.search(data[i].getStart());
+                } else {
+                    sameFrequency = false;
+                }
+            }
+            this.table = sameFrequency ? null : tmp;
+        }
+
+        int getPeriodCount() {
+            return domain != null ? domain.getLength() : 0;
+        }
+
+        TsPeriod getPeriod(int index) {
+            return domain.get(index);
+        }
+
+        double getValue(int period, int series) {
+            if (table != null) {
+                return table.getDataInfo(period, series) == TsDataTableInfo.Valid ? table.getData(period, series) : Double.NaN;
+            }
+            TsData cur = data[series];
+            if (cur == null) {
+                return Double.NaN;
+            }
+            int pos = period - offsets[series];
+            return pos >= 0 && pos < cur.getLength() ? cur.get(pos) : Double.NaN;
+        }
+    }
+}
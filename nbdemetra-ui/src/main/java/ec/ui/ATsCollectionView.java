@@ -18,7 +18,6 @@ package ec.ui;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.Iterables;
-import com.google.common.collect.Lists;
 import ec.nbdemetra.ui.DemetraUI;
 import ec.nbdemetra.ui.IConfigurable;
 import ec.nbdemetra.ui.awt.ActionMaps;
@@ -56,9 +55,12 @@ import java.beans.BeanInfo;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumSet;
-import java.util.List;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Observable;
 import java.util.Observer;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
@@ -107,6 +109,9 @@ public abstract class ATsCollectionView extends ATsControl implements ITsCollect
     protected Ts[] selection;
     protected Ts[] dropContent;
     private boolean freezeOnImport;
+    private Set<Ts> contentChanges;
+    private TsCollectionDiff collectionDiff;
+    private Ts[] lastContent;
 
     // OTHER
     protected final TsFactoryObserver tsFactoryObserver;
@@ -120,6 +125,9 @@ public abstract class ATsCollectionView extends ATsControl implements ITsCollect
         this.selection = DEFAULT_SELECTION;
         this.dropContent = DEFAULT_DROP_CONTENT;
         this.freezeOnImport = DEFAULT_FREEZE_ON_IMPORT;
+        this.contentChanges = null;
+        this.collectionDiff = null;
+        this.lastContent = this.collection.toArray();
         this.tsFactoryObserver = new TsFactoryObserver();
 
         registerActions();
@@ -194,10 +202,53 @@ public abstract class ATsCollectionView extends ATsControl implements ITsCollect
         // update selection to reflect changes in collection
         Ts[] oldSelection = selection;
         selection = retainTsCollection(selection, newCol);
-        firePropertyChange(TS_COLLECTION_PROPERTY, oldCol, newCol);
+        Ts[] newContent = newCol.toArray();
+        collectionDiff = TsCollectionDiff.of(lastContent, newContent);
+        lastContent = newContent;
+        try {
+            firePropertyChange(TS_COLLECTION_PROPERTY, oldCol, newCol);
+        } finally {
+            collectionDiff = null;
+        }
         firePropertyChange(SELECTION_PROPERTY, oldSelection, selection);
     }
 
+    private void fireTsCollectionContentChange(@Nullable Set<Ts> changes) {
+        contentChanges = changes;
+        try {
+            fireTsCollectionChange(null, collection);
+        } finally {
+            contentChanges = null;
+        }
+    }
+
+    /**
+     * Gets the series whose content has changed while notifying a change of
+     * the content of the collection. This allows the views to update only the
+     * changed series in {@link #onCollectionChange()}.
+     *
+     * @return the changed series or null if the whole collection must be
+     * refreshed
+     */
+    @Nullable
+    protected Set<Ts> getTsContentChanges() {
+        return contentChanges;
+    }
+
+    /**
+     * Gets the differences between the previous and the current content of the
+     * collection while notifying a change of the collection. This allows the
+     * views to insert and delete only the changed series in
+     * {@link #onCollectionChange()}.
+     *
+     * @return the differences or null if the whole collection must be
+     * refreshed
+     */
+    @Nullable
+    protected TsCollectionDiff getTsCollectionDiff() {
+        return collectionDiff;
+    }
+
     //<editor-fold defaultstate="collapsed" desc="Getters/Setters">
     @Override
     public TsCollection getTsCollection() {
@@ -295,9 +346,11 @@ public abstract class ATsCollectionView extends ATsControl implements ITsCollect
     }
 
     private static Ts[] retainTsCollection(Ts[] tss, TsCollection collection) {
-        List<Ts> tmp = Lists.newArrayList(tss);
-        tmp.retainAll(Arrays.asList(collection.toArray()));
-        return Iterables.toArray(tmp, Ts.class);
+        if (tss.length == 0) {
+            return tss;
+        }
+        Set<Ts> content = new HashSet<>(Arrays.asList(collection.toArray()));
+        return Stream.of(tss).filter(content::contains).toArray(Ts[]::new);
     }
 
     @Deprecated
@@ -306,9 +359,11 @@ public abstract class ATsCollectionView extends ATsControl implements ITsCollect
     }
 
     private static Ts[] removeTsCollection(Ts[] tss, TsCollection collection) {
-        List<Ts> tmp = Lists.newArrayList(tss);
-        tmp.removeAll(Arrays.asList(collection.toArray()));
-        return Iterables.toArray(tmp, Ts.class);
+        if (tss.length == 0) {
+            return tss;
+        }
+        Set<Ts> content = new HashSet<>(Arrays.asList(collection.toArray()));
+        return Stream.of(tss).filter(o -> !content.contains(o)).toArray(Ts[]::new);
     }
 
     //<editor-fold defaultstate="collapsed" desc="Menus">
@@ -492,6 +547,83 @@ public abstract class ATsCollectionView extends ATsControl implements ITsCollect
         }
     }
 
+    /**
+     * Differences between two contents of a collection. The new content is
+     * the old content without the removed series, followed by the added
+     * series.
+     */
+    protected static final class TsCollectionDiff {
+
+        // above this ratio of changed series, a full refresh is cheaper
+        private static final double MAX_CHANGE_RATIO = .5;
+
+        @Nullable
+        static TsCollectionDiff of(@Nonnull Ts[] oldContent, @Nonnull Ts[] newContent) {
+            int[] removed = new int[oldContent.length];
+            int removedCount = 0;
+            int j = 0;
+            for (int i = 0; i < oldContent.length; i++) {
+                if (j < newContent.length && oldContent[i].equals(newContent[j])) {
+                    j++;
+                } else {
+                    removed[removedCount++] = i;
+                }
+            }
+            int addedCount = newContent.length - j;
+            if (removedCount + addedCount > MAX_CHANGE_RATIO * Math.max(oldContent.length, newContent.length) + 1) {
+                return null;
+            }
+            return new TsCollectionDiff(oldContent.length, Arrays.copyOf(removed, removedCount), j, newContent.length);
+        }
+
+        private final int oldCount;
+        private final int[] removed;
+        private final int addedFrom;
+        private final int addedTo;
+
+        private TsCollectionDiff(int oldCount, int[] removed, int addedFrom, int addedTo) {
+            this.oldCount = oldCount;
+            this.removed = removed;
+            this.addedFrom = addedFrom;
+            this.addedTo = addedTo;
+        }
+
+        /**
+         * @return the number of series before the change
+         */
+        public int getOldCount() {
+            return oldCount;
+        }
+
+        /**
+         * @return the indexes of the removed series in the old content, in
+         * ascending order
+         */
+        @Nonnull
+        public int[] getRemoved() {
+            return removed.clone();
+        }
+
+        /**
+         * @return the index of the first added series in the new content
+         */
+        public int getAddedFrom() {
+            return addedFrom;
+        }
+
+        /**
+         * @return the index following the last added series in the new
+         * content
+         */
+        public int getAddedTo() {
+            return addedTo;
+        }
+
+        public boolean isEmpty() {
+            return removed.length == 0 && addedFrom == addedTo;
+        }
+    }
+
     public class TsActionMouseAdapter extends MouseAdapter {
 
         @Override
@@ -504,15 +636,15 @@ public abstract class ATsCollectionView extends ATsControl implements ITsCollect
 
     protected class TsFactoryObserver implements Observer {
 
-        private final TsEventHelper<TsCollection> helper = TsEventHelper.onTsCollection(this::fireTsCollectionContentChange);
+        private final TsEventHelper<TsCollection> helper = TsEventHelper.onTsCollection(this::onContentChange);
 
         @Override
         public void update(Observable o, Object arg) {
             helper.process(o, arg);
         }
 
-        private void fireTsCollectionContentChange() {
-            fireTsCollectionChange(null, collection);
+        private void onContentChange(Set<Ts> changes) {
+            ATsCollectionView.this.fireTsCollectionContentChange(changes);
         }
     }
 
@@ -551,9 +683,25 @@ public abstract class ATsCollectionView extends ATsControl implements ITsCollect
 
         public void changeSelection(ListSelectionModel model) {
             model.clearSelection();
-            for (Ts o : selection) {
-                int index = indexToView(collection.indexOf(o));
-                model.addSelectionInterval(index, index);
+            if (selection.length == 0) {
+                return;
+            }
+            Map<Ts, Integer> indexes = new HashMap<>();
+            Ts[] content = collection.toArray();
+            for (int i = 0; i < content.length; i++) {
+                indexes.putIfAbsent(content[i], i);
+            }
+            model.setValueIsAdjusting(true);
+            try {
+                for (Ts o : selection) {
+                    Integer index = indexes.get(o);
+                    if (index != null) {
+                        int viewIndex = indexToView(index);
+                        model.addSelectionInterval(viewIndex, viewIndex);
+                    }
+                }
+            } finally {
+                model.setValueIsAdjusting(false);
             }
         }
 
@@ -12,6 +12,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import javax.annotation.Nullable;
 
 /**
  * TODO: merge this with TsXYDatasets?
@@ -26,21 +28,60 @@ public class DataFeatureModel {
 
     public void setData(Ts[] tss) {
         internalData = new boolean[features.length][tss.length][];
+        for (int series = 0; series < tss.length; series++) {
+            computeFeatures(series, tss[series]);
+        }
+    }
+
+    /**
+     * Updates the model incrementally. The new content must be the old content
+     * without the removed series, followed by the added series.
+     *
+     * @param tss the new content
+     * @param removed the indexes of the removed series in the old content, in
+     * ascending order
+     * @param changed the series whose data has changed or null if none
+     */
+    public void setData(Ts[] tss, int[] removed, @Nullable Set<Ts> changed) {
+        int oldCount = getSeriesCount();
+        int keptCount = oldCount - removed.length;
+        boolean[][][] tmp = new boolean[features.length][tss.length][];
+        for (int f = 0; f < features.length; f++) {
+            int k = 0;
+            int r = 0;
+            for (int series = 0; series < oldCount; series++) {
+                if (r < removed.length && removed[r] == series) {
+                    r++;
+                } else {
+                    tmp[f][k++] = internalData[f][series];
+                }
+            }
+        }
+        internalData = tmp;
+        for (int series = 0; series < tss.length; series++) {
+            if (series >= keptCount || (changed != null && changed.contains(tss[series]))) {
+                computeFeatures(series, tss[series]);
+            }
+        }
+    }
+
+    public int getSeriesCount() {
+        return internalData.length > 0 ? internalData[0].length : 0;
+    }
+
+    private void computeFeatures(int series, Ts ts) {
+        TsData data = ts.getTsData();
         for (int f = 0; f < features.length; f++) {
             Ts.DataFeature feature = features[f];
-            for (int series = 0; series < tss.length; series++) {
-                Ts ts = tss[series];
-                TsData data = ts.getTsData();
-                if (data != null && ts.isFeature(feature)) {
-                    internalData[f][series] = new boolean[data.getLength()];
-                    TsDomain mainDomain = data.getDomain();
-                    TsDomain subDomain = data.select(ts.getSelector(feature)).getDomain();
-                    if (!subDomain.isEmpty()) {
-                        int first = mainDomain.search(subDomain.getStart());
-                        int end = first + subDomain.getLength();
-                        //                        System.out.println("Feature=" + i + ", Ts=" + j + " [" + min + ", " + max + "]");
-                        Arrays.fill(internalData[f][series], first, end, true);
-                    }
+            internalData[f][series] = null;
+            if (data != null && ts.isFeature(feature)) {
+                internalData[f][series] = new boolean[data.getLength()];
+                TsDomain mainDomain = data.getDomain();
+                TsDomain subDomain = data.select(ts.getSelector(feature)).getDomain();
+                if (!subDomain.isEmpty()) {
+                    int first = mainDomain.search(subDomain.getStart());
+                    int end = first + subDomain.getLength();
+                    Arrays.fill(internalData[f][series], first, end, true);
                 }
             }
         }
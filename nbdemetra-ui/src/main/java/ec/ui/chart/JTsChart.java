@@ -260,7 +260,12 @@ public class JTsChart extends ATsChart implements IConfigurable {
     protected void onCollectionChange() {
         selectionListener.setEnabled(false);
         Ts[] tss = getTsCollection().toArray();
-        dataFeatureModel.setData(tss);
+        TsCollectionDiff diff = getTsCollectionDiff();
+        if (diff != null && diff.getOldCount() == dataFeatureModel.getSeriesCount()) {
+            dataFeatureModel.setData(tss, diff.getRemoved(), getTsContentChanges());
+        } else {
+            dataFeatureModel.setData(tss);
+        }
         chartPanel.setDataset(TsXYDatasets.from(tss));
         updateNoDataMessage();
         selectionListener.setEnabled(true);
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.ui.chart;
+
+import ec.tss.Ts;
+import ec.tss.TsStatus;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.util.chart.swing.CachedSparklineCellRenderer;
+
+/**
+ * Image-based version of {@link TsSparklineCellRenderer} that reads the values
+ * of a time series directly from its internal storage.
+ *
+ * @see CachedSparklineCellRenderer
+ */
+public class TsCachedSparklineCellRenderer extends CachedSparklineCellRenderer {
+
+    @Override
+    protected Object getIdentity(Object value) {
+        if (value instanceof Ts) {
+            // the data of a ts is replaced when it is updated
+            Ts ts = (Ts) value;
+            return ts.hasData().equals(TsStatus.Valid) ? ts.getTsData() : null;
+        }
+        return value;
+    }
+
+    @Override
+    protected double[] getValues(Object value) {
+        if (value instanceof TsData) {
+            return ((TsData) value).internalStorage();
+        }
+        if (value instanceof Ts) {
+            Ts ts = (Ts) value;
+            return ts.hasData().equals(TsStatus.Valid) ? ts.getTsData().internalStorage() : null;
+        }
+        return super.getValues(value);
+    }
+}
@@ -214,7 +214,13 @@ public class JTsGrid extends ATsGrid {
     @Override
     protected void onCollectionChange() {
         selectionListener.setEnabled(false);
-        dataFeatureModel.setData(getTsCollection().toArray());
+        Ts[] tss = getTsCollection().toArray();
+        TsCollectionDiff diff = getTsCollectionDiff();
+        if (diff != null && diff.getOldCount() == dataFeatureModel.getSeriesCount()) {
+            dataFeatureModel.setData(tss, diff.getRemoved(), getTsContentChanges());
+        } else {
+            dataFeatureModel.setData(tss);
+        }
         updateGridModel();
         updateComboModel();
         updateNoDataMessage();
@@ -31,7 +31,7 @@ import ec.tstoolkit.timeseries.simplets.TsFrequency;
 import ec.tstoolkit.timeseries.simplets.TsPeriod;
 import ec.ui.ATsList;
 import ec.ui.DemoUtils;
-import ec.ui.chart.TsSparklineCellRenderer;
+import ec.ui.chart.TsCachedSparklineCellRenderer;
 import ec.util.grid.swing.XTable;
 import ec.util.various.swing.StandardSwingColor;
 import java.awt.BorderLayout;
@@ -44,6 +44,7 @@ import java.beans.Beans;
 import java.beans.PropertyChangeEvent;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import javax.swing.*;
 import javax.swing.event.PopupMenuEvent;
@@ -175,8 +176,20 @@ public class JTsList extends ATsList {
 
     @Override
     protected void onCollectionChange() {
+        CustomTableModel model = (CustomTableModel) table.getModel();
+        TsCollectionDiff diff = getTsCollectionDiff();
+        Set<Ts> changes = getTsContentChanges();
+        if (diff != null && diff.getOldCount() == model.getRowCount() && (changes != null || !diff.isEmpty())) {
+            selectionListener.setEnabled(false);
+            model.setData(getTsCollection().toArray(), diff, changes);
+            selectionListener.setEnabled(true);
+            if (!diff.isEmpty()) {
+                onSelectionChange();
+            }
+            return;
+        }
         selectionListener.setEnabled(false);
-        ((CustomTableModel) table.getModel()).setData(getTsCollection().toArray());
+        model.setData(getTsCollection().toArray());
         selectionListener.setEnabled(true);
         onSelectionChange();
     }
@@ -332,6 +345,35 @@ public class JTsList extends ATsList {
             fireTableDataChanged();
         }
 
+        public void setData(Ts[] newData, TsCollectionDiff diff, Set<Ts> changes) {
+            int[] removed = diff.getRemoved();
+            int end = removed.length - 1;
+            while (end >= 0) {
+                int start = end;
+                while (start > 0 && removed[start - 1] == removed[start] - 1) {
+                    start--;
+                }
+                int from = removed[start];
+                int to = removed[end];
+                Ts[] tmp = new Ts[data.length - (to - from + 1)];
+                System.arraycopy(data, 0, tmp, 0, from);
+                System.arraycopy(data, to + 1, tmp, from, data.length - to - 1);
+                data = tmp;
+                fireTableRowsDeleted(from, to);
+                end = start - 1;
+            }
+            Ts[] kept = data;
+            data = newData;
+            for (int i = 0; i < kept.length; i++) {
+                if (kept[i] != newData[i] || (changes != null && changes.contains(newData[i]))) {
+                    fireTableRowsUpdated(i, i);
+                }
+            }
+            if (diff.getAddedFrom() < diff.getAddedTo()) {
+                fireTableRowsInserted(diff.getAddedFrom(), diff.getAddedTo() - 1);
+            }
+        }
+
         public void setInformation(List<InfoType> information) {
             this.information = information;
             fireTableStructureChanged();
@@ -452,12 +494,12 @@ public class JTsList extends ATsList {
     private static final class TsDataTableCellRenderer implements TableCellRenderer {
 
         private final Formatter<Number> formatter;
-        private final TsSparklineCellRenderer dataRenderer;
+        private final TsCachedSparklineCellRenderer dataRenderer;
         private final DefaultTableCellRenderer labelRenderer;
 
         public TsDataTableCellRenderer(DataFormat obsFormat) {
             this.formatter = obsFormat.numberFormatter();
-            this.dataRenderer = new TsSparklineCellRenderer();
+            this.dataRenderer = new TsCachedSparklineCellRenderer();
             this.labelRenderer = new DefaultTableCellRenderer();
             labelRenderer.setForeground(StandardSwingColor.TEXT_FIELD_INACTIVE_FOREGROUND.value());
             labelRenderer.setHorizontalAlignment(SwingConstants.CENTER);
@@ -37,7 +37,7 @@ import ec.tstoolkit.timeseries.simplets.TsData;
 import ec.tstoolkit.timeseries.simplets.TsDomain;
 import ec.tstoolkit.timeseries.simplets.TsFrequency;
 import ec.tstoolkit.timeseries.simplets.TsPeriod;
-import ec.ui.chart.TsSparklineCellRenderer;
+import ec.ui.chart.TsCachedSparklineCellRenderer;
 import ec.ui.interfaces.ITsActionAble;
 import ec.util.chart.swing.Charts;
 import ec.util.grid.swing.XTable;
@@ -164,7 +164,7 @@ public class JTsVariableList extends JComponent implements ITsActionAble {
         final XTable result = new XTable();
         result.setNoDataRenderer(new XTable.DefaultNoDataRenderer("Drop data here", "Drop data here"));
 
-        result.setDefaultRenderer(TsData.class, new TsSparklineCellRenderer());
+        result.setDefaultRenderer(TsData.class, new TsCachedSparklineCellRenderer());
         result.setDefaultRenderer(TsPeriod.class, new TsPeriodTableCellRenderer());
         result.setDefaultRenderer(TsFrequency.class, new TsFrequencyTableCellRenderer());
         result.setDefaultRenderer(String.class, new MultiLineNameTableCellRenderer());
@@ -23,10 +23,15 @@ import ec.tstoolkit.utilities.Id;
 import ec.tstoolkit.utilities.InformationExtractor;
 import java.awt.BorderLayout;
 import java.awt.Component;
+import java.awt.FlowLayout;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import javax.annotation.Nonnull;
+import javax.swing.JButton;
 import javax.swing.JComponent;
 import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.SwingConstants;
 import javax.swing.SwingWorker;
 
@@ -84,10 +89,13 @@ public class ComposedProcDocumentItemFactory<D extends IProcDocument, I> extends
     public JComponent getView(IProcDocumentView<? extends IProcDocument> host, IProcDocument document) {
         Preconditions.checkArgument(getDocumentType().isInstance(document), "Invalid document type");
         D source = getDocumentType().cast(document);
+        if (async) {
+            return new AsyncView(host, source);
+        }
         Object info = informationExtractor.retrieve(source);
         if (info == null)
             return host.getToolkit().getMessageViewer("No information for this item");
-        return async ? new AsyncView(host, source) : itemUI.getView(host, info);
+        return itemUI.getView(host, info);
     }
 
     @Nonnull
@@ -102,33 +110,71 @@ public class ComposedProcDocumentItemFactory<D extends IProcDocument, I> extends
 
     private final class AsyncView extends JComponent {
 
+        private final JProgressBar progressBar;
+
         public AsyncView(final IProcDocumentView<? extends IProcDocument> host, final D source) {
+            this.progressBar = new JProgressBar();
             setLayout(new BorderLayout());
-            add(newLoadingComponent(), BorderLayout.CENTER);
 
-            new SwingWorker<Object, Void>() {
+            SwingWorker<Object, int[]> worker = new SwingWorker<Object, int[]>() {
                 @Override
                 protected Object doInBackground() throws Exception {
-                    return informationExtractor.retrieve(source);
+                    return ParallelTsProcessing.withProgress((done, total) -> publish(new int[]{done, total}), () -> informationExtractor.retrieve(source));
+                }
+
+                @Override
+                protected void process(List<int[]> chunks) {
+                    int[] last = chunks.get(chunks.size() - 1);
+                    progressBar.setIndeterminate(false);
+                    progressBar.setMaximum(last[1]);
+                    progressBar.setValue(last[0]);
+                    progressBar.setString(last[0] + " / " + last[1]);
                 }
 
                 @Override
                 protected void done() {
+                    if (isCancelled()) {
+                        switchToComponent(host.getToolkit().getMessageViewer("Cancelled"));
+                        return;
+                    }
                     try {
-                        switchToComponent(itemUI.getView(host, get()));
+                        Object info = get();
+                        switchToComponent(info != null
+                                ? itemUI.getView(host, info)
+                                : host.getToolkit().getMessageViewer("No information for this item"));
                     } catch (InterruptedException | ExecutionException ex) {
                         Thread.currentThread().interrupt();
                         switchToComponent(ExceptionPanel.create(ex));
                     }
                 }
-            }.execute();
+            };
+            add(newLoadingComponent(() -> worker.cancel(true)), BorderLayout.CENTER);
+            worker.execute();
         }
 
-        private JComponent newLoadingComponent() {
-            JLabel result = new JLabel();
-            result.setHorizontalAlignment(SwingConstants.CENTER);
-            result.setFont(result.getFont().deriveFont(result.getFont().getSize2D() * 2));
-            result.setText("<html><center>Loading");
+        private JComponent newLoadingComponent(Runnable onCancel) {
+            JLabel label = new JLabel();
+            label.setHorizontalAlignment(SwingConstants.CENTER);
+            label.setFont(label.getFont().deriveFont(label.getFont().getSize2D() * 2));
+            label.setText("<html><center>Loading");
+
+            progressBar.setIndeterminate(true);
+            progressBar.setStringPainted(true);
+            progressBar.setString("");
+
+            JButton cancel = new JButton("Cancel");
+            cancel.addActionListener(event -> {
+                cancel.setEnabled(false);
+                onCancel.run();
+            });
+
+            JPanel south = new JPanel(new FlowLayout(FlowLayout.CENTER));
+            south.add(progressBar);
+            south.add(cancel);
+
+            JPanel result = new JPanel(new BorderLayout());
+            result.add(label, BorderLayout.CENTER);
+            result.add(south, BorderLayout.SOUTH);
             return result;
         }
 
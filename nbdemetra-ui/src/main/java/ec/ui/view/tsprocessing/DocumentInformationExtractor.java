@@ -4,93 +4,115 @@
  */
 package ec.ui.view.tsprocessing;
 
-import com.google.common.base.Objects;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import ec.tstoolkit.algorithm.IProcDocument;
 import ec.tstoolkit.utilities.InformationExtractor;
-import java.util.HashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
+import javax.annotation.Nonnull;
 
 /**
+ * Extracts and caches some information from a document.
+ * <p>
+ * Each extractor has its own cache whose keys are weakly referenced documents,
+ * so that entries disappear with their documents. The computation is done per
+ * key: different documents and different extractors are computed in parallel
+ * and concurrent requests for the same document wait for a single
+ * computation.
  *
  * @author Jean Palate
  */
-public abstract class DocumentInformationExtractor<D extends IProcDocument<?,?, ?>, I> implements InformationExtractor<D, I> {
+public abstract class DocumentInformationExtractor<D extends IProcDocument<?, ?, ?>, I> implements InformationExtractor<D, I> {
 
-    private static final AtomicInteger gid_ = new AtomicInteger(0);
-    private final int id_;
+    public static final int DEFAULT_MAXIMUM_SIZE = 100;
+
+    private static final Set<DocumentInformationExtractor<?, ?>> EXTRACTORS = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final Cache<D, Entry> cache_;
 
     protected DocumentInformationExtractor() {
-        id_ = gid_.incrementAndGet();
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @param maximumSize the maximum number of documents whose information is
+     * kept by this extractor
+     */
+    protected DocumentInformationExtractor(int maximumSize) {
+        cache_ = CacheBuilder.newBuilder()
+                .weakKeys()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        EXTRACTORS.add(this);
     }
 
     @Override
     public I retrieve(D source) {
         long doc = source.getKey();
-        Key key = new Key(doc, id_);
-        I info = null;
-        synchronized (cache_) {
-            info = (I) cache_.get(key);
-            if (info == null) {
-                info = buildInfo(source);
-                cache_.put(key, info);
+        try {
+            Entry result = cache_.get(source, () -> new Entry(doc, buildInfo(source)));
+            if (result.doc != doc) {
+                // the document has been modified without being flushed
+                cache_.asMap().remove(source, result);
+                result = cache_.get(source, () -> new Entry(doc, buildInfo(source)));
             }
+            return (I) result.info;
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError ex) {
+            throw Throwables.propagate(ex.getCause());
         }
-        return info;
     }
 
     @Override
     public void flush(D source) {
-        long doc = source.getKey();
-        synchronized (cache_) {
-            cache_.remove(new Key(doc, id_));
-        }
+        cache_.invalidate(source);
     }
 
     protected abstract I buildInfo(D source);
-    private static final HashMap<Key, Object> cache_ = new HashMap<>();
-
-    private static class Key implements Comparable<Key> {
 
-        Key(long doc, int id) {
-            this.doc = doc;
-            this.id = id;
-        }
-        long doc;
-        int id;
+    /**
+     * Gets the hit/miss/eviction statistics of this extractor.
+     *
+     * @return
+     */
+    @Nonnull
+    public CacheStats getStats() {
+        return cache_.stats();
+    }
 
-        @Override
-        public int compareTo(Key o) {
-            if (id == o.id) {
-                if (doc == o.doc) {
-                    return 0;
-                }
-                else if (doc < o.doc) {
-                    return -1;
-                }
-                else {
-                    return 1;
-                }
-            }
-            else if (id < o.id) {
-                return -1;
-            }
-            else {
-                return 1;
-            }
+    /**
+     * Gets the statistics of all the living extractors.
+     *
+     * @return
+     */
+    @Nonnull
+    public static CacheStats getGlobalStats() {
+        List<DocumentInformationExtractor<?, ?>> extractors;
+        synchronized (EXTRACTORS) {
+            extractors = new ArrayList<>(EXTRACTORS);
         }
+        return extractors.stream()
+                .map(DocumentInformationExtractor::getStats)
+                .reduce(new CacheStats(0, 0, 0, 0, 0, 0), CacheStats::plus);
+    }
 
-        @Override
-        public boolean equals(Object obj) {
-            return this == obj || (obj instanceof Key && equals((Key) obj));
-        }
+    private static final class Entry {
 
-        private boolean equals(Key other) {
-            return other.id == id && other.doc == doc;
-        }
+        final long doc;
+        final Object info;
 
-        @Override
-        public int hashCode() {
-            return Objects.hashCode(this.doc, this.id);
+        Entry(long doc, Object info) {
+            this.doc = doc;
+            this.info = info;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.ui.view.tsprocessing;
+
+import com.google.common.base.Throwables;
+import ec.nbdemetra.core.BatchExecutor;
+import ec.tstoolkit.algorithm.IProcessing;
+import ec.tstoolkit.timeseries.simplets.TsDomain;
+import ec.tstoolkit.timeseries.simplets.TsPeriod;
+import java.util.ArrayList;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Decorator of the processing used by the diagnostics that re-estimate a
+ * model on many domains (revision history, sliding spans, stability). The
+ * re-estimations are independent: they are run on the {@link BatchExecutor}
+ * and their results are kept, so that the diagnostic only waits for them.
+ * <p>
+ * The domains can be requested in advance with {@link #prefetch(Iterable)}.
+ * Besides, when a step is given, a request for a domain also starts the
+ * computation of the domains of the same length shifted by multiples of that
+ * step (moving windows, sliding spans). The following domains are started
+ * first; the number of domains started this way can be bounded.
+ * <p>
+ * An interruption of a waiting thread cancels all the pending computations.
+ *
+ * @param <R> the type of the results
+ */
+public final class ParallelTsProcessing<R> implements IProcessing<TsDomain, R> {
+
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        void onProgress(int done, int total);
+    }
+
+    private static final ThreadLocal<ProgressListener> LISTENER = new ThreadLocal<>();
+
+    /**
+     * Runs a task that may create some parallel processings. These processings
+     * report their progress to the given listener.
+     *
+     * @param <T>
+     * @param listener
+     * @param task
+     * @return
+     */
+    public static <T> T withProgress(@Nonnull ProgressListener listener, @Nonnull Supplier<T> task) {
+        ProgressListener old = LISTENER.get();
+        LISTENER.set(listener);
+        try {
+            return task.get();
+        } finally {
+            if (old != null) {
+                LISTENER.set(old);
+            } else {
+                LISTENER.remove();
+            }
+        }
+    }
+
+    private final IProcessing<TsDomain, R> delegate;
+    private final TsDomain bounds;
+    private final int step;
+    private final int maxShifts;
+    private final ProgressListener listener;
+    private final ConcurrentMap<TsDomain, FutureTask<R>> results;
+    private final AtomicInteger done;
+
+    public ParallelTsProcessing(@Nonnull IProcessing<TsDomain, R> delegate) {
+        this(delegate, null, 0);
+    }
+
+    /**
+     * @param delegate the actual processing; it must support concurrent calls
+     * @param bounds the domain that contains all the shifted domains
+     * @param step the shift between two successive domains, or 0 to compute
+     * only what is requested
+     */
+    public ParallelTsProcessing(@Nonnull IProcessing<TsDomain, R> delegate, @Nullable TsDomain bounds, int step) {
+        this(delegate, bounds, step, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param delegate the actual processing; it must support concurrent calls
+     * @param bounds the domain that contains all the shifted domains
+     * @param step the shift between two successive domains, or 0 to compute
+     * only what is requested
+     * @param maxShifts the maximum number of shifted domains started by a
+     * request; the following domains are started before the previous ones
+     */
+    public ParallelTsProcessing(@Nonnull IProcessing<TsDomain, R> delegate, @Nullable TsDomain bounds, int step, int maxShifts) {
+        this.delegate = delegate;
+        this.bounds = bounds;
+        this.step = step;
+        this.maxShifts = maxShifts;
+        this.listener = LISTENER.get();
+        this.results = new ConcurrentHashMap<>();
+        this.done = new AtomicInteger();
+    }
+
+    @Override
+    public R process(TsDomain domain) {
+        FutureTask<R> task = results.get(domain);
+        if (task == null) {
+            task = register(domain);
+            speculate(domain);
+        }
+        return get(task);
+    }
+
+    /**
+     * Starts the computation of some domains.
+     *
+     * @param domains
+     */
+    public void prefetch(@Nonnull Iterable<TsDomain> domains) {
+        domains.forEach(this::submit);
+    }
+
+    /**
+     * Waits for the completion of all the started computations.
+     *
+     * @throws CancellationException if the current thread has been interrupted
+     */
+    public void await() throws CancellationException {
+        new ArrayList<>(results.values()).forEach(this::get);
+    }
+
+    /**
+     * Cancels all the pending computations.
+     */
+    public void cancel() {
+        results.values().forEach(o -> o.cancel(true));
+    }
+
+    private FutureTask<R> register(TsDomain domain) {
+        FutureTask<R> result = new FutureTask<R>(() -> delegate.process(domain)) {
+            @Override
+            protected void done() {
+                if (!isCancelled() && listener != null) {
+                    listener.onProgress(done.incrementAndGet(), results.size());
+                }
+            }
+        };
+        FutureTask<R> old = results.putIfAbsent(domain, result);
+        return old != null ? old : result;
+    }
+
+    private void submit(TsDomain domain) {
+        if (!results.containsKey(domain)) {
+            BatchExecutor.getDefault().execute(register(domain));
+        }
+    }
+
+    private void speculate(TsDomain domain) {
+        if (step <= 0 || bounds == null) {
+            return;
+        }
+        int count = 0;
+        for (int k = step; count < maxShifts; k += step, ++count) {
+            TsDomain next = new TsDomain(domain.getStart().plus(k), domain.getLength());
+            if (!contains(next)) {
+                break;
+            }
+            submit(next);
+        }
+        for (int k = -step; count < maxShifts; k -= step, ++count) {
+            TsDomain previous = new TsDomain(domain.getStart().plus(k), domain.getLength());
+            if (!contains(previous)) {
+                break;
+            }
+            submit(previous);
+        }
+    }
+
+    private boolean contains(TsDomain domain) {
+        TsPeriod start = bounds.getStart();
+        return domain.getFrequency() == bounds.getFrequency()
+                && domain.getStart().minus(start) >= 0
+                && bounds.getLast().minus(domain.getLast()) >= 0;
+    }
+
+    private R get(FutureTask<R> task) {
+        // runs the task in the current thread if it has not been started yet
+        task.run();
+        try {
+            return task.get();
+        } catch (InterruptedException ex) {
+            cancel();
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        } catch (ExecutionException ex) {
+            throw Throwables.propagate(ex.getCause());
+        }
+    }
+}
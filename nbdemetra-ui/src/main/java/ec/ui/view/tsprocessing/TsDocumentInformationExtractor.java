@@ -4,13 +4,25 @@
  */
 package ec.ui.view.tsprocessing;
 
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import ec.tss.documents.TsDocument;
 import ec.tstoolkit.utilities.InformationExtractor;
-import java.util.HashMap;
-import java.util.Objects;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import javax.annotation.Nonnull;
 
 /**
+ * Extracts and caches some information from a document, identified by its
+ * document id.
+ * <p>
+ * Each extractor has its own bounded cache and the computation is done per
+ * key, so that different documents and different extractors are computed in
+ * parallel.
  *
  * @author Jean Palate
  * @param <D>
@@ -18,77 +30,44 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public abstract class TsDocumentInformationExtractor<D extends TsDocument, I> implements InformationExtractor<D, I> {
 
-    private static final AtomicInteger gid_ = new AtomicInteger(0);
-    
-    private final int id_;
-    
-    protected TsDocumentInformationExtractor(){
-        id_ = gid_.incrementAndGet();
+    public static final int DEFAULT_MAXIMUM_SIZE = 100;
+
+    private final Cache<String, Optional<Object>> cache_;
+
+    protected TsDocumentInformationExtractor() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    protected TsDocumentInformationExtractor(int maximumSize) {
+        cache_ = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
     }
-    
+
     @Override
     public I retrieve(D source) {
-        String doc = source.getDocumentId();
-        Key key=new Key(doc, id_);
-        I info = null;
-        synchronized (cache_) {
-            info = (I) cache_.get(key);
-            if (info == null) {
-                info = buildInfo(source);
-                cache_.put(key, info);
-            }
+        try {
+            return (I) cache_.get(source.getDocumentId(), () -> Optional.ofNullable(buildInfo(source))).orElse(null);
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError ex) {
+            throw Throwables.propagate(ex.getCause());
         }
-        return info;
     }
 
     @Override
     public void flush(D source) {
-        String doc = source.getDocumentId();
-        synchronized (cache_) {
-            cache_.remove(new Key(doc, id_));
-        }
+        cache_.invalidate(source.getDocumentId());
     }
 
     protected abstract I buildInfo(D source);
-    private static final HashMap<Key, Object> cache_ = new HashMap<>();
-    
-    private static class Key implements Comparable<Key>{
-        
-        Key(String doc, int id){
-            this.doc=doc;
-            this.id=id;
-        }
-        
-        String doc;
-        int id; 
-
-        @Override
-        public int compareTo(Key o) {
-            if (id == o.id)
-                return doc.compareTo(o.doc);
-            else if (id < o.id)
-                return -1;
-            else
-                return 1;            
-        }
-        
-        @Override
-        public boolean equals(Object obj) {
-            return this == obj || (obj instanceof Key && equals((Key) obj));
-        }
-        
-        private boolean equals(Key other) {
-           return other.id == id && other.doc.equals(doc);
-        }
 
-        @Override
-        public int hashCode() {
-            int hash = 3;
-            hash = 89 * hash + Objects.hashCode(this.doc);
-            hash = 89 * hash + this.id;
-            return hash;
-        }
-        
+    /**
+     * Gets the hit/miss/eviction statistics of this extractor.
+     *
+     * @return
+     */
+    @Nonnull
+    public CacheStats getStats() {
+        return cache_.stats();
     }
-    
-}
\ No newline at end of file
+}
@@ -72,6 +72,7 @@ import ec.ui.view.tsprocessing.HtmlItemUI;
 import ec.ui.view.tsprocessing.IProcDocumentView;
 import ec.ui.view.tsprocessing.ItemUI;
 import ec.ui.view.tsprocessing.OutOfSampleTestUI;
+import ec.ui.view.tsprocessing.ParallelTsProcessing;
 import ec.ui.view.tsprocessing.PreprocessingUI;
 import ec.ui.view.tsprocessing.ProcDocumentViewFactory;
 import ec.ui.view.tsprocessing.ProcessingLogUI;
@@ -756,6 +757,7 @@ public abstract class SaDocumentViewFactory<S extends ISaSpecification, D extend
 
         protected DiagnosticsRevisionSaFactory(Class<D> documentType) {
             super(documentType, DIAGNOSTICS_REVISION_SA, RevisionExtractor.INSTANCE, new RevisionHistoryUI("sa", DiagnosticInfo.RelativeDifference));
+            setAsync(true);
         }
     }
 
@@ -764,6 +766,7 @@ public abstract class SaDocumentViewFactory<S extends ISaSpecification, D extend
 
         protected DiagnosticsRevisionTrendFactory(Class<D> documentType) {
             super(documentType, DIAGNOSTICS_REVISION_TREND, RevisionExtractor.INSTANCE, new RevisionHistoryUI("t", DiagnosticInfo.RelativeDifference));
+            setAsync(true);
         }
     }
 
@@ -772,6 +775,7 @@ public abstract class SaDocumentViewFactory<S extends ISaSpecification, D extend
 
         protected DiagnosticsRevisionSaChangesFactory(Class<D> documentType) {
             super(documentType, DIAGNOSTICS_REVISION_SA_CHANGES, RevisionExtractor.INSTANCE, new RevisionHistoryUI("sa", DiagnosticInfo.PeriodToPeriodGrowthDifference));
+            setAsync(true);
         }
     }
 
@@ -780,6 +784,7 @@ public abstract class SaDocumentViewFactory<S extends ISaSpecification, D extend
 
         protected DiagnosticsRevisionTrendChangesFactory(Class<D> documentType) {
             super(documentType, DIAGNOSTICS_REVISION_TREND_CHANGES, RevisionExtractor.INSTANCE, new RevisionHistoryUI("t", DiagnosticInfo.PeriodToPeriodGrowthDifference));
+            setAsync(true);
         }
     }
 
@@ -797,6 +802,7 @@ public abstract class SaDocumentViewFactory<S extends ISaSpecification, D extend
 
         protected StabilityTDFactory(Class<D> documentType) {
             super(documentType, DIAGNOSTICS_STABILITY_TD, MovingProcessingExtractor.INSTANCE, new StabilityUI(TRADINGDAYS, Items));
+            setAsync(true);
         }
     }
 
@@ -809,6 +815,7 @@ public abstract class SaDocumentViewFactory<S extends ISaSpecification, D extend
 
         protected StabilityEasterFactory(Class<D> documentType) {
             super(documentType, DIAGNOSTICS_STABILITY_EASTER, MovingProcessingExtractor.INSTANCE, new StabilityUI(EASTER, Items));
+            setAsync(true);
         }
     }
 
@@ -822,6 +829,7 @@ public abstract class SaDocumentViewFactory<S extends ISaSpecification, D extend
 
         protected StabilityArimaFactory(Class<D> documentType) {
             super(documentType, DIAGNOSTICS_STABILITY_ARIMA, MovingProcessingExtractor.INSTANCE, new StabilityUI(ARIMA, Items));
+            setAsync(true);
         }
     }
     //</editor-fold>
@@ -896,6 +904,7 @@ public abstract class SaDocumentViewFactory<S extends ISaSpecification, D extend
 
         protected DiagnosticsSlidingTdFactory(Class<D> documentType) {
             super(documentType, DIAGNOSTICS_SLIDING_TD, ssExtractor(), new SlidingSpansDetailUI(ModellingDictionary.TDE));
+            setAsync(true);
         }
     }
 
@@ -904,6 +913,7 @@ public abstract class SaDocumentViewFactory<S extends ISaSpecification, D extend
 
         protected DiagnosticsSlidingSaFactory(Class<D> documentType) {
             super(documentType, DIAGNOSTICS_SLIDING_SA, ssExtractor(), new SlidingSpansDetailUI(ModellingDictionary.SA));
+            setAsync(true);
         }
     }
     //</editor-fold>
@@ -960,6 +970,8 @@ public abstract class SaDocumentViewFactory<S extends ISaSpecification, D extend
     private static class SsExtractor extends TsDocumentInformationExtractor<SaDocument<? extends ISaSpecification>, SlidingSpans> {
 
         private static final SsExtractor INSTANCE = new SsExtractor();
+        // sliding spans use at most 4 spans, requested from the first one
+        private static final int MAX_SPANS = 4;
 
         @Override
         protected SlidingSpans buildInfo(SaDocument<? extends ISaSpecification> source) {
@@ -969,7 +981,9 @@ public abstract class SaDocumentViewFactory<S extends ISaSpecification, D extend
             TsData s = source.getSeries();
             TsDomain domain = s.getDomain();
             SaDocument<? extends ISaSpecification> cl = SaManager.instance.refreshDocument(source, domain, EstimationPolicyType.FreeParameters, false);
-            return new SlidingSpans(new TsDocumentProcessing(cl), domain);
+            // the spans have the same length and are shifted by one year
+            ParallelTsProcessing<CompositeResults> processing = new ParallelTsProcessing<>(new TsDocumentProcessing<>(cl), domain, domain.getFrequency().intValue(), MAX_SPANS - 1);
+            return new SlidingSpans(processing, domain);
         }
     };
 
@@ -985,10 +999,24 @@ public abstract class SaDocumentViewFactory<S extends ISaSpecification, D extend
             }
             SaDocumentProcessing process = new SaDocumentProcessing(source, demetraUI.getEstimationPolicyType());
             TsDomain d = source.getPreprocessingPart().description.getEstimationDomain();
-            process.process(d);
-            RevisionHistory history = new RevisionHistory(process, d);
+            ParallelTsProcessing<CompositeResults> processing = new ParallelTsProcessing<>(process);
+            processing.process(d);
+            processing.prefetch(vintages(d));
+            processing.await();
+            RevisionHistory history = new RevisionHistory(processing, d);
             return history;
         }
+
+        // vintages displayed by default in the revision views (last 4 years, 5 years at least)
+        private static List<TsDomain> vintages(TsDomain d) {
+            int freq = d.getFrequency().intValue();
+            int n0 = Math.max(d.getLength() - 4 * freq - 1, 5 * freq);
+            List<TsDomain> result = new ArrayList<>();
+            for (int n = n0; n < d.getLength() - 1; ++n) {
+                result.add(new TsDomain(d.getStart(), n + 1));
+            }
+            return result;
+        }
     };
 
     private static class LikelihoodExtractor extends TsDocumentInformationExtractor<SaDocument<? extends ISaSpecification>, Functions> {
@@ -1036,12 +1064,29 @@ public abstract class SaDocumentViewFactory<S extends ISaSpecification, D extend
             } else {
                 d = source.getSeries().getDomain();
             }
-            process.process(d);
-            MovingProcessing mm = new MovingProcessing(process, d);
-            mm.setWindowLength(demetraUI.getStabilityLength() * mm.getWindowIncrement());
+            // the windows are shifted by one year
+            ParallelTsProcessing<CompositeResults> processing = new ParallelTsProcessing<>(process, d, d.getFrequency().intValue());
+            processing.process(d);
+            MovingProcessing mm = new MovingProcessing(processing, d);
+            int length = demetraUI.getStabilityLength() * mm.getWindowIncrement();
+            mm.setWindowLength(length);
+            processing.prefetch(windows(d, length, mm.getWindowIncrement()));
+            processing.await();
 
             return mm;
         }
+
+        // moving windows ending at the last period of the domain
+        private static List<TsDomain> windows(TsDomain d, int length, int increment) {
+            List<TsDomain> result = new ArrayList<>();
+            if (length <= 0 || increment <= 0) {
+                return result;
+            }
+            for (int end = d.getLength(); end >= length; end -= increment) {
+                result.add(new TsDomain(d.get(end - length), length));
+            }
+            return result;
+        }
     };
 
     private static class SeasTestExtractor extends TsDocumentInformationExtractor<SaDocument<? extends ISaSpecification>, SeasonalityTestUI2.Information> {
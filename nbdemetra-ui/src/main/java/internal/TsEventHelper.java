@@ -20,15 +20,30 @@ import ec.tss.Ts;
 import ec.tss.TsCollection;
 import ec.tss.TsEvent;
 import ec.tss.TsInformationType;
+import ec.tss.TsMoniker;
 import ec.util.various.swing.OnAnyThread;
 import ec.util.various.swing.OnEDT;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Observable;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import javax.annotation.Nullable;
 import javax.swing.SwingUtilities;
 
 /**
+ * Filters the events of the TsFactory and coalesces them into a single update
+ * per EDT tick.
+ * <p>
+ * The membership of the series of an observed collection is checked against
+ * a hashed index of monikers. The updates carry the set of changed series so
+ * that components can update incrementally; this set is null if the whole
+ * observed object must be refreshed.
  *
  * @author Philippe Charles
  */
@@ -39,24 +54,40 @@ public final class TsEventHelper<T> {
 
     public static TsEventHelper<Ts> onTs(Runnable updaterOnEDT) {
         AtomicReference<Ts> safeTs = new AtomicReference<>();
-        return new TsEventHelper<>(safeTs, o -> isUpdated(safeTs.get(), o), updaterOnEDT);
+        return new TsEventHelper<>(safeTs, o -> isUpdated(safeTs.get(), o), o -> updaterOnEDT.run());
     }
 
     public static TsEventHelper<TsCollection> onTsCollection(Runnable updaterOnEDT) {
+        return onTsCollection(o -> updaterOnEDT.run());
+    }
+
+    /**
+     * @param updaterOnEDT receives the changed series or null if the whole
+     * collection has changed
+     * @return
+     */
+    public static TsEventHelper<TsCollection> onTsCollection(Consumer<Set<Ts>> updaterOnEDT) {
         AtomicReference<TsCollection> safeCol = new AtomicReference<>();
-        return new TsEventHelper<>(safeCol, o -> isUpdated(safeCol.get(), o), updaterOnEDT);
+        AtomicReference<MonikerIndex> safeIndex = new AtomicReference<>();
+        return new TsEventHelper<>(safeCol, o -> isUpdated(safeCol.get(), safeIndex, o), updaterOnEDT);
     }
 
     private final AtomicReference<T> safeRef;
     private final Predicate<TsEvent> filter;
-    private final Runnable componentUpdater;
+    private final Consumer<Set<Ts>> componentUpdater;
     private final AtomicBoolean dirty;
+    private final Object pendingLock;
+    private Map<TsMoniker, Ts> pendingTs;
+    private boolean pendingAll;
 
-    private TsEventHelper(AtomicReference<T> safeRef, Predicate<TsEvent> filterOnAnyThread, Runnable updaterOnEDT) {
+    private TsEventHelper(AtomicReference<T> safeRef, Predicate<TsEvent> filterOnAnyThread, Consumer<Set<Ts>> updaterOnEDT) {
         this.safeRef = safeRef;
         this.filter = filterOnAnyThread;
         this.componentUpdater = updaterOnEDT;
         this.dirty = new AtomicBoolean(false);
+        this.pendingLock = new Object();
+        this.pendingTs = new LinkedHashMap<>();
+        this.pendingAll = false;
     }
 
     @OnAnyThread
@@ -67,12 +98,10 @@ public final class TsEventHelper<T> {
     @OnAnyThread
     public void process(Observable o, Object arg) {
         if (isUpdateRequired(o, arg)) {
-            dirty.set(true);
-            SwingUtilities.invokeLater(() -> {
-                if (dirty.getAndSet(false)) {
-                    updateComponent();
-                }
-            });
+            addPending((TsEvent) arg);
+            if (dirty.compareAndSet(false, true)) {
+                SwingUtilities.invokeLater(this::flushPending);
+            }
         }
     }
 
@@ -81,9 +110,40 @@ public final class TsEventHelper<T> {
         return arg instanceof TsEvent && filter.test((TsEvent) arg);
     }
 
+    @OnAnyThread
+    private void addPending(TsEvent evt) {
+        synchronized (pendingLock) {
+            if (pendingAll) {
+                return;
+            }
+            if (evt.isSeries()) {
+                pendingTs.put(evt.ts.getMoniker(), evt.ts);
+            } else {
+                pendingAll = true;
+                pendingTs.clear();
+            }
+        }
+    }
+
+    @OnEDT
+    private void flushPending() {
+        dirty.set(false);
+        Set<Ts> changes;
+        synchronized (pendingLock) {
+            if (!pendingAll && pendingTs.isEmpty()) {
+                // already flushed by a previous tick
+                return;
+            }
+            changes = pendingAll ? null : Collections.unmodifiableSet(new HashSet<>(pendingTs.values()));
+            pendingTs = new LinkedHashMap<>();
+            pendingAll = false;
+        }
+        updateComponent(changes);
+    }
+
     @OnEDT
-    private void updateComponent() {
-        componentUpdater.run();
+    private void updateComponent(@Nullable Set<Ts> changes) {
+        componentUpdater.accept(changes);
     }
 
     @OnAnyThread
@@ -94,9 +154,59 @@ public final class TsEventHelper<T> {
     }
 
     @OnAnyThread
-    private static boolean isUpdated(TsCollection observed, TsEvent evt) {
-        return observed != null
-                && ((evt.isCollection() && observed.equals(evt.tscollection))
-                || (evt.isSeries() && observed.contains(evt.ts)));
+    private static boolean isUpdated(TsCollection observed, AtomicReference<MonikerIndex> safeIndex, TsEvent evt) {
+        if (observed == null) {
+            return false;
+        }
+        if (evt.isCollection()) {
+            if (observed.equals(evt.tscollection)) {
+                // the content of the collection may have changed
+                safeIndex.set(null);
+                return true;
+            }
+            return false;
+        }
+        return evt.isSeries() && getIndex(observed, safeIndex).contains(evt.ts.getMoniker());
+    }
+
+    @OnAnyThread
+    private static MonikerIndex getIndex(TsCollection observed, AtomicReference<MonikerIndex> safeIndex) {
+        MonikerIndex result = safeIndex.get();
+        if (result == null || !result.isValidFor(observed)) {
+            result = MonikerIndex.of(observed);
+            safeIndex.set(result);
+        }
+        return result;
+    }
+
+    private static final class MonikerIndex {
+
+        static MonikerIndex of(TsCollection col) {
+            Ts[] content = col.toArray();
+            Set<TsMoniker> monikers = new HashSet<>(content.length * 4 / 3 + 1);
+            for (Ts o : content) {
+                monikers.add(o.getMoniker());
+            }
+            return new MonikerIndex(col, content.length, monikers);
+        }
+
+        private final TsCollection col;
+        private final int count;
+        private final Set<TsMoniker> monikers;
+
+        private MonikerIndex(TsCollection col, int count, Set<TsMoniker> monikers) {
+            this.col = col;
+            this.count = count;
+            this.monikers = monikers;
+        }
+
+        boolean isValidFor(TsCollection observed) {
+            // the count is a cheap guard against quiet modifications
+            return col == observed && count == observed.getCount();
+        }
+
+        boolean contains(TsMoniker moniker) {
+            return monikers.contains(moniker);
+        }
     }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.nbdemetra.ws;
+
+import ec.nbdemetra.core.JaxbRegistry;
+import ec.tss.xml.information.XmlInformationSet;
+import ec.tstoolkit.information.Information;
+import ec.tstoolkit.information.InformationSet;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class XmlInformationSetStreamTest {
+
+    private static InformationSet sample() {
+        InformationSet result = new InformationSet();
+        result.set("name", "hello <&> été");
+        result.set("count", 3);
+        result.set("flag", true);
+        result.set("values", new double[]{1.5, Double.NaN, -2});
+        result.set("labels", new String[]{"a", "b"});
+        result.set("data", new TsData(TsFrequency.Quarterly, 2001, 1, new double[]{1, 2, 3.5, 4}, false));
+        InformationSet subset = result.subSet("subset");
+        subset.set("value", 2.25);
+        subset.subSet("nested").set("text", "x");
+        for (int i = 1; i <= 3; ++i) {
+            result.subSet("item" + i).set("index", i);
+        }
+        return result;
+    }
+
+    private static byte[] writeStream(InformationSet info) throws Exception {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        XmlInformationSetStream.write(result, info, false);
+        return result.toByteArray();
+    }
+
+    private static byte[] writeDom(InformationSet info) throws Exception {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        XmlInformationSet xml = new XmlInformationSet();
+        xml.copy(info);
+        try (Writer writer = new OutputStreamWriter(result, StandardCharsets.UTF_8)) {
+            JaxbRegistry.getDefault().marshal(xml, writer);
+        }
+        return result.toByteArray();
+    }
+
+    private static InformationSet readStream(byte[] bytes) throws Exception {
+        InformationSet result = new InformationSet();
+        XmlInformationSetStream.read(new ByteArrayInputStream(bytes), result::set);
+        return result;
+    }
+
+    private static InformationSet readDom(byte[] bytes) throws Exception {
+        return JaxbRegistry.getDefault().unmarshal(XmlInformationSet.class, new ByteArrayInputStream(bytes)).create();
+    }
+
+    private static List<String> names(List<Information<Object>> items) {
+        return items.stream().map(o -> o.name).collect(Collectors.toList());
+    }
+
+    private static void assertSameContent(InformationSet actual, InformationSet expected) {
+        List<Information<Object>> actualItems = actual.select(Object.class);
+        List<Information<Object>> expectedItems = expected.select(Object.class);
+        assertThat(names(actualItems)).isEqualTo(names(expectedItems));
+        for (int i = 0; i < expectedItems.size(); ++i) {
+            Object actualValue = actualItems.get(i).value;
+            Object expectedValue = expectedItems.get(i).value;
+            if (expectedValue instanceof InformationSet) {
+                assertThat(actualValue).isInstanceOf(InformationSet.class);
+                assertSameContent((InformationSet) actualValue, (InformationSet) expectedValue);
+            } else {
+                assertThat(actualValue).as(expectedItems.get(i).name).isEqualTo(expectedValue);
+            }
+        }
+    }
+
+    @Test
+    public void testStreamWriteDomRead() throws Exception {
+        InformationSet info = sample();
+        assertSameContent(readDom(writeStream(info)), readDom(writeDom(info)));
+    }
+
+    @Test
+    public void testDomWriteStreamRead() throws Exception {
+        InformationSet info = sample();
+        assertSameContent(readStream(writeDom(info)), readDom(writeDom(info)));
+    }
+
+    @Test
+    public void testStreamRoundTrip() throws Exception {
+        InformationSet info = sample();
+        assertSameContent(readStream(writeStream(info)), readDom(writeDom(info)));
+    }
+
+    @Test
+    public void testEmptySet() throws Exception {
+        assertThat(readStream(writeStream(new InformationSet())).select(Object.class)).isEmpty();
+        assertThat(readDom(writeStream(new InformationSet())).select(Object.class)).isEmpty();
+    }
+
+    @Test
+    public void testRelease() throws Exception {
+        InformationSet info = sample();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        XmlInformationSetStream.write(output, info, true);
+        assertThat(info.select(Object.class)).isEmpty();
+        assertSameContent(readDom(output.toByteArray()), readDom(writeDom(sample())));
+    }
+
+    @Test
+    public void testWriter() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        XmlInformationSetStream.Writer writer = XmlInformationSetStream.writer(output);
+        for (Information<Object> o : sample().select(Object.class)) {
+            writer.write(o.name, o.value);
+        }
+        writer.close();
+        assertSameContent(readDom(output.toByteArray()), readDom(writeDom(sample())));
+    }
+}
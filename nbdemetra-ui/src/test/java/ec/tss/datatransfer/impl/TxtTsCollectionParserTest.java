@@ -0,0 +1,218 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tss.datatransfer.impl;
+
+import com.google.common.collect.ImmutableList;
+import ec.tss.TsCollection;
+import ec.tss.tsproviders.utils.DataFormat;
+import ec.tss.tsproviders.utils.IParser;
+import ec.tss.tsproviders.utils.Parsers;
+import ec.tstoolkit.maths.matrices.Matrix;
+import java.io.IOException;
+import java.text.NumberFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class TxtTsCollectionParserTest {
+
+    private static final List<Locale> LOCALES = Arrays.asList(Locale.US, Locale.FRANCE, Locale.GERMANY, new Locale("de", "CH"));
+
+    @Test
+    public void testVertical() throws IOException {
+        for (Locale locale : LOCALES) {
+            NumberFormat format = NumberFormat.getNumberInstance(locale);
+            String text = "\tA\tB\tC\n"
+                    + "2001-01-01\t" + format.format(1234.5) + "\t" + format.format(-2) + "\t1\n"
+                    + "2001-02-01\t\t3E2\t2\n"
+                    + "2001-03-01\t" + format.format(-0.001) + "\t" + format.format(1234567.25) + "\t3\n"
+                    + "2001-04-01\t12abc\t\t4\n"
+                    + "2001-05-01\t" + format.format(7) + "\t" + format.format(-1e-7) + "\t5\n";
+            assertSameAsLegacy(text, locale);
+            assertSameAsLegacy(text.replace("\n", "\r\n"), locale);
+        }
+    }
+
+    @Test
+    public void testHorizontal() throws IOException {
+        for (Locale locale : LOCALES) {
+            NumberFormat format = NumberFormat.getNumberInstance(locale);
+            String text = "\t01/01/2001\t01/04/2001\t01/07/2001\t01/10/2001\n"
+                    + "A\t" + format.format(1234.5) + "\t\t" + format.format(-3.75) + "\t1E-2\n"
+                    + "B\t\t" + format.format(-98765.4321) + "\t-\t" + format.format(0) + "\n";
+            assertSameAsLegacy(text, locale);
+        }
+    }
+
+    @Test
+    public void testDates() throws IOException {
+        NumberFormat format = NumberFormat.getNumberInstance(Locale.US);
+        // several formats in the same column
+        String text = "\tA\n"
+                + "2001-01-01\t1\n"
+                + "01/02/2001\t2\n"
+                + "2001.03.01\t3\n"
+                + "01-04-2001\t4\n"
+                + "01 May 2001\t5\n"
+                + "2001-06-01\t6\n";
+        assertSameAsLegacy(text, Locale.US);
+        // not enough dates
+        assertThat(new TxtTsCollectionParser(format).parse("\tA\n2001-01-01\t1\n")).isNull();
+        assertThat(legacyParse("\tA\n2001-01-01\t1\n", format)).isNull();
+    }
+
+    @Test
+    public void testLargeInput() throws IOException {
+        Random random = new Random(0);
+        for (Locale locale : Arrays.asList(Locale.US, Locale.GERMANY)) {
+            NumberFormat format = NumberFormat.getNumberInstance(locale);
+            format.setMaximumFractionDigits(6);
+            StringBuilder text = new StringBuilder();
+            int nseries = 50;
+            for (int j = 0; j < nseries; j++) {
+                text.append("\tS").append(j);
+            }
+            text.append('\n');
+            for (int i = 0; i < 2100; i++) {
+                text.append(String.format("%04d-%02d-01", 1850 + i / 12, i % 12 + 1));
+                for (int j = 0; j < nseries; j++) {
+                    text.append('\t');
+                    if (random.nextInt(20) != 0) {
+                        text.append(format.format((random.nextDouble() - .3) * Math.pow(10, random.nextInt(8))));
+                    }
+                }
+                text.append('\n');
+            }
+            assertSameAsLegacy(text.toString(), locale);
+        }
+    }
+
+    private static void assertSameAsLegacy(String text, Locale locale) throws IOException {
+        NumberFormat format = NumberFormat.getNumberInstance(locale);
+        TsCollection expected = legacyParse(text, format);
+        TsCollection actual = new TxtTsCollectionParser(format).parse(text);
+        assertThat(actual).as(locale.toString()).isNotNull();
+        assertThat(actual.getCount()).as(locale.toString()).isEqualTo(expected.getCount());
+        for (int i = 0; i < expected.getCount(); i++) {
+            assertThat(actual.get(i).getName()).as(locale.toString()).isEqualTo(expected.get(i).getName());
+            assertThat(actual.get(i).getTsData()).as(locale + " " + expected.get(i).getName()).isEqualTo(expected.get(i).getTsData());
+        }
+    }
+
+    // the parsing done by TxtTssTransferHandler before TxtTsCollectionParser
+    private static TsCollection legacyParse(String text, NumberFormat numberFormat) {
+        ImmutableList.Builder<Parsers.Parser<Date>> list = ImmutableList.builder();
+        for (String o : FALLBACK_FORMATS) {
+            list.add(new DataFormat(Locale.ROOT, o, null).dateParser());
+        }
+        IParser<Date> periodParser = Parsers.firstNotNull(list.build());
+        IParser<Number> valueParser = Parsers.onNumberFormat(numberFormat);
+
+        int cols = 0;
+        boolean datesAreVertical = true;
+        String[] rowarray = text.split("\\r?\\n");
+        int rows = rowarray.length;
+        for (int i = 0; i < rows; i++) {
+            String[] colarray = rowarray[i].split("\\t");
+            if (cols < colarray.length) {
+                cols = colarray.length;
+            }
+            datesAreVertical = periodParser.parseValue(colarray[0]).isPresent();
+        }
+        if (cols < 1 || rows < 1) {
+            return null;
+        }
+        Matrix datamatrix = new Matrix(rows, cols);
+        datamatrix.set(Double.NaN);
+        Date[] dates = new Date[(datesAreVertical ? rows : cols)];
+        String[] titles = new String[(datesAreVertical ? cols : rows)];
+        for (int i = 0; i < rowarray.length; i++) {
+            String[] colarray = rowarray[i].split("\\t");
+            for (int j = 0; j < colarray.length; j++) {
+                if (((j == 0 && datesAreVertical) || (i == 0 && !datesAreVertical))
+                        && periodParser.parseValue(colarray[j]).isPresent()) {
+                    dates[(datesAreVertical ? i : j)] = periodParser.parse(colarray[j]);
+                } else if ((j == 0 && !datesAreVertical) || (i == 0 && datesAreVertical)) {
+                    titles[(datesAreVertical ? j : i)] = colarray[j];
+                } else {
+                    Number value = valueParser.parse(colarray[j]);
+                    if (value != null) {
+                        datamatrix.set(i, j, value.doubleValue());
+                    }
+                }
+            }
+        }
+        int ndates = 0;
+        for (Date o : dates) {
+            if (o != null) {
+                ++ndates;
+            }
+        }
+        if (ndates < 2) {
+            return null;
+        }
+        TsCollectionAnalyser analyser = new TsCollectionAnalyser();
+        analyser.data = (datesAreVertical ? datamatrix : datamatrix.transpose());
+        analyser.dates = dates;
+        analyser.titles = titles;
+        return analyser.create();
+    }
+
+    private static final String[] FALLBACK_FORMATS = {
+        "yyyy-MM-dd",
+        "yyyy MM dd",
+        "yyyy.MM.dd",
+        "yyyy-MMM-dd",
+        "yyyy MMM dd",
+        "yyyy.MMM.dd",
+        "dd-MM-yyyy",
+        "dd MM yyyy",
+        "dd.MM.yyyy",
+        "dd/MM/yyyy",
+        "dd-MM-yy",
+        "dd MM yy",
+        "dd.MM.yy",
+        "dd/MM/yy",
+        "dd-MMM-yy",
+        "dd MMM yy",
+        "dd.MMM.yy",
+        "dd/MMM/yy",
+        "dd-MMM-yyyy",
+        "dd MMM yyyy",
+        "dd.MMM.yyyy",
+        "dd/MMM/yyyy",
+        "yyyy-MM-dd hh:mm:ss",
+        "yyyy MM dd hh:mm:ss",
+        "yyyy.MM.dd hh:mm:ss",
+        "yyyy/MM/dd hh:mm:ss",
+        "yyyy-MMM-dd hh:mm:ss",
+        "yyyy MMM dd hh:mm:ss",
+        "yyyy.MMM.dd hh:mm:ss",
+        "yyyy/MMM/dd hh:mm:ss",
+        "dd-MM-yyyy hh:mm:ss",
+        "dd MM yyyy hh:mm:ss",
+        "dd.MM.yyyy hh:mm:ss",
+        "dd/MM/yyyy hh:mm:ss",
+        "dd-MMM-yyyy hh:mm:ss",
+        "dd MMM yyyy hh:mm:ss",
+        "dd.MMM.yyyy hh:mm:ss",
+        "dd/MMM/yyyy hh:mm:ss"};
+}
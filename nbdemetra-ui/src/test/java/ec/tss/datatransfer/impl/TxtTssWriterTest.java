@@ -0,0 +1,255 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.tss.datatransfer.impl;
+
+import com.google.common.base.StandardSystemProperty;
+import ec.tss.TsCollection;
+import ec.tss.TsFactory;
+import ec.tss.tsproviders.utils.MultiLineNameUtil;
+import ec.tstoolkit.data.Table;
+import ec.tstoolkit.maths.matrices.Matrix;
+import ec.tstoolkit.timeseries.simplets.TsData;
+import ec.tstoolkit.timeseries.simplets.TsFrequency;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.text.DateFormat;
+import java.text.NumberFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class TxtTssWriterTest {
+
+    private static final char DELIMITOR = '\t';
+    private static final String NEWLINE = StandardSystemProperty.LINE_SEPARATOR.value();
+
+    private static TsCollection monthly() {
+        TsCollection result = TsFactory.instance.createTsCollection();
+        result.quietAdd(TsFactory.instance.createTs("first", null, new TsData(TsFrequency.Monthly, 2000, 0, new double[]{1234.5, Double.NaN, -3.25, 4}, false)));
+        result.quietAdd(TsFactory.instance.createTs("second\nline", null, new TsData(TsFrequency.Monthly, 2000, 2, new double[]{1e-7, 2e9, 3}, false)));
+        result.quietAdd(TsFactory.instance.createTs("empty", null, null));
+        return result;
+    }
+
+    private static TsCollection mixed() {
+        TsCollection result = monthly();
+        result.quietAdd(TsFactory.instance.createTs("quarterly", null, new TsData(TsFrequency.Quarterly, 1999, 3, new double[]{10, 20, 30}, false)));
+        return result;
+    }
+
+    private static TxtTssTransferHandler.InternalConfig config(boolean vertical, boolean showDates, boolean showTitle, boolean beginPeriod) {
+        TxtTssTransferHandler.InternalConfig result = new TxtTssTransferHandler.InternalConfig();
+        result.vertical = vertical;
+        result.showDates = showDates;
+        result.showTitle = showTitle;
+        result.beginPeriod = beginPeriod;
+        return result;
+    }
+
+    private static String write(TsCollection col, NumberFormat numberFormat, DateFormat dateFormat, TxtTssTransferHandler.InternalConfig config) throws IOException {
+        StringWriter result = new StringWriter();
+        new TxtTssWriter(numberFormat, dateFormat, config).writeTsCollection(col, result);
+        return result.toString();
+    }
+
+    @Test
+    public void testTsCollection() throws IOException {
+        DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        for (Locale locale : new Locale[]{Locale.US, Locale.FRANCE}) {
+            NumberFormat numberFormat = NumberFormat.getNumberInstance(locale);
+            for (TsCollection col : new TsCollection[]{monthly(), mixed()}) {
+                for (boolean vertical : new boolean[]{true, false}) {
+                    for (int flags = 0; flags < 8; flags++) {
+                        TxtTssTransferHandler.InternalConfig config = config(vertical, (flags & 1) != 0, (flags & 2) != 0, (flags & 4) != 0);
+                        String expected = legacyTsCollectionToString(col, numberFormat, dateFormat, config);
+                        if (!vertical && config.showDates) {
+                            expected = fixDateRow(expected);
+                        }
+                        assertThat(write(col, numberFormat, dateFormat, config))
+                                .as("%s vertical=%s flags=%s", locale, vertical, flags)
+                                .isEqualTo(expected);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDateRow() throws IOException {
+        TsCollection col = TsFactory.instance.createTsCollection();
+        col.quietAdd(TsFactory.instance.createTs("s", null, new TsData(TsFrequency.Yearly, 2000, 0, new double[]{1, 2}, false)));
+        String result = write(col, NumberFormat.getNumberInstance(Locale.US), new SimpleDateFormat("yyyy"), config(false, true, true, true));
+        assertThat(result).isEqualTo("\t2000\t2001" + NEWLINE + "s\t1\t2" + NEWLINE);
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        assertThat(write(TsFactory.instance.createTsCollection(), NumberFormat.getNumberInstance(), new SimpleDateFormat("yyyy-MM-dd"), config(true, true, true, true))).isEmpty();
+    }
+
+    @Test
+    public void testOutputStream() throws IOException {
+        TxtTssTransferHandler handler = new TxtTssTransferHandler();
+
+        TsCollection col = mixed();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        handler.exportTsCollection(col, stream);
+        assertThat(new String(stream.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(handler.exportTsCollection(col));
+
+        Matrix matrix = new Matrix(3, 2);
+        matrix.set(1, 1, -1234.5);
+        matrix.set(2, 0, Double.NaN);
+        stream = new ByteArrayOutputStream();
+        handler.exportMatrix(matrix, stream);
+        assertThat(new String(stream.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(handler.exportMatrix(matrix));
+        assertThat(handler.exportMatrix(matrix)).isEqualTo(legacyMatrixToString(matrix, NumberFormat.getNumberInstance()));
+
+        Table<Object> table = new Table<>(2, 3);
+        table.set(0, 0, "text");
+        table.set(0, 1, 12.5);
+        table.set(1, 2, new Date(0));
+        stream = new ByteArrayOutputStream();
+        handler.exportTable(table, stream);
+        assertThat(new String(stream.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(handler.exportTable(table));
+        assertThat(handler.exportTable(table)).isEqualTo(legacyTableToString(table, NumberFormat.getNumberInstance(), new SimpleDateFormat("yyyy-MM-dd")));
+    }
+
+    // the legacy output repeated the delimiter after each date of the first row
+    private static String fixDateRow(String text) {
+        int end = text.indexOf(NEWLINE);
+        String row = text.substring(0, end);
+        row = row.substring(0, row.length() - 1).replace("" + DELIMITOR + DELIMITOR, "" + DELIMITOR);
+        return row + text.substring(end);
+    }
+
+    // the writing done by TxtTssTransferHandler before TxtTssWriter
+    private static String legacyTsCollectionToString(TsCollection col, NumberFormat numberFormat, DateFormat dateFormat, TxtTssTransferHandler.InternalConfig config) {
+        if (col.isEmpty()) {
+            return "";
+        }
+        StringBuilder result = new StringBuilder();
+        TsCollectionAnalyser analyser = new TsCollectionAnalyser();
+        analyser.set(col, config.beginPeriod);
+        int nbdates = analyser.dates.length;
+        int nseries = analyser.titles.length;
+        if (config.vertical) {
+            if (config.showTitle) {
+                if (config.showDates) {
+                    result.append(DELIMITOR);
+                }
+                for (int i = 0; i < nseries; i++) {
+                    result.append(MultiLineNameUtil.join(analyser.titles[i]));
+                    if (i == nseries - 1) {
+                        result.append(NEWLINE);
+                    } else {
+                        result.append(DELIMITOR);
+                    }
+                }
+            }
+            for (int i = 0; i < nbdates; i++) {
+                if (config.showDates) {
+                    result.append(dateFormat.format(analyser.dates[i])).append(DELIMITOR);
+                }
+                for (int j = 0; j < nseries; j++) {
+                    double val = analyser.data.get(i, j);
+                    if (!Double.isNaN(val)) {
+                        result.append(numberFormat.format(val));
+                    }
+                    if (j == nseries - 1) {
+                        result.append(NEWLINE);
+                    } else {
+                        result.append(DELIMITOR);
+                    }
+                }
+            }
+        } else {
+            if (config.showDates) {
+                if (config.showTitle) {
+                    result.append(DELIMITOR);
+                }
+                for (int i = 0; i < nbdates; i++) {
+                    result.append(dateFormat.format(analyser.dates[i]));
+                    result.append(DELIMITOR);
+                    if (i == nbdates - 1) {
+                        result.append(NEWLINE);
+                    } else {
+                        result.append(DELIMITOR);
+                    }
+                }
+            }
+            for (int i = 0; i < nseries; i++) {
+                if (config.showTitle) {
+                    result.append(MultiLineNameUtil.join(analyser.titles[i]));
+                    result.append(DELIMITOR);
+                }
+                for (int j = 0; j < nbdates; j++) {
+                    double val = analyser.data.get(j, i);
+                    if (!Double.isNaN(val)) {
+                        result.append(numberFormat.format(val));
+                    }
+                    if (j == nbdates - 1) {
+                        result.append(NEWLINE);
+                    } else {
+                        result.append(DELIMITOR);
+                    }
+                }
+            }
+        }
+        return result.toString();
+    }
+
+    private static String legacyMatrixToString(Matrix matrix, NumberFormat numberFormat) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < matrix.getRowsCount(); i++) {
+            result.append(numberFormat.format(matrix.get(i, 0)));
+            for (int j = 1; j < matrix.getColumnsCount(); j++) {
+                result.append(DELIMITOR).append(numberFormat.format(matrix.get(i, j)));
+            }
+            result.append(NEWLINE);
+        }
+        return result.toString();
+    }
+
+    private static String legacyTableToString(Table<?> table, NumberFormat numberFormat, DateFormat dateFormat) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < table.getRowsCount(); i++) {
+            result.append(legacyValueToString(table.get(i, 0), numberFormat, dateFormat));
+            for (int j = 1; j < table.getColumnsCount(); j++) {
+                result.append(DELIMITOR).append(legacyValueToString(table.get(i, j), numberFormat, dateFormat));
+            }
+            result.append(NEWLINE);
+        }
+        return result.toString();
+    }
+
+    private static String legacyValueToString(Object value, NumberFormat numberFormat, DateFormat dateFormat) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof Date) {
+            return dateFormat.format((Date) value);
+        }
+        if (value instanceof Number) {
+            return numberFormat.format((Number) value);
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.util.chart.swing;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Insets;
+import java.awt.RenderingHints;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JTable;
+import javax.swing.ListCellRenderer;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableCellRenderer;
+
+/**
+ * A sparkline renderer that draws the values directly with Graphics2D instead
+ * of using a chart.
+ * <p>
+ * The values are min/max-decimated to the pixel width of the cell and the
+ * resulting images are kept in a LRU cache keyed by the identity of the
+ * rendered value, the size of the cell and the line color. This makes it
+ * suitable for lists and tables with a large number of rows.
+ * <p>
+ * Since the cache uses the identity of the values, a value must not be
+ * modified after having been rendered.
+ *
+ * @see SparklineCellRenderer
+ */
+public class CachedSparklineCellRenderer extends JComponent implements ListCellRenderer, TableCellRenderer {
+
+    public static final int DEFAULT_CACHE_SIZE = 1000;
+
+    protected final ListCellRenderer listCellRenderer;
+    protected final TableCellRenderer tableCellRenderer;
+    private final Map<Key, BufferedImage> cache;
+    private BufferedImage image;
+
+    public CachedSparklineCellRenderer() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param cacheSize the maximum number of images kept in the cache
+     */
+    public CachedSparklineCellRenderer(int cacheSize) {
+        this.listCellRenderer = new DefaultListCellRenderer();
+        this.tableCellRenderer = new DefaultTableCellRenderer();
+        this.cache = new LinkedHashMap<Key, BufferedImage>(16, .75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, BufferedImage> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        this.image = null;
+        setOpaque(true);
+    }
+
+    @Override
+    public Component getListCellRendererComponent(JList list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+        JLabel label = (JLabel) listCellRenderer.getListCellRendererComponent(list, "", index, isSelected, cellHasFocus);
+        Insets insets = label.getInsets();
+        int width = list.getFixedCellWidth() > 0 ? list.getFixedCellWidth() : list.getWidth();
+        int height = list.getFixedCellHeight() > 0 ? list.getFixedCellHeight() : label.getPreferredSize().height;
+        return getCellRendererComponent(label, value, width - insets.left - insets.right, height - insets.top - insets.bottom);
+    }
+
+    @Override
+    public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
+        JLabel label = (JLabel) tableCellRenderer.getTableCellRendererComponent(table, "", isSelected, hasFocus, row, column);
+        Insets insets = label.getInsets();
+        int width = table.getColumnModel().getColumn(column).getWidth() - table.getColumnModel().getColumnMargin();
+        int height = table.getRowHeight(row) - table.getRowMargin();
+        return getCellRendererComponent(label, value, width - insets.left - insets.right, height - insets.top - insets.bottom);
+    }
+
+    protected Component getCellRendererComponent(JLabel label, Object value, int width, int height) {
+        setBackground(label.getBackground());
+        setForeground(label.getForeground());
+        setBorder(label.getBorder());
+        image = getImage(value, width, height, label.getForeground());
+        return this;
+    }
+
+    /**
+     * Gets the values to be drawn. Missing values must be represented by NaN.
+     *
+     * @param value
+     * @return the values or null if the value cannot be drawn
+     */
+    @Nullable
+    protected double[] getValues(Object value) {
+        if (value instanceof double[]) {
+            return (double[]) value;
+        }
+        if (value instanceof double[][]) {
+            double[][] tmp = (double[][]) value;
+            return tmp.length > 1 ? tmp[1] : null;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the object whose identity is used as a cache key. By default, it is
+     * the value itself.
+     *
+     * @param value
+     * @return the identity or null if the value cannot be drawn
+     */
+    @Nullable
+    protected Object getIdentity(Object value) {
+        return value;
+    }
+
+    /**
+     * Removes all the images from the cache.
+     */
+    public void clearCache() {
+        cache.clear();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (isOpaque()) {
+            g.setColor(getBackground());
+            g.fillRect(0, 0, getWidth(), getHeight());
+        }
+        if (image != null) {
+            Insets insets = getInsets();
+            g.drawImage(image, insets.left, insets.top, null);
+        }
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Cell renderer optimizations">
+    @Override
+    public void validate() {
+    }
+
+    @Override
+    public void invalidate() {
+    }
+
+    @Override
+    public void revalidate() {
+    }
+
+    @Override
+    public void repaint(long tm, int x, int y, int width, int height) {
+    }
+
+    @Override
+    protected void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
+    }
+    //</editor-fold>
+
+    @Nullable
+    private BufferedImage getImage(Object value, int width, int height, Color color) {
+        Object identity = value != null ? getIdentity(value) : null;
+        if (identity == null || width <= 0 || height <= 0) {
+            return null;
+        }
+        Key key = new Key(identity, width, height, color.getRGB());
+        BufferedImage result = cache.get(key);
+        if (result == null) {
+            double[] values = getValues(value);
+            if (values == null) {
+                return null;
+            }
+            result = createImage(values, width, height, color);
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    @Nonnull
+    private static BufferedImage createImage(double[] values, int width, int height, Color color) {
+        BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Path2D.Float path = createPath(values, width, height);
+        if (path != null) {
+            Graphics2D g2d = result.createGraphics();
+            try {
+                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g2d.setColor(color);
+                g2d.setStroke(STROKE);
+                g2d.draw(path);
+            } finally {
+                g2d.dispose();
+            }
+        }
+        return result;
+    }
+
+    @Nullable
+    private static Path2D.Float createPath(double[] values, int width, int height) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double o : values) {
+            if (!Double.isNaN(o) && !Double.isInfinite(o)) {
+                if (o < min) {
+                    min = o;
+                }
+                if (o > max) {
+                    max = o;
+                }
+            }
+        }
+        if (min > max) {
+            return null;
+        }
+        Path2D.Float result = new Path2D.Float();
+        // keeps half a pixel for the stroke on each side
+        float top = .5f;
+        float range = height - 1f;
+        double scale = max > min ? range / (max - min) : 0;
+        float center = top + range / 2;
+        if (values.length <= width) {
+            float step = values.length > 1 ? (width - 1f) / (values.length - 1) : 0;
+            boolean connected = false;
+            for (int i = 0; i < values.length; i++) {
+                double o = values[i];
+                if (Double.isNaN(o) || Double.isInfinite(o)) {
+                    connected = false;
+                    continue;
+                }
+                float x = .5f + i * step;
+                float y = toY(o, max, scale, top, center);
+                if (connected) {
+                    result.lineTo(x, y);
+                } else {
+                    result.moveTo(x, y);
+                    connected = true;
+                }
+            }
+        } else {
+            // min/max decimation: one vertical segment per pixel column
+            boolean connected = false;
+            for (int x = 0; x < width; x++) {
+                int from = (int) ((long) x * values.length / width);
+                int to = (int) ((long) (x + 1) * values.length / width);
+                double colMin = Double.POSITIVE_INFINITY;
+                double colMax = Double.NEGATIVE_INFINITY;
+                for (int i = from; i < to; i++) {
+                    double o = values[i];
+                    if (!Double.isNaN(o) && !Double.isInfinite(o)) {
+                        if (o < colMin) {
+                            colMin = o;
+                        }
+                        if (o > colMax) {
+                            colMax = o;
+                        }
+                    }
+                }
+                if (colMin > colMax) {
+                    connected = false;
+                    continue;
+                }
+                float px = x + .5f;
+                float yFirst = toY(firstValue(values, from, to), max, scale, top, center);
+                float yLast = toY(lastValue(values, from, to), max, scale, top, center);
+                if (connected) {
+                    result.lineTo(px, yFirst);
+                } else {
+                    result.moveTo(px, yFirst);
+                    connected = true;
+                }
+                if (colMin < colMax) {
+                    result.moveTo(px, toY(colMin, max, scale, top, center));
+                    result.lineTo(px, toY(colMax, max, scale, top, center));
+                }
+                result.moveTo(px, yLast);
+            }
+        }
+        return result;
+    }
+
+    private static float toY(double value, double max, double scale, float top, float center) {
+        return scale == 0 ? center : (float) (top + (max - value) * scale);
+    }
+
+    private static double firstValue(double[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double o = values[i];
+            if (!Double.isNaN(o) && !Double.isInfinite(o)) {
+                return o;
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static double lastValue(double[] values, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            double o = values[i];
+            if (!Double.isNaN(o) && !Double.isInfinite(o)) {
+                return o;
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static final BasicStroke STROKE = new BasicStroke(1f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+
+    private static final class Key {
+
+        private final Object value;
+        private final int width;
+        private final int height;
+        private final int rgb;
+
+        Key(Object value, int width, int height, int rgb) {
+            this.value = value;
+            this.width = width;
+            this.height = height;
+            this.rgb = rgb;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(value);
+            result = 31 * result + width;
+            result = 31 * result + height;
+            return 31 * result + rgb;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) obj;
+            return value == that.value && width == that.width && height == that.height && rgb == that.rgb;
+        }
+    }
+}
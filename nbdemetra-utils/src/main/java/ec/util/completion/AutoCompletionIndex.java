@@ -0,0 +1,296 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.util.completion;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * An index of values that can be searched by term, with the same matching
+ * rules as {@link ExtAutoCompletionSource#basicFilter(java.lang.String)}: a
+ * value matches if one of its fields contains the term once normalized.
+ * <p>
+ * The fields are normalized once and the values are sorted once, so that the
+ * first matches are also the first values of the result. When the index is
+ * queried repeatedly, a trigram index is built to get the candidates of a
+ * term. A term that contains the previous term is answered from the previous
+ * result instead of the whole index, which is the common case when the user
+ * appends characters.
+ *
+ * @param <T>
+ * @since 2.2.0
+ */
+@ThreadSafe
+public final class AutoCompletionIndex<T> {
+
+    /**
+     * Creates an index of some values.
+     *
+     * @param <T>
+     * @param values
+     * @param order the order of the results
+     * @param fields the fields to be searched; a field may be null
+     * @return a non-null index
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public static <T> AutoCompletionIndex<T> of(
+            @Nonnull Collection<? extends T> values,
+            @Nonnull Comparator<? super T> order,
+            @Nonnull List<? extends Function<? super T, String>> fields) {
+        Objects.requireNonNull(order);
+        Objects.requireNonNull(fields);
+        Object[] sorted = values.toArray();
+        Arrays.sort(sorted, (l, r) -> order.compare((T) l, (T) r));
+        String[] keys = new String[sorted.length];
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < sorted.length; i++) {
+            key.setLength(0);
+            for (Function<? super T, String> o : fields) {
+                String field = o.apply((T) sorted[i]);
+                if (field != null && !field.isEmpty()) {
+                    if (key.length() > 0) {
+                        key.append(SEPARATOR);
+                    }
+                    key.append(AutoCompletionSources.normalize(field));
+                }
+            }
+            keys[i] = key.toString();
+        }
+        return new AutoCompletionIndex<>(values, sorted, keys);
+    }
+
+    /**
+     * Creates a post-processor for
+     * {@link ExtAutoCompletionSource.Builder#postProcessor(java.util.function.BiFunction)}
+     * that keeps the index of the last processed list. The index is therefore
+     * reused as long as the source returns the same list, typically from its
+     * cache.
+     *
+     * @param <T>
+     * @param order the order of the results
+     * @param limit the maximum number of results
+     * @param fields the fields to be searched; a field may be null
+     * @return a non-null post-processor
+     */
+    @Nonnull
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T> BiFunction<List<T>, String, List<T>> postProcessor(
+            @Nonnull Comparator<? super T> order,
+            int limit,
+            @Nonnull Function<? super T, String>... fields) {
+        Objects.requireNonNull(order);
+        List<Function<? super T, String>> list = Arrays.asList(fields);
+        AtomicReference<AutoCompletionIndex<T>> last = new AtomicReference<>();
+        return (values, term) -> {
+            AutoCompletionIndex<T> index = last.get();
+            if (index == null || index.source != values) {
+                index = of(values, order, list);
+                last.set(index);
+            }
+            return index.search(term, limit);
+        };
+    }
+
+    private static final char SEPARATOR = '\u0000';
+    private static final int MIN_INDEXED_SIZE = 1000;
+    private static final int NGRAM = 3;
+
+    private final Collection<? extends T> source;
+    private final Object[] values;
+    private final String[] keys;
+    private final AtomicReference<Result> lastResult;
+    private final AtomicInteger misses;
+    private volatile Map<Long, int[]> ngrams;
+
+    private AutoCompletionIndex(Collection<? extends T> source, Object[] values, String[] keys) {
+        this.source = source;
+        this.values = values;
+        this.keys = keys;
+        this.lastResult = new AtomicReference<>();
+        this.misses = new AtomicInteger();
+        this.ngrams = null;
+    }
+
+    /**
+     * Gets the number of indexed values.
+     *
+     * @return
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Searches the values that match a term.
+     *
+     * @param term
+     * @param limit the maximum number of results
+     * @return a non-null list of at most limit values, in the order of the
+     * index
+     */
+    @Nonnull
+    public List<T> search(@Nonnull String term, int limit) {
+        String normalizedTerm = AutoCompletionSources.normalize(term);
+        Result previous = lastResult.get();
+        int[] candidates;
+        int candidateCount;
+        if (previous != null && normalizedTerm.contains(previous.term)) {
+            candidates = previous.ids;
+            candidateCount = previous.ids.length;
+        } else {
+            Map<Long, int[]> index = getNgrams();
+            candidates = index != null ? getCandidates(index, normalizedTerm) : null;
+            candidateCount = candidates != null ? candidates.length : values.length;
+        }
+        int[] ids = new int[candidateCount];
+        int count = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            int id = candidates != null ? candidates[i] : i;
+            String key = keys[id];
+            if (!key.isEmpty() && key.contains(normalizedTerm)) {
+                ids[count++] = id;
+            }
+        }
+        int[] result = count < ids.length ? Arrays.copyOf(ids, count) : ids;
+        lastResult.set(new Result(normalizedTerm, result));
+        return new ResultList(result, Math.min(count, Math.max(limit, 0)));
+    }
+
+    private Map<Long, int[]> getNgrams() {
+        Map<Long, int[]> result = ngrams;
+        // the index is built only if the values are queried more than once
+        if (result == null && values.length >= MIN_INDEXED_SIZE && misses.incrementAndGet() > 1) {
+            synchronized (this) {
+                result = ngrams;
+                if (result == null) {
+                    ngrams = result = buildNgrams(keys);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the ids that contain every n-gram of a term.
+     *
+     * @return the ids in ascending order or null if the term is too short
+     */
+    private static int[] getCandidates(Map<Long, int[]> ngrams, String term) {
+        if (term.length() < NGRAM) {
+            return null;
+        }
+        int[] result = null;
+        for (int i = 0; i + NGRAM <= term.length(); i++) {
+            int[] ids = ngrams.get(ngram(term, i));
+            if (ids == null) {
+                return new int[0];
+            }
+            if (result == null || ids.length < result.length) {
+                result = ids;
+            }
+        }
+        return result;
+    }
+
+    private static Map<Long, int[]> buildNgrams(String[] keys) {
+        Map<Long, Posting> postings = new HashMap<>();
+        for (int id = 0; id < keys.length; id++) {
+            String key = keys[id];
+            for (int i = 0; i + NGRAM <= key.length(); i++) {
+                postings.computeIfAbsent(ngram(key, i), o -> new Posting()).add(id);
+            }
+        }
+        Map<Long, int[]> result = new HashMap<>(postings.size() * 4 / 3 + 1);
+        postings.forEach((k, v) -> result.put(k, v.toArray()));
+        return result;
+    }
+
+    private static Long ngram(String text, int index) {
+        return ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+    }
+
+    private static final class Posting {
+
+        private int[] ids = new int[4];
+        private int size = 0;
+
+        void add(int id) {
+            // the ids are added in ascending order
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+
+    private static final class Result {
+
+        private final String term;
+        private final int[] ids;
+
+        Result(String term, int[] ids) {
+            this.term = term;
+            this.ids = ids;
+        }
+    }
+
+    private final class ResultList extends AbstractList<T> {
+
+        private final int[] ids;
+        private final int size;
+
+        ResultList(int[] ids, int size) {
+            this.ids = ids;
+            this.size = size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(String.valueOf(index));
+            }
+            return (T) values[ids[index]];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
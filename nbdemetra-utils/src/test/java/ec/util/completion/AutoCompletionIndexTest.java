@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 National Bank of Belgium
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved
+ * by the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * http://ec.europa.eu/idabc/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ */
+package ec.util.completion;
+
+import static ec.util.completion.ExtAutoCompletionSource.basicFilter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class AutoCompletionIndexTest {
+
+    private static final List<String[]> DATA = Arrays.asList(
+            new String[]{"World", "planet"},
+            new String[]{"Hello", null},
+            new String[]{"hëlLô", "greeting"},
+            new String[]{"", ""});
+
+    private static AutoCompletionIndex<String[]> index(List<String[]> values) {
+        List<Function<String[], String>> fields = Arrays.asList(o -> o[0], o -> o[1]);
+        return AutoCompletionIndex.of(values, Comparator.comparing((String[] o) -> o[0]), fields);
+    }
+
+    private static List<String> names(List<String[]> values) {
+        return values.stream().map(o -> o[0]).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testSearch() {
+        AutoCompletionIndex<String[]> index = index(DATA);
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(names(index.search("", Integer.MAX_VALUE))).containsExactly("Hello", "World", "hëlLô");
+        assertThat(names(index.search("hello", Integer.MAX_VALUE))).containsExactly("Hello", "hëlLô");
+        assertThat(names(index.search("HÉLL", Integer.MAX_VALUE))).containsExactly("Hello", "hëlLô");
+        assertThat(names(index.search("plan", Integer.MAX_VALUE))).containsExactly("World");
+        assertThat(names(index.search("dp", Integer.MAX_VALUE))).isEmpty();
+        assertThat(names(index.search("xyz", Integer.MAX_VALUE))).isEmpty();
+    }
+
+    @Test
+    public void testIncrementalSearch() {
+        AutoCompletionIndex<String[]> index = index(DATA);
+        assertThat(names(index.search("l", Integer.MAX_VALUE))).containsExactly("Hello", "World", "hëlLô");
+        assertThat(names(index.search("ll", Integer.MAX_VALUE))).containsExactly("Hello", "hëlLô");
+        assertThat(names(index.search("llo", Integer.MAX_VALUE))).containsExactly("Hello", "hëlLô");
+        assertThat(names(index.search("o", Integer.MAX_VALUE))).containsExactly("Hello", "World", "hëlLô");
+        assertThat(names(index.search("or", Integer.MAX_VALUE))).containsExactly("World");
+        assertThat(names(index.search("", Integer.MAX_VALUE))).containsExactly("Hello", "World", "hëlLô");
+    }
+
+    @Test
+    public void testLimit() {
+        AutoCompletionIndex<String[]> index = index(DATA);
+        assertThat(names(index.search("l", 2))).containsExactly("Hello", "World");
+        assertThat(names(index.search("l", 0))).isEmpty();
+        assertThat(names(index.search("ll", 1))).containsExactly("Hello");
+    }
+
+    @Test
+    public void testLargeIndex() {
+        List<String[]> values = IntStream.range(0, 5000)
+                .mapToObj(i -> new String[]{String.format("c%05d", 4999 - i), i % 7 == 0 ? "séven" : null})
+                .collect(Collectors.toList());
+        AutoCompletionIndex<String[]> index = index(values);
+        for (String term : Arrays.asList("c0", "123", "c012", "99", "seven", "n", "c01234", "zzz", "")) {
+            Predicate<String> filter = basicFilter(term);
+            List<String> expected = values.stream()
+                    .filter(o -> filter.test(o[0]) || filter.test(o[1]))
+                    .map(o -> o[0])
+                    .sorted()
+                    .collect(Collectors.toList());
+            assertThat(names(index.search(term, Integer.MAX_VALUE))).as(term).isEqualTo(expected);
+            assertThat(names(index.search(term, 10))).as(term).isEqualTo(expected.subList(0, Math.min(10, expected.size())));
+        }
+    }
+
+    @Test
+    public void testPostProcessor() {
+        BiFunction<List<String>, String, List<String>> processor = AutoCompletionIndex.postProcessor(Comparator.naturalOrder(), 10, Function.identity());
+        List<String> values = Arrays.asList("b", "a", "ab");
+        assertThat(processor.apply(values, "a")).containsExactly("a", "ab");
+        assertThat(processor.apply(values, "b")).containsExactly("ab", "b");
+        assertThat(processor.apply(Collections.singletonList("c"), "c")).containsExactly("c");
+    }
+}